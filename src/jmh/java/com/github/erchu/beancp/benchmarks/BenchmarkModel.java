@@ -0,0 +1,402 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Data classes and test data shared by benchmarks. Test data is generated with fixed seed, so
+ * every run maps the same objects.
+ */
+public final class BenchmarkModel {
+
+    static final long SEED = 20141108L;
+
+    private BenchmarkModel() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        BenchmarkModel.class));
+    }
+
+    public static class Address {
+
+        private String city;
+
+        private String street;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+    }
+
+    public static class Customer {
+
+        private String name;
+
+        private Address address;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class Order {
+
+        private int number;
+
+        private int quantity;
+
+        private double price;
+
+        private String comment;
+
+        private Customer customer;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public void setComment(String comment) {
+            this.comment = comment;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(Customer customer) {
+            this.customer = customer;
+        }
+    }
+
+    /**
+     * Destination with members of the same types and names as {@link Order}.
+     */
+    public static class FlatOrderDto {
+
+        private int number;
+
+        private int quantity;
+
+        private double price;
+
+        private String comment;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public void setComment(String comment) {
+            this.comment = comment;
+        }
+    }
+
+    /**
+     * Destination with number conversion (quantity) and flattened members (customer...).
+     */
+    public static class OrderDto {
+
+        private int number;
+
+        private long quantity;
+
+        private double price;
+
+        private String comment;
+
+        private String customerName;
+
+        private String customerAddressCity;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(long quantity) {
+            this.quantity = quantity;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public void setComment(String comment) {
+            this.comment = comment;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+
+        public void setCustomerName(String customerName) {
+            this.customerName = customerName;
+        }
+
+        public String getCustomerAddressCity() {
+            return customerAddressCity;
+        }
+
+        public void setCustomerAddressCity(String customerAddressCity) {
+            this.customerAddressCity = customerAddressCity;
+        }
+    }
+
+    public static class CustomerDto {
+
+        private String name;
+
+        private AddressDto address;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public AddressDto getAddress() {
+            return address;
+        }
+
+        public void setAddress(AddressDto address) {
+            this.address = address;
+        }
+    }
+
+    public static class AddressDto {
+
+        private String city;
+
+        private String street;
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+    }
+
+    public static class TreeNode {
+
+        private TreeNode left;
+
+        private TreeNode right;
+
+        private String name;
+
+        public TreeNode getLeft() {
+            return left;
+        }
+
+        public void setLeft(TreeNode left) {
+            this.left = left;
+        }
+
+        public TreeNode getRight() {
+            return right;
+        }
+
+        public void setRight(TreeNode right) {
+            this.right = right;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class TreeNodeDto {
+
+        private TreeNodeDto left;
+
+        private TreeNodeDto right;
+
+        private String name;
+
+        public TreeNodeDto getLeft() {
+            return left;
+        }
+
+        public void setLeft(TreeNodeDto left) {
+            this.left = left;
+        }
+
+        public TreeNodeDto getRight() {
+            return right;
+        }
+
+        public void setRight(TreeNodeDto right) {
+            this.right = right;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    static Order createOrder(final Random random) {
+        Address address = new Address();
+        address.setCity("City " + random.nextInt(100));
+        address.setStreet("Street " + random.nextInt(1000));
+
+        Customer customer = new Customer();
+        customer.setName("Customer " + random.nextInt(10000));
+        customer.setAddress(address);
+
+        Order order = new Order();
+        order.setNumber(random.nextInt());
+        order.setQuantity(random.nextInt(1000));
+        order.setPrice(random.nextDouble() * 1000);
+        order.setComment("Comment " + random.nextInt(10));
+        order.setCustomer(customer);
+
+        return order;
+    }
+
+    static List<Integer> createNumbers(final Random random, final int size) {
+        List<Integer> result = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt());
+        }
+
+        return result;
+    }
+
+    static TreeNode createTree(final int depth) {
+        TreeNode result = new TreeNode();
+        result.setName("Node " + depth);
+
+        if (depth > 1) {
+            result.setLeft(createTree(depth - 1));
+            result.setRight(createTree(depth - 1));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.commons.CollectionConverters;
+import com.github.erchu.beancp.commons.NumberConverters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Mapping using {@link CollectionConverters} and {@link NumberConverters}.
+ */
+public class CollectionAndNumberConvertersBenchmark extends AbstractBenchmark {
+
+    @Param({ "10", "10000" })
+    public int size;
+
+    private Mapper _mapper;
+
+    private List<Integer> _numbers;
+
+    private int[] _numbersArray;
+
+    private Integer _number;
+
+    @Setup
+    public void setUp() {
+        _mapper = new MapperBuilder()
+                .addConverter(NumberConverters.get())
+                .addConverter(CollectionConverters.get())
+                .addConverter(CollectionConverters.getArrayToCollection(int.class))
+                .addConverter(CollectionConverters.getCollectionToArray(int.class))
+                .buildMapper();
+
+        Random random = new Random(BenchmarkModel.SEED);
+
+        _numbers = BenchmarkModel.createNumbers(random, size);
+        _numbersArray = _numbers.stream().mapToInt(Integer::intValue).toArray();
+        _number = random.nextInt();
+    }
+
+    @Benchmark
+    public HashSet collectionToCollection() {
+        return _mapper.map(_numbers, HashSet.class);
+    }
+
+    @Benchmark
+    public HashSet<Integer> handWrittenCollectionToCollection() {
+        return new HashSet<>(_numbers);
+    }
+
+    @Benchmark
+    public ArrayList arrayToCollection() {
+        return _mapper.map(_numbersArray, ArrayList.class);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> handWrittenArrayToCollection() {
+        ArrayList<Integer> result = new ArrayList<>(_numbersArray.length);
+
+        for (int i : _numbersArray) {
+            result.add(i);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public int[] collectionToArray() {
+        return _mapper.map(_numbers, int[].class);
+    }
+
+    @Benchmark
+    public int[] handWrittenCollectionToArray() {
+        int[] result = new int[_numbers.size()];
+        int i = 0;
+
+        for (Integer item : _numbers) {
+            result[i++] = item;
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public Long numberConversion() {
+        return _mapper.map(_number, Long.class);
+    }
+
+    @Benchmark
+    public Long handWrittenNumberConversion() {
+        return _number.longValue();
+    }
+}
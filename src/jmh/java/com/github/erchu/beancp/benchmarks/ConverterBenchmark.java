@@ -0,0 +1,75 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.benchmarks;
+
+import java.util.Random;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Mapping using {@link com.github.erchu.beancp.Converter}.
+ */
+public class ConverterBenchmark extends AbstractBenchmark {
+
+    public static final class OrderSummary {
+
+        private final int number;
+
+        private final String customerName;
+
+        public OrderSummary(final int number, final String customerName) {
+            this.number = number;
+            this.customerName = customerName;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+    }
+
+    private Mapper _mapper;
+
+    private Order _order;
+
+    @Setup
+    public void setUp() {
+        _mapper = new MapperBuilder()
+                .addConverter(Order.class, OrderSummary.class,
+                        source -> new OrderSummary(
+                                source.getNumber(), source.getCustomer().getName()))
+                .buildMapper();
+        _order = BenchmarkModel.createOrder(new Random(BenchmarkModel.SEED));
+    }
+
+    @Benchmark
+    public OrderSummary converter() {
+        return _mapper.map(_order, OrderSummary.class);
+    }
+
+    @Benchmark
+    public OrderSummary handWritten() {
+        return new OrderSummary(_order.getNumber(), _order.getCustomer().getName());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.benchmarks;
+
+import java.util.Random;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.Address;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.AddressDto;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.Customer;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.CustomerDto;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.FlatOrderDto;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Mapping using {@link com.github.erchu.beancp.DeclarativeMap} bind and mapInner statements.
+ */
+public class DeclarativeMapBenchmark extends AbstractBenchmark {
+
+    private Mapper _mapper;
+
+    private Order _order;
+
+    @Setup
+    public void setUp() {
+        _mapper = new MapperBuilder()
+                .addMap(Order.class, FlatOrderDto.class, (config, source, destination) -> config
+                        .bind(source::getNumber, destination::setNumber)
+                        .bind(source::getQuantity, destination::setQuantity)
+                        .bind(source::getPrice, destination::setPrice)
+                        .bind(source::getComment, destination::setComment))
+                .addMap(Address.class, AddressDto.class, (config, source, destination) -> config
+                        .bind(source::getCity, destination::setCity)
+                        .bind(source::getStreet, destination::setStreet))
+                .addMap(Customer.class, CustomerDto.class, (config, source, destination) -> config
+                        .bind(source::getName, destination::setName)
+                        .mapInner(source::getAddress, destination::setAddress,
+                                destination::getAddress, AddressDto.class))
+                .buildMapper();
+        _order = BenchmarkModel.createOrder(new Random(BenchmarkModel.SEED));
+    }
+
+    @Benchmark
+    public FlatOrderDto bind() {
+        return _mapper.map(_order, FlatOrderDto.class);
+    }
+
+    @Benchmark
+    public FlatOrderDto handWrittenBind() {
+        FlatOrderDto result = new FlatOrderDto();
+        result.setNumber(_order.getNumber());
+        result.setQuantity(_order.getQuantity());
+        result.setPrice(_order.getPrice());
+        result.setComment(_order.getComment());
+
+        return result;
+    }
+
+    @Benchmark
+    public CustomerDto mapInner() {
+        return _mapper.map(_order.getCustomer(), CustomerDto.class);
+    }
+
+    @Benchmark
+    public CustomerDto handWrittenMapInner() {
+        Customer customer = _order.getCustomer();
+
+        AddressDto address = new AddressDto();
+        address.setCity(customer.getAddress().getCity());
+        address.setStreet(customer.getAddress().getStreet());
+
+        CustomerDto result = new CustomerDto();
+        result.setName(customer.getName());
+        result.setAddress(address);
+
+        return result;
+    }
+}
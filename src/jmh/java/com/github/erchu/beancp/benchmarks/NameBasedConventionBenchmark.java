@@ -0,0 +1,117 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.benchmarks;
+
+import java.util.Random;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.FlatOrderDto;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.Order;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.OrderDto;
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import com.github.erchu.beancp.commons.NumberConverters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Mapping using {@link NameBasedMapConvention} declared by
+ * {@link com.github.erchu.beancp.DeclarativeMap#useConvention(com.github.erchu.beancp.MapConvention)}
+ * and by {@link MapperBuilder#addMapAnyByConvention(com.github.erchu.beancp.MapConvention...)}.
+ */
+public class NameBasedConventionBenchmark extends AbstractBenchmark {
+
+    private Mapper _useConventionMapper;
+
+    private Mapper _mapAnyMapper;
+
+    private Mapper _mapAnyWithCodeGenerationMapper;
+
+    private Order _order;
+
+    @Setup
+    public void setUp() {
+        _useConventionMapper = new MapperBuilder()
+                .addConverter(NumberConverters.get())
+                .addMap(Order.class, FlatOrderDto.class, (config, source, destination)
+                        -> config.useConvention(NameBasedMapConvention.get()))
+                .addMap(Order.class, OrderDto.class, (config, source, destination)
+                        -> config.useConvention(NameBasedMapConvention.get().enableFlattening()))
+                .buildMapper();
+        _mapAnyMapper = new MapperBuilder()
+                .addConverter(NumberConverters.get())
+                .addMapAnyByConvention(NameBasedMapConvention.get().enableFlattening())
+                .buildMapper();
+        _mapAnyWithCodeGenerationMapper = new MapperBuilder()
+                .addConverter(NumberConverters.get())
+                .addMapAnyByConvention(NameBasedMapConvention.get()
+                        .enableFlattening()
+                        .enableCodeGeneration())
+                .buildMapper();
+        _order = BenchmarkModel.createOrder(new Random(BenchmarkModel.SEED));
+    }
+
+    @Benchmark
+    public FlatOrderDto useConventionFlat() {
+        return _useConventionMapper.map(_order, FlatOrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto useConventionFlattened() {
+        return _useConventionMapper.map(_order, OrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto mapAnyByConvention() {
+        return _mapAnyMapper.map(_order, OrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto mapAnyByConventionWithCodeGeneration() {
+        return _mapAnyWithCodeGenerationMapper.map(_order, OrderDto.class);
+    }
+
+    @Benchmark
+    public FlatOrderDto handWrittenFlat() {
+        FlatOrderDto result = new FlatOrderDto();
+        result.setNumber(_order.getNumber());
+        result.setQuantity(_order.getQuantity());
+        result.setPrice(_order.getPrice());
+        result.setComment(_order.getComment());
+
+        return result;
+    }
+
+    @Benchmark
+    public OrderDto handWrittenFlattened() {
+        OrderDto result = new OrderDto();
+        result.setNumber(_order.getNumber());
+        result.setQuantity(_order.getQuantity());
+        result.setPrice(_order.getPrice());
+        result.setComment(_order.getComment());
+
+        if (_order.getCustomer() != null) {
+            result.setCustomerName(_order.getCustomer().getName());
+
+            if (_order.getCustomer().getAddress() != null) {
+                result.setCustomerAddressCity(_order.getCustomer().getAddress().getCity());
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.benchmarks;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.TreeNode;
+import com.github.erchu.beancp.benchmarks.BenchmarkModel.TreeNodeDto;
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Mapping of recursive structure (binary tree with 1023 nodes) by convention.
+ */
+public class RecursiveStructureBenchmark extends AbstractBenchmark {
+
+    private static final int TREE_DEPTH = 10;
+
+    private Mapper _mapper;
+
+    private TreeNode _tree;
+
+    @Setup
+    public void setUp() {
+        _mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+        _tree = BenchmarkModel.createTree(TREE_DEPTH);
+    }
+
+    @Benchmark
+    public TreeNodeDto mapAnyByConvention() {
+        return _mapper.map(_tree, TreeNodeDto.class);
+    }
+
+    @Benchmark
+    public TreeNodeDto handWritten() {
+        return copy(_tree);
+    }
+
+    private static TreeNodeDto copy(final TreeNode source) {
+        if (source == null) {
+            return null;
+        }
+
+        TreeNodeDto result = new TreeNodeDto();
+        result.setName(source.getName());
+        result.setLeft(copy(source.getLeft()));
+        result.setRight(copy(source.getRight()));
+
+        return result;
+    }
+}
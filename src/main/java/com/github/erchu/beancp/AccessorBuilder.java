@@ -0,0 +1,290 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.internal.ClassCache;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewMethod;
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Builds member accessors implemented by classes generated at runtime, which call getter, setter or
+ * field directly instead of using reflection. Generated accessors are cached per member by
+ * {@link ClassCache} of declaring class.
+ *
+ * <p>
+ * Accessor can be generated only for public member of public class loaded by non-bootstrap class
+ * loader. When accessor cannot be generated then {@code null} is returned, so caller should fall
+ * back to reflection.
+ * </p>
+ */
+final class AccessorBuilder {
+
+    private static final Object NOT_AVAILABLE = new Object();
+
+    private static final AtomicLong GENERATED_CLASS_COUNTER = new AtomicLong();
+
+    private static final ClassCache<ConcurrentMap<String, Object>> ACCESSORS
+            = new ClassCache<>(type -> new ConcurrentHashMap<>());
+
+    private AccessorBuilder() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        AccessorBuilder.class));
+    }
+
+    /**
+     * Returns getter calling passed method directly or {@code null} if getter cannot be generated.
+     *
+     * @param readMethod property read method.
+     * @return generated getter or {@code null}.
+     */
+    static Function<Object, Object> getGetter(final Method readMethod) {
+        if (isAccessible(readMethod) == false) {
+            return null;
+        }
+
+        Class<?> declaringClass = readMethod.getDeclaringClass();
+        String body = String.format("return %s;", box(readMethod.getReturnType(),
+                String.format("((%s) object).%s()",
+                        toSourceName(declaringClass), readMethod.getName())));
+
+        return (Function<Object, Object>) getAccessor(readMethod, "get",
+                Function.class, "public Object apply(Object object) { " + body + " }");
+    }
+
+    /**
+     * Returns setter calling passed method directly or {@code null} if setter cannot be generated.
+     *
+     * @param writeMethod property write method.
+     * @return generated setter or {@code null}.
+     */
+    static BiConsumer<Object, Object> getSetter(final Method writeMethod) {
+        if (isAccessible(writeMethod) == false
+                || isAccessible(writeMethod.getParameterTypes()[0]) == false) {
+            return null;
+        }
+
+        Class<?> declaringClass = writeMethod.getDeclaringClass();
+        String body = String.format("((%s) object).%s(%s);",
+                toSourceName(declaringClass), writeMethod.getName(),
+                unbox(writeMethod.getParameterTypes()[0], "value"));
+
+        return (BiConsumer<Object, Object>) getAccessor(writeMethod, "set", BiConsumer.class,
+                "public void accept(Object object, Object value) { " + body + " }");
+    }
+
+    /**
+     * Returns getter reading passed field directly or {@code null} if getter cannot be generated.
+     *
+     * @param field field.
+     * @return generated getter or {@code null}.
+     */
+    static Function<Object, Object> getGetter(final Field field) {
+        if (isAccessible(field) == false) {
+            return null;
+        }
+
+        String body = String.format("return %s;", box(field.getType(),
+                String.format("((%s) object).%s",
+                        toSourceName(field.getDeclaringClass()), field.getName())));
+
+        return (Function<Object, Object>) getAccessor(field, "get",
+                Function.class, "public Object apply(Object object) { " + body + " }");
+    }
+
+    /**
+     * Returns setter writing passed field directly or {@code null} if setter cannot be generated
+     * (also when field is final).
+     *
+     * @param field field.
+     * @return generated setter or {@code null}.
+     */
+    static BiConsumer<Object, Object> getSetter(final Field field) {
+        if (isAccessible(field) == false || isAccessible(field.getType()) == false
+                || Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+
+        String body = String.format("((%s) object).%s = %s;",
+                toSourceName(field.getDeclaringClass()), field.getName(),
+                unbox(field.getType(), "value"));
+
+        return (BiConsumer<Object, Object>) getAccessor(field, "set", BiConsumer.class,
+                "public void accept(Object object, Object value) { " + body + " }");
+    }
+
+    /**
+     * Returns source code form of class name, which can be used in generated code.
+     *
+     * @param ofClass class.
+     * @return source code form of class name.
+     */
+    static String toSourceName(final Class ofClass) {
+        if (ofClass.isArray()) {
+            return toSourceName(ofClass.getComponentType()) + "[]";
+        } else {
+            return ofClass.getName();
+        }
+    }
+
+    /**
+     * Returns expression converting value of passed class to object (wrapper if value class is
+     * primitive).
+     *
+     * @param valueClass value class.
+     * @param expression expression returning value.
+     * @return expression returning object.
+     */
+    static String box(final Class valueClass, final String expression) {
+        if (valueClass.isPrimitive()) {
+            return String.format("%s.valueOf(%s)",
+                    ClassUtils.primitiveToWrapper(valueClass).getName(), expression);
+        } else {
+            return expression;
+        }
+    }
+
+    /**
+     * Returns expression converting object to value of passed class (unwrapped if value class is
+     * primitive).
+     *
+     * @param valueClass value class.
+     * @param expression expression returning object.
+     * @return expression returning value of passed class.
+     */
+    static String unbox(final Class valueClass, final String expression) {
+        if (valueClass.isPrimitive()) {
+            return String.format("((%s) %s).%sValue()",
+                    ClassUtils.primitiveToWrapper(valueClass).getName(), expression,
+                    valueClass.getName());
+        } else {
+            return String.format("((%s) %s)", toSourceName(valueClass), expression);
+        }
+    }
+
+    /**
+     * Returns {@code true} if generated code can access passed class.
+     *
+     * @param ofClass class.
+     * @return {@code true} if generated code can access passed class.
+     */
+    static boolean isAccessible(final Class ofClass) {
+        if (ofClass.isArray()) {
+            return isAccessible(ofClass.getComponentType());
+        }
+
+        return ofClass.isPrimitive() || Modifier.isPublic(ofClass.getModifiers());
+    }
+
+    /**
+     * Returns {@code true} if generated code can access passed instance member.
+     *
+     * @param member field or method.
+     * @return {@code true} if generated code can access passed member.
+     */
+    static boolean isAccessible(final Member member) {
+        Class<?> declaringClass = member.getDeclaringClass();
+
+        return Modifier.isPublic(member.getModifiers())
+                && Modifier.isStatic(member.getModifiers()) == false
+                && isAccessible(declaringClass)
+                && declaringClass.getClassLoader() != null
+                && declaringClass.getName().startsWith("java.") == false;
+    }
+
+    private static Object getAccessor(final Member member, final String kind,
+            final Class<?> accessorInterface, final String methodSource) {
+        ConcurrentMap<String, Object> declaringClassAccessors
+                = ACCESSORS.get(member.getDeclaringClass());
+        String key = kind + ":" + member.toString();
+        Object result = declaringClassAccessors.get(key);
+
+        if (result == null) {
+            result = generateClassInstance(member.getDeclaringClass(), "BeanCpAccessor",
+                    accessorInterface, methodSource);
+
+            if (result == null) {
+                result = NOT_AVAILABLE;
+            }
+
+            Object existingResult = declaringClassAccessors.putIfAbsent(key, result);
+
+            if (existingResult != null) {
+                result = existingResult;
+            }
+        }
+
+        return (result == NOT_AVAILABLE) ? null : result;
+    }
+
+    /**
+     * Generates class implementing single method of passed interface and returns its instance.
+     * Class is defined in the same package and class loader as host class.
+     *
+     * @param hostClass class which determines package and class loader of generated class.
+     * @param nameSuffix generated class name suffix.
+     * @param implementedInterface interface implemented by generated class.
+     * @param methodSource source code of implemented method.
+     * @return generated class instance or {@code null} if class cannot be generated.
+     */
+    @SuppressWarnings({ "TooBroadCatch", "UseSpecificCatch" })
+    static Object generateClassInstance(final Class<?> hostClass, final String nameSuffix,
+            final Class<?> implementedInterface, final String methodSource) {
+        ClassLoader classLoader = hostClass.getClassLoader();
+
+        if (classLoader == null) {
+            return null;
+        }
+
+        try {
+            ClassPool classPool = ClassPools.get(classLoader);
+            Class<?> generatedClass;
+
+            synchronized (classPool) {
+                CtClass generatedCtClass = classPool.makeClass(hostClass.getName()
+                        + "$$" + nameSuffix + "$" + GENERATED_CLASS_COUNTER.incrementAndGet());
+
+                try {
+                    generatedCtClass.addInterface(classPool.get(implementedInterface.getName()));
+                    generatedCtClass.addMethod(CtNewMethod.make(methodSource, generatedCtClass));
+
+                    generatedClass = ClassPools.toClass(generatedCtClass, hostClass);
+                } finally {
+                    generatedCtClass.detach();
+                }
+            }
+
+            return generatedClass.newInstance();
+        } catch (Exception | LinkageError ex) {
+            // generation is only an optimization, caller will use reflection
+            return null;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * Converter and map availability answers memoized during single resolution of bindings. Map
+ * conventions ask if member types can be mapped, which for map any conventions resolves bindings
+ * of member types, so without memoization the same class pairs are resolved many times.
+ *
+ * <p>
+ * Class pair which is being resolved is provisionally reported as available when it is asked for
+ * again (class graph is cyclic), because its bindings are being created by outer call. If such
+ * class pair finally turns out to be not available then answers memoized while it was being
+ * resolved are dropped, because they may be derived from the provisional answer. So answers are
+ * final only when the outermost resolution completes. This class is not thread-safe.
+ * </p>
+ */
+final class AvailabilitySession {
+
+    /**
+     * Memoized answer of resolver which returned {@code null}.
+     */
+    private static final Object NOT_AVAILABLE = new Object();
+
+    /**
+     * Answer for class pair which is being resolved.
+     */
+    private static final Object PROVISIONALLY_AVAILABLE = new Object();
+
+    private final Map<ClassPair, Object> _converterAnswers = new HashMap<>();
+
+    private final Map<ClassPair, Object> _mapAnswers = new HashMap<>();
+
+    /**
+     * Class pairs being resolved, the innermost first.
+     */
+    private final Deque<Resolution> _openResolutions = new ArrayDeque<>();
+
+    /**
+     * Memoized answers in order of memoization, so answers memoized after given point can be
+     * dropped.
+     */
+    private final List<MemoizedAnswer> _memoizedAnswers = new ArrayList<>();
+
+    private static final class Resolution {
+
+        private final Map<ClassPair, Object> _answers;
+
+        private final ClassPair _classPair;
+
+        private final int _firstMemoizedAnswerIndex;
+
+        private boolean _provisionalAnswerUsed = false;
+
+        Resolution(final Map<ClassPair, Object> answers, final ClassPair classPair,
+                final int firstMemoizedAnswerIndex) {
+            this._answers = answers;
+            this._classPair = classPair;
+            this._firstMemoizedAnswerIndex = firstMemoizedAnswerIndex;
+        }
+    }
+
+    private static final class MemoizedAnswer {
+
+        private final Map<ClassPair, Object> _answers;
+
+        private final ClassPair _classPair;
+
+        MemoizedAnswer(final Map<ClassPair, Object> answers, final ClassPair classPair) {
+            this._answers = answers;
+            this._classPair = classPair;
+        }
+    }
+
+    /**
+     * Returns memoized converter availability. If answer is not known yet then resolver is
+     * executed.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param resolver checks if converter is available.
+     * @return {@code true} if converter is available, otherwise {@code false}.
+     */
+    boolean isConverterAvailable(final Class sourceClass, final Class destinationClass,
+            final BiPredicate<Class, Class> resolver) {
+        return getOrResolve(_converterAnswers, sourceClass, destinationClass,
+                toAnswerResolver(resolver)) != null;
+    }
+
+    /**
+     * Returns memoized map availability. If answer is not known yet then resolver is executed.
+     * When resolver asks for the same class pair recursively {@code true} is returned.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param resolver checks if map (or map convention) is available.
+     * @return {@code true} if map (or map convention) is available, otherwise {@code false}.
+     */
+    boolean isMapAvailable(final Class sourceClass, final Class destinationClass,
+            final BiPredicate<Class, Class> resolver) {
+        return resolveMap(sourceClass, destinationClass, toAnswerResolver(resolver)) != null;
+    }
+
+    /**
+     * Returns memoized map (or map convention) resolved for class pair. If answer is not known yet
+     * then resolver is executed. When resolver asks for the same class pair recursively then
+     * non-null value, which is not returned by resolver, is returned.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param resolver returns map (or map convention) for class pair or {@code null} if it is not
+     * available.
+     * @return resolved map (or map convention), {@code null} if it is not available.
+     */
+    Object resolveMap(final Class sourceClass, final Class destinationClass,
+            final BiFunction<Class, Class, Object> resolver) {
+        return getOrResolve(_mapAnswers, sourceClass, destinationClass, resolver);
+    }
+
+    /**
+     * Executes action for each memoized map answer. Answers are final only when no resolution is
+     * in progress.
+     *
+     * @param action action accepting class pair and map (or map convention) resolved for it,
+     * {@code null} if it is not available.
+     */
+    void forEachMapAnswer(final BiConsumer<ClassPair, Object> action) {
+        _mapAnswers.forEach((classPair, answer)
+                -> action.accept(classPair, (answer == NOT_AVAILABLE) ? null : answer));
+    }
+
+    private static BiFunction<Class, Class, Object> toAnswerResolver(
+            final BiPredicate<Class, Class> resolver) {
+        return (sourceClass, destinationClass)
+                -> resolver.test(sourceClass, destinationClass) ? Boolean.TRUE : null;
+    }
+
+    private Object getOrResolve(final Map<ClassPair, Object> answers,
+            final Class sourceClass, final Class destinationClass,
+            final BiFunction<Class, Class, Object> resolver) {
+        ClassPair key = new ClassPair(sourceClass, destinationClass);
+        Object result = answers.get(key);
+
+        if (result != null) {
+            return (result == NOT_AVAILABLE) ? null : result;
+        }
+
+        for (Resolution i : _openResolutions) {
+            if (i._answers == answers && i._classPair.equals(key)) {
+                // answer for recursive calls until resolver completes
+                i._provisionalAnswerUsed = true;
+
+                return PROVISIONALLY_AVAILABLE;
+            }
+        }
+
+        Resolution resolution = new Resolution(answers, key, _memoizedAnswers.size());
+
+        _openResolutions.push(resolution);
+
+        try {
+            result = resolver.apply(sourceClass, destinationClass);
+        } finally {
+            _openResolutions.pop();
+        }
+
+        if (result == null && resolution._provisionalAnswerUsed) {
+            dropAnswersMemoizedSince(resolution._firstMemoizedAnswerIndex);
+        }
+
+        answers.put(key, (result != null) ? result : NOT_AVAILABLE);
+        _memoizedAnswers.add(new MemoizedAnswer(answers, key));
+
+        return result;
+    }
+
+    private void dropAnswersMemoizedSince(final int firstMemoizedAnswerIndex) {
+        List<MemoizedAnswer> answersToDrop
+                = _memoizedAnswers.subList(firstMemoizedAnswerIndex, _memoizedAnswers.size());
+
+        for (MemoizedAnswer i : answersToDrop) {
+            i._answers.remove(i._classPair);
+        }
+
+        answersToDrop.clear();
+    }
+}
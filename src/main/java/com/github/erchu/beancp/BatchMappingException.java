@@ -0,0 +1,68 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Indicates that mapping of one or more elements of batch failed. Elements which were mapped
+ * successfully are available by {@link #getResult()}.
+ */
+public class BatchMappingException extends MappingException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient SortedMap<Integer, MappingException> _failures;
+
+    private final transient List<?> _result;
+
+    /**
+     * Constructs an instance of <code>BatchMappingException</code>.
+     *
+     * @param failures mapping errors by index of source element.
+     * @param result mapping result with null value for each element which failed.
+     */
+    public BatchMappingException(
+            final SortedMap<Integer, MappingException> failures, final List<?> result) {
+        super(String.format("Failed to map %d of %d elements.", failures.size(), result.size()),
+                failures.isEmpty() ? null : failures.get(failures.firstKey()));
+
+        this._failures = Collections.unmodifiableSortedMap(failures);
+        this._result = Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns mapping errors by index of source element.
+     *
+     * @return mapping errors by index of source element.
+     */
+    public SortedMap<Integer, MappingException> getFailures() {
+        return _failures;
+    }
+
+    /**
+     * Returns mapping result with null value for each element which failed.
+     *
+     * @return mapping result.
+     */
+    public List<?> getResult() {
+        return _result;
+    }
+}
@@ -17,6 +17,8 @@
  */
 package com.github.erchu.beancp;
 
+import java.lang.reflect.Type;
+
 /**
  * Source or destination member (field or property) referenced by binding.
  */
@@ -36,6 +38,30 @@ public interface BindingSide {
      */
     Class getValueClass();
 
+    /**
+     * Returns value type including generic type arguments (ex. {@code List<String>}). By default
+     * returns {@link #getValueClass()}.
+     *
+     * @return value type.
+     */
+    default Type getValueType() {
+        return getValueClass();
+    }
+
+    /**
+     * Returns class of generic type argument of {@code ofClass} declared by value type, ex. element
+     * class for {@code ofClass} equal to {@link java.util.Collection} and value type
+     * {@code List<String>}. Returns null if value type is not subtype of {@code ofClass} or type
+     * argument class is not known.
+     *
+     * @param ofClass generic class or interface.
+     * @param typeArgumentIndex index of type parameter of {@code ofClass}.
+     * @return class of type argument or null.
+     */
+    default Class getValueTypeArgumentClass(final Class ofClass, final int typeArgumentIndex) {
+        return GenericTypes.getTypeArgumentClass(getValueType(), ofClass, typeArgumentIndex);
+    }
+
     /**
      * Extracts value from passed object and returns it. If there is no getter available then
      * {@link MappingException} will be trown.
@@ -0,0 +1,115 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Binding from source collection to destination collection which maps each element of source
+ * collection to destination element class (before destination collection is set to destination).
+ * Elements are mapped by {@link Mapper#mapAll(java.util.Collection, java.lang.Class)}, so
+ * converter or map for elements is chosen once per source collection and result is created with
+ * capacity for all elements.
+ *
+ * <p>
+ * If destination member class is not assignable from {@link List} result then list of mapped
+ * elements is converted to destination member class using converter.
+ * </p>
+ */
+public class BindingWithElementsMap extends Binding {
+
+    private final Class _destinationElementClass;
+
+    /**
+     * Creates binding from from source path (series of bindings from source where n+1 binding
+     * returns member of object returned by n-th binding) to destination member.
+     *
+     * @param sourcePath series of bindings from source where n+1 binding returns member of object
+     * returned by n-th binding. Last member must return {@link Collection}.
+     * @param destinationMember destination member.
+     * @param destinationElementClass destination collection element class.
+     */
+    public BindingWithElementsMap(
+            final BindingSide[] sourcePath, final BindingSide destinationMember,
+            final Class destinationElementClass) {
+        super(sourcePath, destinationMember);
+
+        notNull(destinationElementClass, "destinationElementClass");
+
+        this._destinationElementClass = destinationElementClass;
+    }
+
+    /**
+     * Creates Binding from source member to destination member.
+     *
+     * @param sourceMember source member. Must return {@link Collection}.
+     * @param destinationMember destination member.
+     * @param destinationElementClass destination collection element class.
+     */
+    public BindingWithElementsMap(
+            final BindingSide sourceMember, final BindingSide destinationMember,
+            final Class destinationElementClass) {
+        this(new BindingSide[] { sourceMember }, destinationMember, destinationElementClass);
+    }
+
+    /**
+     * Returns destination collection element class.
+     *
+     * @return destination collection element class.
+     */
+    public Class getDestinationElementClass() {
+        return _destinationElementClass;
+    }
+
+    /**
+     * Sets value at destination.
+     *
+     * @param mapper caller.
+     * @param destination destination object.
+     * @param value value to set.
+     */
+    @Override
+    protected void setValueAtDestination(
+            final Mapper mapper, final Object destination, final Object value) {
+        notNull(mapper, "mapper");
+        notNull(destination, "destination");
+
+        if (value == null) {
+            super.setValueAtDestination(mapper, destination, null);
+            return;
+        }
+
+        Class destinationValueClass = getDestinationMember().getValueClass();
+
+        // elements may be mapped using work stack only when list is set without conversion,
+        // because converter may hash or compare them
+        List<?> elements = destinationValueClass.isAssignableFrom(ArrayList.class)
+                ? MappingContext.mapAllNested(
+                        mapper, (Collection<?>) value, _destinationElementClass)
+                : mapper.mapAll((Collection<?>) value, _destinationElementClass);
+
+        Object result = destinationValueClass.isInstance(elements)
+                ? elements
+                : mapper.map(elements, destinationValueClass);
+
+        super.setValueAtDestination(mapper, destination, result);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Binding from source {@link Map} to destination {@link Map} which maps keys and (or) values of
+ * source map to destination key and value classes (before destination map is set to destination).
+ * Keys and values are mapped by {@link Mapper#mapAll(java.util.Collection, java.lang.Class)}, so
+ * converter or map is chosen once per source map and not once per entry.
+ *
+ * <p>
+ * Mapped entries are put to {@link LinkedHashMap} created with capacity for all entries. If
+ * destination member class is not assignable from {@link LinkedHashMap} then result is converted
+ * to destination member class using converter.
+ * </p>
+ */
+public class BindingWithEntriesMap extends Binding {
+
+    private final Class _destinationKeyClass;
+
+    private final Class _destinationValueClass;
+
+    /**
+     * Creates binding from from source path (series of bindings from source where n+1 binding
+     * returns member of object returned by n-th binding) to destination member.
+     *
+     * @param sourcePath series of bindings from source where n+1 binding returns member of object
+     * returned by n-th binding. Last member must return {@link Map}.
+     * @param destinationMember destination member.
+     * @param destinationKeyClass destination map key class or null if keys should be copied
+     * without mapping.
+     * @param destinationValueClass destination map value class or null if values should be copied
+     * without mapping.
+     */
+    public BindingWithEntriesMap(
+            final BindingSide[] sourcePath, final BindingSide destinationMember,
+            final Class destinationKeyClass, final Class destinationValueClass) {
+        super(sourcePath, destinationMember);
+
+        this._destinationKeyClass = destinationKeyClass;
+        this._destinationValueClass = destinationValueClass;
+    }
+
+    /**
+     * Creates Binding from source member to destination member.
+     *
+     * @param sourceMember source member. Must return {@link Map}.
+     * @param destinationMember destination member.
+     * @param destinationKeyClass destination map key class or null if keys should be copied
+     * without mapping.
+     * @param destinationValueClass destination map value class or null if values should be copied
+     * without mapping.
+     */
+    public BindingWithEntriesMap(
+            final BindingSide sourceMember, final BindingSide destinationMember,
+            final Class destinationKeyClass, final Class destinationValueClass) {
+        this(new BindingSide[] { sourceMember }, destinationMember,
+                destinationKeyClass, destinationValueClass);
+    }
+
+    /**
+     * Returns destination map key class or null if keys are copied without mapping.
+     *
+     * @return destination map key class or null if keys are copied without mapping.
+     */
+    public Class getDestinationKeyClass() {
+        return _destinationKeyClass;
+    }
+
+    /**
+     * Returns destination map value class or null if values are copied without mapping.
+     *
+     * @return destination map value class or null if values are copied without mapping.
+     */
+    public Class getDestinationValueClass() {
+        return _destinationValueClass;
+    }
+
+    /**
+     * Sets value at destination.
+     *
+     * @param mapper caller.
+     * @param destination destination object.
+     * @param value value to set.
+     */
+    @Override
+    protected void setValueAtDestination(
+            final Mapper mapper, final Object destination, final Object value) {
+        notNull(mapper, "mapper");
+        notNull(destination, "destination");
+
+        if (value == null) {
+            super.setValueAtDestination(mapper, destination, null);
+            return;
+        }
+
+        Map<?, ?> sourceMap = (Map<?, ?>) value;
+        List<Object> sourceKeys = new ArrayList<>(sourceMap.size());
+        List<Object> sourceValues = new ArrayList<>(sourceMap.size());
+
+        // single pass over entries keeps keys paired with values (also for concurrently modified
+        // maps), then keys and values are mapped in batches
+        for (Map.Entry<?, ?> i : sourceMap.entrySet()) {
+            sourceKeys.add(i.getKey());
+            sourceValues.add(i.getValue());
+        }
+
+        Class destinationMemberClass = getDestinationMember().getValueClass();
+
+        // keys are hashed, so they are always completely mapped, values may be mapped using work
+        // stack only when map is set without conversion, because converter may hash or compare them
+        List<?> keys = mapAllIfNeeded(mapper, sourceKeys, _destinationKeyClass, false);
+        List<?> values = mapAllIfNeeded(mapper, sourceValues, _destinationValueClass,
+                destinationMemberClass.isAssignableFrom(LinkedHashMap.class));
+
+        Map<Object, Object> entries = new LinkedHashMap<>(
+                Math.max((int) (keys.size() / .75f) + 1, 16));
+
+        for (int i = 0; i < keys.size(); i++) {
+            entries.put(keys.get(i), values.get(i));
+        }
+
+        Object result = destinationMemberClass.isInstance(entries)
+                ? entries
+                : mapper.map(entries, destinationMemberClass);
+
+        super.setValueAtDestination(mapper, destination, result);
+    }
+
+    private static List<?> mapAllIfNeeded(final Mapper mapper, final List<?> source,
+            final Class destinationClass, final boolean nested) {
+        if (destinationClass == null) {
+            return source;
+        }
+
+        return nested
+                ? MappingContext.mapAllNested(mapper, source, destinationClass)
+                : mapper.mapAll(source, destinationClass);
+    }
+}
@@ -70,13 +70,15 @@ public class BindingWithValueMap extends Binding {
                 Object currentValue = destinationMember.getValue(destination);
 
                 if (currentValue != null) {
-                    mapper.map(value, currentValue);
+                    MappingContext.mapNested(mapper, value, currentValue);
                 } else {
-                    Object mapResult = mapper.map(value, destinationMember.getValueClass());
+                    Object mapResult = MappingContext.mapNested(
+                            mapper, value, destinationMember.getValueClass());
                     super.setValueAtDestination(mapper, destination, mapResult);
                 }
             } else {
-                Object mapResult = mapper.map(value, destinationMember.getValueClass());
+                Object mapResult = MappingContext.mapNested(
+                        mapper, value, destinationMember.getValueClass());
                 super.setValueAtDestination(mapper, destination, mapResult);
             }
         }
@@ -0,0 +1,133 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Thread-safe cache with limited number of entries. When limit is exceeded then the oldest entries
+ * (in order of insertion) are evicted. Cache does not acquire any locks.
+ *
+ * @param <K> key class.
+ * @param <V> value class.
+ */
+final class BoundedConcurrentCache<K, V> {
+
+    private final int _maxSize;
+
+    private final ConcurrentMap<K, Entry<K, V>> _entries = new ConcurrentHashMap<>();
+
+    /**
+     * Entries in order of insertion. Entry put again for the same key is a new object, so it is
+     * never mistaken for removed one.
+     */
+    private final Queue<Entry<K, V>> _insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates cache.
+     *
+     * @param maxSize maximum number of entries.
+     */
+    BoundedConcurrentCache(final int maxSize) {
+        isTrue(maxSize > 0, "maxSize must be greater than zero");
+
+        this._maxSize = maxSize;
+    }
+
+    /**
+     * Returns value for key. If value is not cached then it is computed by loader and put to cache.
+     * Loader may be executed more than once for the same key when called concurrently, but only
+     * one result is cached. Loader may use this cache recursively.
+     *
+     * @param key key.
+     * @param loader computes value for key, cannot return {@code null}.
+     * @return value for key.
+     */
+    V get(final K key, final Function<K, V> loader) {
+        Entry<K, V> result = _entries.get(key);
+
+        if (result == null) {
+            V newValue = loader.apply(key);
+            notNull(newValue, "loader result");
+
+            Entry<K, V> newEntry = new Entry<>(key, newValue);
+            result = _entries.putIfAbsent(key, newEntry);
+
+            if (result == null) {
+                result = newEntry;
+                _insertionOrder.add(newEntry);
+
+                evictIfRequired();
+            }
+        }
+
+        return result._value;
+    }
+
+    /**
+     * Removes value for key. Value put again for the same key is treated as the newest one.
+     *
+     * @param key key.
+     */
+    void remove(final K key) {
+        Entry<K, V> entry = _entries.remove(key);
+
+        if (entry != null) {
+            _insertionOrder.remove(entry);
+        }
+    }
+
+    /**
+     * Returns number of cached entries.
+     *
+     * @return number of cached entries.
+     */
+    int size() {
+        return _entries.size();
+    }
+
+    private void evictIfRequired() {
+        while (_entries.size() > _maxSize) {
+            Entry<K, V> eldestEntry = _insertionOrder.poll();
+
+            if (eldestEntry == null) {
+                break;
+            }
+
+            // entry may be already removed and its key put again
+            _entries.remove(eldestEntry._key, eldestEntry);
+        }
+    }
+
+    private static final class Entry<K, V> {
+
+        private final K _key;
+
+        private final V _value;
+
+        Entry(final K key, final V value) {
+            this._key = key;
+            this._value = value;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Objects;
+
+/**
+ * Immutable pair of source and destination classes.
+ */
+final class ClassPair {
+
+    private final Class _sourceClass;
+
+    private final Class _destinationClass;
+
+    ClassPair(final Class sourceClass, final Class destinationClass) {
+        this._sourceClass = sourceClass;
+        this._destinationClass = destinationClass;
+    }
+
+    Class getSourceClass() {
+        return _sourceClass;
+    }
+
+    Class getDestinationClass() {
+        return _destinationClass;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+
+        hash = 31 * hash + Objects.hashCode(this._sourceClass);
+        hash = 31 * hash + Objects.hashCode(this._destinationClass);
+
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final ClassPair other = (ClassPair) obj;
+
+        return Objects.equals(this._sourceClass, other._sourceClass)
+                && Objects.equals(this._destinationClass, other._destinationClass);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s -> %s", _sourceClass, _destinationClass);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.internal.ClassCache;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Thread-safe cache of values resolved for source and destination class pairs. Value is computed by
+ * resolver on first request and never changes afterwards. Resolver may return {@code null}, which
+ * is cached as well (as miss), so next request for the same class pair will not execute resolver
+ * again.
+ *
+ * <p>
+ * Values are kept in slots organized as two levels of {@link ClassCache} (by source class and then
+ * by destination class), so cache does not keep class loaders of mapped classes alive, and lookup
+ * of already resolved value does not allocate any objects and acquires no locks (unless class is
+ * loaded by class loader unrelated to this library).
+ * </p>
+ *
+ * @param <T> cached value class.
+ */
+final class ClassPairCache<T> {
+
+    private static final Object MISS = new Object();
+
+    /**
+     * Slot holds resolved value or {@code null} if value is not resolved yet. Slots are created
+     * without executing resolver, because resolver may query this cache recursively (ex. when map
+     * convention checks if inner members can be mapped).
+     */
+    private final ClassCache<ClassCache<AtomicReference<Object>>> _slots = new ClassCache<>(
+            sourceClass -> new ClassCache<>(destinationClass -> new AtomicReference<>()));
+
+    private final BiFunction<Class, Class, T> _resolver;
+
+    /**
+     * Creates cache which will use resolver to compute missing values.
+     *
+     * @param resolver computes value for source and destination class pair, must be thread-safe.
+     */
+    ClassPairCache(final BiFunction<Class, Class, T> resolver) {
+        notNull(resolver, "resolver");
+
+        _resolver = resolver;
+    }
+
+    /**
+     * Returns value for source and destination class pair. If value is not resolved yet then
+     * resolver is executed.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @return resolved value, {@code null} if resolver returned {@code null}.
+     */
+    T get(final Class sourceClass, final Class destinationClass) {
+        AtomicReference<Object> slot = getSlot(sourceClass, destinationClass);
+        Object result = slot.get();
+
+        if (result == null) {
+            // When two threads resolve the same value concurrently then the first stored result
+            // wins.
+            T resolved = _resolver.apply(sourceClass, destinationClass);
+            Object newValue = (resolved != null) ? resolved : MISS;
+
+            result = slot.compareAndSet(null, newValue) ? newValue : slot.get();
+        }
+
+        return (result == MISS) ? null : (T) result;
+    }
+
+    /**
+     * Returns {@code true} if value for source and destination class pair is already resolved.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @return {@code true} if value is resolved, otherwise {@code false}.
+     */
+    boolean isResolved(final Class sourceClass, final Class destinationClass) {
+        return getSlot(sourceClass, destinationClass).get() != null;
+    }
+
+    /**
+     * Stores value resolved for source and destination class pair elsewhere, unless value is
+     * already resolved.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param value resolved value, may be {@code null}.
+     */
+    void putIfAbsent(final Class sourceClass, final Class destinationClass, final T value) {
+        getSlot(sourceClass, destinationClass)
+                .compareAndSet(null, (value != null) ? value : MISS);
+    }
+
+    private AtomicReference<Object> getSlot(
+            final Class sourceClass, final Class destinationClass) {
+        return _slots.get(sourceClass).get(destinationClass);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+
+/**
+ * Javassist class pools shared by all classes generated at runtime. There is single class pool per
+ * class loader, which finds classes only by that class loader. Class pools are referenced weakly by
+ * class loader and {@link LoaderClassPath} references class loader weakly as well, so class pools
+ * do not prevent class loaders from being garbage collected (ex. on application redeploy).
+ *
+ * <p>
+ * Class pool is not thread-safe, so class generation must be synchronized on class pool. Generated
+ * classes should be detached from class pool when no longer needed.
+ * </p>
+ *
+ * <p>
+ * Generated classes are defined by {@link #toClass(javassist.CtClass, java.lang.Class)} method.
+ * Javassist defines classes by reflective call of protected {@code ClassLoader.defineClass}
+ * method, which is not permitted since Java 9, so on Java 9+ {@code Lookup.defineClass} method
+ * with private lookup of host class is used instead.
+ * </p>
+ */
+final class ClassPools {
+
+    private static final Map<ClassLoader, ClassPool> CLASS_POOLS = new WeakHashMap<>();
+
+    /**
+     * {@code MethodHandles.privateLookupIn(Class, Lookup)} method or {@code null} on Java 8.
+     */
+    private static final MethodHandle PRIVATE_LOOKUP_IN;
+
+    /**
+     * {@code Lookup.defineClass(byte[])} method or {@code null} on Java 8.
+     */
+    private static final MethodHandle LOOKUP_DEFINE_CLASS;
+
+    static {
+        MethodHandle privateLookupIn;
+        MethodHandle lookupDefineClass;
+
+        try {
+            Lookup lookup = MethodHandles.lookup();
+
+            privateLookupIn = lookup.findStatic(MethodHandles.class, "privateLookupIn",
+                    MethodType.methodType(Lookup.class, Class.class, Lookup.class));
+            lookupDefineClass = lookup.findVirtual(Lookup.class, "defineClass",
+                    MethodType.methodType(Class.class, byte[].class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            // Java 8
+            privateLookupIn = null;
+            lookupDefineClass = null;
+        }
+
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+        LOOKUP_DEFINE_CLASS = lookupDefineClass;
+    }
+
+    private ClassPools() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        ClassPools.class));
+    }
+
+    /**
+     * Returns class pool for class loader.
+     *
+     * @param classLoader class loader, cannot be bootstrap class loader.
+     * @return class pool finding classes by passed class loader.
+     */
+    static ClassPool get(final ClassLoader classLoader) {
+        synchronized (CLASS_POOLS) {
+            ClassPool result = CLASS_POOLS.get(classLoader);
+
+            if (result == null) {
+                result = new ClassPool(false);
+                result.appendClassPath(new LoaderClassPath(classLoader));
+                CLASS_POOLS.put(classLoader, result);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Defines generated class in the same package, class loader and protection domain as host
+     * class. Generated class name must be in the same package as host class.
+     *
+     * @param generatedCtClass generated class.
+     * @param hostClass class which determines package and class loader of generated class, cannot
+     * be loaded by bootstrap class loader.
+     * @return defined class.
+     * @throws CannotCompileException when class cannot be defined.
+     */
+    static Class<?> toClass(final CtClass generatedCtClass, final Class<?> hostClass)
+            throws CannotCompileException {
+        if (LOOKUP_DEFINE_CLASS == null) {
+            return generatedCtClass.toClass(
+                    hostClass.getClassLoader(), hostClass.getProtectionDomain());
+        }
+
+        try {
+            byte[] bytecode = generatedCtClass.toBytecode();
+            Lookup hostLookup
+                    = (Lookup) PRIVATE_LOOKUP_IN.invokeExact(hostClass, MethodHandles.lookup());
+
+            return (Class<?>) LOOKUP_DEFINE_CLASS.invokeExact(hostLookup, bytecode);
+        } catch (IOException | RuntimeException | LinkageError ex) {
+            // ex. class with the same name is already defined
+            throw new CannotCompileException(ex);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new CannotCompileException(ex);
+        }
+    }
+}
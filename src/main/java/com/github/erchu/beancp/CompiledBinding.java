@@ -0,0 +1,358 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.apache.commons.lang3.ClassUtils;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Binding which executes series of bindings using single class generated at runtime. Generated
+ * class reads and writes all members in straight-line code (including null checks for source paths
+ * longer than one member), so no reflection and no virtual call per member is needed.
+ *
+ * <p>
+ * Only bindings of {@link Binding} class (no value conversion or map) between public members of
+ * public classes can be compiled. Bindings of {@link BindingWithValueConversion} class between
+ * primitive number members are compiled to Java cast (without boxing of values) when mapper would
+ * use converter created by {@link Converter#numberCast(java.lang.Class, java.lang.Class)} for them.
+ * Use {@link #compile(java.util.List, com.github.erchu.beancp.MappingInfo)} method to compile
+ * bindings.
+ * </p>
+ */
+public final class CompiledBinding extends Binding {
+
+    private final List<Binding> _compiledBindings;
+
+    private final BiConsumer<Object, Object> _copyAction;
+
+    private CompiledBinding(
+            final List<Binding> compiledBindings, final BiConsumer<Object, Object> copyAction) {
+        super(compiledBindings.get(0).getSourcePath(),
+                compiledBindings.get(0).getDestinationMember());
+
+        this._compiledBindings = Collections.unmodifiableList(compiledBindings);
+        this._copyAction = copyAction;
+    }
+
+    /**
+     * Replaces all bindings which can be compiled by single {@link CompiledBinding} instance. Other
+     * bindings are returned without any change. Compiled binding is put at position of the first
+     * compiled binding. If no binding can be compiled then returns bindings without any change.
+     * Bindings with value conversion are not compiled.
+     *
+     * @param bindings bindings to compile.
+     * @return bindings after compilation.
+     */
+    public static List<Binding> compile(final List<Binding> bindings) {
+        return compile(bindings, null);
+    }
+
+    /**
+     * Replaces all bindings which can be compiled by single {@link CompiledBinding} instance. Other
+     * bindings are returned without any change. Compiled binding is put at position of the first
+     * compiled binding. If no binding can be compiled then returns bindings without any change.
+     *
+     * @param bindings bindings to compile.
+     * @param mappingsInfo mappings information used to check which converter will be used by
+     * bindings with value conversion, may be null.
+     * @return bindings after compilation.
+     */
+    public static List<Binding> compile(
+            final List<Binding> bindings, final MappingInfo mappingsInfo) {
+        notNull(bindings, "bindings");
+
+        List<Binding> compilableBindings = new LinkedList<>();
+        Class<?> hostClass = null;
+
+        for (Binding i : bindings) {
+            Member destinationMember = getWriteMember(i.getDestinationMember());
+
+            if (hostClass == null && destinationMember != null) {
+                // generated class will be defined in class loader of the first destination class
+                hostClass = destinationMember.getDeclaringClass();
+            }
+
+            if (hostClass != null
+                    && isCompilable(i, hostClass.getClassLoader(), mappingsInfo)) {
+                compilableBindings.add(i);
+            }
+        }
+
+        if (compilableBindings.isEmpty()) {
+            return bindings;
+        }
+
+        BiConsumer<Object, Object> copyAction = generateCopyAction(hostClass, compilableBindings);
+
+        if (copyAction == null) {
+            return bindings;
+        }
+
+        CompiledBinding compiledBinding = new CompiledBinding(compilableBindings, copyAction);
+        List<Binding> result = new ArrayList<>(bindings.size() - compilableBindings.size() + 1);
+        Set<Binding> compiled = Collections.newSetFromMap(new IdentityHashMap<>());
+        compiled.addAll(compilableBindings);
+
+        for (Binding i : bindings) {
+            if (compiled.contains(i) == false) {
+                result.add(i);
+            } else if (i == compilableBindings.get(0)) {
+                result.add(compiledBinding);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns bindings executed by this binding.
+     *
+     * @return bindings executed by this binding.
+     */
+    public List<Binding> getCompiledBindings() {
+        return _compiledBindings;
+    }
+
+    @Override
+    @SuppressWarnings("TooBroadCatch")
+    public void execute(final Mapper mapper, final Object source, final Object destination)
+            throws MappingException {
+        notNull(source, "source");
+        notNull(destination, "destination");
+
+        try {
+            _copyAction.accept(source, destination);
+        } catch (RuntimeException ex) {
+            throw new MappingException(
+                    String.format("Failed to copy values from %s to %s",
+                            source.getClass(), destination.getClass()), ex);
+        }
+    }
+
+    private static boolean isCompilable(
+            final Binding binding, final ClassLoader classLoader, final MappingInfo mappingsInfo) {
+        if (classLoader == null) {
+            return false;
+        }
+
+        if (binding.getClass().equals(Binding.class) == false
+                && isNumberCast(binding, mappingsInfo) == false) {
+            return false;
+        }
+
+        BindingSide destinationMember = binding.getDestinationMember();
+        BindingSide[] sourcePath = binding.getSourcePath();
+
+        // Binding.execute() fails when destination member has no getter, so such binding must not
+        // be compiled. Null value cannot be set to primitive destination member, which is
+        // possible only when source path has more than one member.
+        if (destinationMember.isGetterAvailable() == false
+                || (sourcePath.length > 1 && destinationMember.getValueClass().isPrimitive())) {
+            return false;
+        }
+
+        if (isWritable(destinationMember, classLoader) == false) {
+            return false;
+        }
+
+        for (BindingSide i : sourcePath) {
+            if (isReadable(i, classLoader) == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns true if binding converts value between primitive number members using converter
+     * created by {@link Converter#numberCast(java.lang.Class, java.lang.Class)}.
+     */
+    private static boolean isNumberCast(final Binding binding, final MappingInfo mappingsInfo) {
+        // converters of MapperBuilder may change until mapper is built, so only MapperImpl is used
+        if (binding.getClass().equals(BindingWithValueConversion.class) == false
+                || (mappingsInfo instanceof MapperImpl) == false) {
+            return false;
+        }
+
+        BindingSide[] sourcePath = binding.getSourcePath();
+        Class sourceValueClass = sourcePath[sourcePath.length - 1].getValueClass();
+        Class destinationValueClass = binding.getDestinationMember().getValueClass();
+
+        if (sourcePath.length > 1 || sourceValueClass.isPrimitive() == false
+                || destinationValueClass.isPrimitive() == false) {
+            return false;
+        }
+
+        // value is boxed before BindingWithValueConversion converts it
+        Converter<?, ?> converter = ((MapperImpl) mappingsInfo).getConverter(
+                ClassUtils.primitiveToWrapper(sourceValueClass), destinationValueClass);
+
+        return (converter != null) && converter.isNumberCast();
+    }
+
+    private static boolean isReadable(
+            final BindingSide bindingSide, final ClassLoader classLoader) {
+        Member member = getReadMember(bindingSide);
+
+        return (member != null) && isAccessible(member, classLoader);
+    }
+
+    private static boolean isWritable(
+            final BindingSide bindingSide, final ClassLoader classLoader) {
+        Member member = getWriteMember(bindingSide);
+
+        if (member == null || isAccessible(member, classLoader) == false) {
+            return false;
+        }
+
+        Class valueClass = bindingSide.getValueClass();
+
+        return AccessorBuilder.isAccessible(valueClass) && isVisible(valueClass, classLoader);
+    }
+
+    private static boolean isAccessible(final Member member, final ClassLoader classLoader) {
+        return AccessorBuilder.isAccessible(member)
+                && isVisible(member.getDeclaringClass(), classLoader);
+    }
+
+    private static boolean isVisible(final Class ofClass, final ClassLoader classLoader) {
+        if (ofClass.isPrimitive()) {
+            return true;
+        }
+
+        if (ofClass.isArray()) {
+            return isVisible(ofClass.getComponentType(), classLoader);
+        }
+
+        try {
+            return Class.forName(ofClass.getName(), false, classLoader).equals(ofClass);
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    private static Member getReadMember(final BindingSide bindingSide) {
+        if (bindingSide instanceof PropertyBindingSide) {
+            return ((PropertyBindingSide) bindingSide).getReadMethod();
+        } else if (bindingSide instanceof FieldBindingSide) {
+            return ((FieldBindingSide) bindingSide).getField();
+        } else {
+            return null;
+        }
+    }
+
+    private static Member getWriteMember(final BindingSide bindingSide) {
+        if (bindingSide instanceof PropertyBindingSide) {
+            return ((PropertyBindingSide) bindingSide).getWriteMethod();
+        } else if (bindingSide instanceof FieldBindingSide) {
+            Field field = ((FieldBindingSide) bindingSide).getField();
+
+            return Modifier.isFinal(field.getModifiers()) ? null : field;
+        } else {
+            return null;
+        }
+    }
+
+    private static BiConsumer<Object, Object> generateCopyAction(
+            final Class<?> hostClass, final List<Binding> bindings) {
+        StringBuilder methodSource = new StringBuilder(
+                "public void accept(Object source, Object destination) {\n");
+        int bindingNumber = 0;
+
+        for (Binding i : bindings) {
+            appendBindingSource(methodSource, i, bindingNumber++);
+        }
+
+        methodSource.append("}");
+
+        return (BiConsumer<Object, Object>) AccessorBuilder.generateClassInstance(
+                hostClass, "BeanCpCompiledBinding",
+                BiConsumer.class, methodSource.toString());
+    }
+
+    private static void appendBindingSource(
+            final StringBuilder methodSource, final Binding binding, final int bindingNumber) {
+        BindingSide[] sourcePath = binding.getSourcePath();
+        BindingSide destinationMember = binding.getDestinationMember();
+        String nullValue = String.format("((%s) null)",
+                AccessorBuilder.toSourceName(destinationMember.getValueClass()));
+        String currentObject = "source";
+
+        // every member except the last one in path is read to local variable and checked for null
+        for (int i = 0 ; i < sourcePath.length - 1 ; i++) {
+            String variable = String.format("v%d_%d", bindingNumber, i);
+
+            methodSource.append(String.format("Object %s = %s;\n",
+                    variable, getReadExpression(sourcePath[i], currentObject)));
+            methodSource.append(String.format("if (%s == null) { %s } else {\n",
+                    variable, getWriteStatement(destinationMember, nullValue)));
+
+            currentObject = variable;
+        }
+
+        String value = getReadExpression(sourcePath[sourcePath.length - 1], currentObject);
+
+        if (binding instanceof BindingWithValueConversion) {
+            value = String.format("((%s) %s)",
+                    AccessorBuilder.toSourceName(destinationMember.getValueClass()), value);
+        }
+
+        methodSource.append(getWriteStatement(destinationMember, value));
+        methodSource.append("\n");
+
+        for (int i = 0 ; i < sourcePath.length - 1 ; i++) {
+            methodSource.append("}\n");
+        }
+    }
+
+    private static String getReadExpression(final BindingSide bindingSide, final String object) {
+        Member member = getReadMember(bindingSide);
+        String castedObject = String.format("((%s) %s)",
+                AccessorBuilder.toSourceName(member.getDeclaringClass()), object);
+
+        if (member instanceof Method) {
+            return String.format("%s.%s()", castedObject, member.getName());
+        } else {
+            return String.format("%s.%s", castedObject, member.getName());
+        }
+    }
+
+    private static String getWriteStatement(final BindingSide bindingSide, final String value) {
+        Member member = getWriteMember(bindingSide);
+        String castedDestination = String.format("((%s) destination)",
+                AccessorBuilder.toSourceName(member.getDeclaringClass()));
+
+        if (member instanceof Method) {
+            return String.format("%s.%s(%s);", castedDestination, member.getName(), value);
+        } else {
+            return String.format("%s.%s = %s;", castedDestination, member.getName(), value);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.github.erchu.beancp;
 
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import org.apache.commons.lang3.ClassUtils;
 import static org.apache.commons.lang3.Validate.*;
 
 /**
@@ -35,6 +36,8 @@ public final class Converter<S, D> implements MappingExecutor<S, D> {
 
     private final BiFunction<Mapper, S, D> _convertionAction;
 
+    private final boolean _numberCast;
+
     /**
      * Creates converter instance.
      *
@@ -56,6 +59,7 @@ public final class Converter<S, D> implements MappingExecutor<S, D> {
         this._sourceClass = sourceClass;
         this._destinationClass = destinationClass;
         this._convertionAction = convertActionWrapper;
+        this._numberCast = false;
     }
 
     /**
@@ -76,6 +80,66 @@ public final class Converter<S, D> implements MappingExecutor<S, D> {
         this._sourceClass = sourceClass;
         this._destinationClass = destinationClass;
         this._convertionAction = convertAction;
+        this._numberCast = false;
+    }
+
+    private Converter(
+            final Class<S> sourceClass,
+            final Class<D> destinationClass,
+            final Function<S, D> convertAction,
+            final boolean numberCast) {
+        this._sourceClass = sourceClass;
+        this._destinationClass = destinationClass;
+        this._convertionAction = (Mapper mapper, S source) -> convertAction.apply(source);
+        this._numberCast = numberCast;
+    }
+
+    /**
+     * Creates converter between number types (byte, short, int, long, float, double or its
+     * wrappers) which works the same way as Java cast operator, for example
+     * {@code (long) intValue}. Mapper may execute such conversion between primitive members
+     * without boxing of values.
+     *
+     * @param <S> conversion source class.
+     * @param <D> conversion destination class.
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @return converter.
+     */
+    public static <S, D> Converter<S, D> numberCast(
+            final Class<S> sourceClass, final Class<D> destinationClass) {
+        notNull(sourceClass, "sourceClass");
+        notNull(destinationClass, "destinationClass");
+        isTrue(isNumberClass(sourceClass), "%s is not number class.", sourceClass);
+        isTrue(isNumberClass(destinationClass), "%s is not number class.", destinationClass);
+
+        Class<?> destinationWrapperClass = ClassUtils.primitiveToWrapper(destinationClass);
+        Function<Number, Object> castAction;
+
+        if (destinationWrapperClass.equals(Byte.class)) {
+            castAction = Number::byteValue;
+        } else if (destinationWrapperClass.equals(Short.class)) {
+            castAction = Number::shortValue;
+        } else if (destinationWrapperClass.equals(Integer.class)) {
+            castAction = Number::intValue;
+        } else if (destinationWrapperClass.equals(Long.class)) {
+            castAction = Number::longValue;
+        } else if (destinationWrapperClass.equals(Float.class)) {
+            castAction = Number::floatValue;
+        } else {
+            castAction = Number::doubleValue;
+        }
+
+        return new Converter<>(sourceClass, destinationClass,
+                source -> (D) castAction.apply((Number) source), true);
+    }
+
+    private static boolean isNumberClass(final Class<?> ofClass) {
+        Class<?> wrapperClass = ClassUtils.primitiveToWrapper(ofClass);
+
+        return wrapperClass.equals(Byte.class) || wrapperClass.equals(Short.class)
+                || wrapperClass.equals(Integer.class) || wrapperClass.equals(Long.class)
+                || wrapperClass.equals(Float.class) || wrapperClass.equals(Double.class);
     }
 
     /**
@@ -98,6 +162,14 @@ public final class Converter<S, D> implements MappingExecutor<S, D> {
         return _destinationClass;
     }
 
+    /**
+     * Returns true if converter has been created by
+     * {@link #numberCast(java.lang.Class, java.lang.Class)} method.
+     */
+    boolean isNumberCast() {
+        return _numberCast;
+    }
+
     /**
      * Performs conversion. Must be thread-safe.
      *
@@ -90,6 +90,22 @@ public interface DeclarativeMap<S, D> {
      */
     DeclarativeMap<S, D> useConvention(final MapConvention MapConvention);
 
+    /**
+     * Adds calculated member binding to destination member or members. Must be thread-safe. This
+     * is equivalent of
+     * {@link #bind(java.util.function.Supplier, java.util.function.Consumer, com.github.erchu.beancp.BindingOption...)}
+     * without options, which does not allocate options array on each map execution.
+     *
+     * @param <T> value data type
+     * @param fromFunction calculated member function, must be thread-safe.
+     * @param toMember destination class member, must be thread-safe.
+     *
+     * @return this (for method chaining)
+     */
+    <T> DeclarativeMap<S, D> bind(
+            final Supplier<T> fromFunction,
+            final Consumer<T> toMember);
+
     /**
      * Adds calculated member binding to destination member or members. Must be thread-safe.
      *
@@ -105,6 +121,22 @@ public interface DeclarativeMap<S, D> {
             final Consumer<T> toMember,
             final BindingOption<S, D, T>... options);
 
+    /**
+     * Adds constant binding to destination member or members. Must be thread-safe. This is
+     * equivalent of
+     * {@link #bindConstant(java.lang.Object, java.util.function.Consumer, com.github.erchu.beancp.BindingOption...)}
+     * without options, which does not allocate options array on each map execution.
+     *
+     * @param <T> value data type
+     * @param constantValue constant value
+     * @param toMember destination class member, must be thread-safe.
+     *
+     * @return this (for method chaining)
+     */
+    <T> DeclarativeMap<S, D> bindConstant(
+            final T constantValue,
+            final Consumer<T> toMember);
+
     /**
      * Adds constant binding to destination member or members. Must be thread-safe.
      *
@@ -120,6 +152,26 @@ public interface DeclarativeMap<S, D> {
             final Consumer<T> toMember,
             final BindingOption<S, D, T>... options);
 
+    /**
+     * Adds inner object mapping. Must be thread-safe. This is equivalent of
+     * {@link #mapInner(java.util.function.Supplier, java.util.function.Consumer, java.util.function.Supplier, java.lang.Class, com.github.erchu.beancp.BindingOption[])}
+     * without options, which does not allocate options array on each map execution.
+     *
+     * @param <SI> source value data type
+     * @param <DI> destination value data type
+     * @param fromFunction calculated member function, must be thread-safe.
+     * @param toMember destination class member setter, must be thread-safe.
+     * @param toMemberGetter destination class member get, must be thread-safe.
+     * @param toMemberClass destination class member type
+     *
+     * @return this (for method chaining)
+     */
+    <SI, DI> DeclarativeMap<S, D> mapInner(
+            final Supplier<SI> fromFunction,
+            final Consumer<DI> toMember,
+            final Supplier<DI> toMemberGetter,
+            final Class<DI> toMemberClass);
+
     /**
      * Adds inner object mapping. Must be thread-safe.
      *
@@ -140,6 +192,24 @@ public interface DeclarativeMap<S, D> {
             final Class<DI> toMemberClass,
             final BindingOption<S, D, DI>... options);
 
+    /**
+     * Adds inner object mapping. Must be thread-safe. This is equivalent of
+     * {@link #mapInner(java.util.function.Supplier, java.util.function.Consumer, java.lang.Class, com.github.erchu.beancp.BindingOption[])}
+     * without options, which does not allocate options array on each map execution.
+     *
+     * @param <SI> source value data type
+     * @param <DI> destination value data type
+     * @param fromFunction calculated member function, must be thread-safe.
+     * @param toMember destination class member setter, must be thread-safe.
+     * @param toMemberClass destination class member type
+     *
+     * @return this (for method chaining)
+     */
+    <SI, DI> DeclarativeMap<S, D> mapInner(
+            final Supplier<SI> fromFunction,
+            final Consumer<DI> toMember,
+            final Class<DI> toMemberClass);
+
     /**
      * Adds inner object mapping. Must be thread-safe.
      *
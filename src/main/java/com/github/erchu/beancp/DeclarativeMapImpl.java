@@ -24,6 +24,13 @@ import static org.apache.commons.lang3.Validate.*;
 /**
  * Default implementation of {@link DeclarativeMap} interface.
  *
+ * <p>
+ * This class handles only configuration phase. Map execution is performed by separate
+ * {@link Execution} instance created for each {@link #execute(com.github.erchu.beancp.Mapper,
+ * java.lang.Object, java.lang.Object)} call, so concurrent executions do not share any mutable
+ * state.
+ * </p>
+ *
  * @param <S> source class
  * @param <D> destination class
  */
@@ -35,9 +42,11 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
         EXECUTION
     }
 
-    private final String INVALID_STATEMENT_ORDER_MESSAGE = "Invalid statement order. Check "
+    private static final String INVALID_STATEMENT_ORDER_MESSAGE = "Invalid statement order. Check "
             + DeclarativeMap.class.getSimpleName() + " interface API documentation for details.";
 
+    private static final String ALREADY_CONFIGURED_MESSAGE = "Map is already configured.";
+
     private final Class<S> _sourceClass;
 
     private final Class<D> _destinationClass;
@@ -58,13 +67,7 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
 
     private boolean _afterMapExecuted;
 
-    private Mapper _executionPhaseMapper;
-
-    private MapConventionExecutor _executionPhaseMapConvention;
-
-    private final ThreadLocal<S> _executionPhaseSourceReference = new ThreadLocal<>();
-
-    private final ThreadLocal<D> _executionPhaseDestinationReference = new ThreadLocal<>();
+    private MapConventionExecutor _mapConvention;
 
     private MappingInfo _configurationPhaseMappingsInfo;
 
@@ -78,37 +81,30 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
     @Override
     public <T> DeclarativeMap<S, D> bind(
             final Supplier<T> fromFunction,
-            final Consumer<T> toMember,
-            final BindingOption<S, D, T>... options) {
+            final Consumer<T> toMember) {
         notNull(fromFunction, "fromFunction");
         notNull(toMember, "toMember");
 
-        if (mode == MapMode.CONFIGURATION) {
-            if (_afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
+        validateBindBindConstantOrMapInner();
 
-            _bindBindConstantOrMapExecuted = true;
-        }
+        return this;
+    }
 
-        if (mode == MapMode.EXECUTION) {
-            boolean map = shouldBeMapped(options);
+    @Override
+    public <T> DeclarativeMap<S, D> bind(
+            final Supplier<T> fromFunction,
+            final Consumer<T> toMember,
+            final BindingOption<S, D, T>... options) {
+        return bind(fromFunction, toMember);
+    }
 
-            if (map) {
-                T getValue = fromFunction.get();
+    @Override
+    public <T> DeclarativeMap<S, D> bindConstant(
+            final T constantValue,
+            final Consumer<T> toMember) {
+        notNull(toMember, "toMember");
 
-                if (getValue == null) {
-                    for (BindingOption<S, D, T> i : options) {
-                        if (i.getNullSubstitution() != null) {
-                            getValue = i.getNullSubstitution();
-                            break;
-                        }
-                    }
-                }
-
-                toMember.accept(getValue);
-            }
-        }
+        validateBindBindConstantOrMapInner();
 
         return this;
     }
@@ -120,114 +116,76 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
             final BindingOption<S, D, T>... options) {
         notNull(toMember, "toMember");
 
-        if (mode == MapMode.CONFIGURATION) {
-            if (_afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
-
-            _bindBindConstantOrMapExecuted = true;
-        }
-
-        if (mode == MapMode.CONFIGURATION) {
-            for (BindingOption<S, D, T> i : options) {
-                if (i.getNullSubstitution() != null) {
-                    throw new MapperConfigurationException(
-                            "Null substitution option not allowed for bindConstant.");
-                }
-            }
-        }
-
-        if (mode == MapMode.EXECUTION) {
-            boolean map = shouldBeMapped(options);
+        validateBindBindConstantOrMapInner();
 
-            if (map) {
-                toMember.accept(constantValue);
+        for (BindingOption<S, D, T> i : options) {
+            if (i.getNullSubstitution() != null) {
+                throw new MapperConfigurationException(
+                        "Null substitution option not allowed for bindConstant.");
             }
         }
 
         return this;
     }
 
+    @Override
+    public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
+            final Consumer<DI> toMember,
+            final Class<DI> toMemberClass) {
+        return mapInner(supplierFunction, toMember, null, toMemberClass);
+    }
+
     @Override
     public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
             final Consumer<DI> toMember,
             final Class<DI> toMemberClass,
             final BindingOption<S, D, DI>... options) {
-        return mapInner(supplierFunction, toMember, null, toMemberClass, options);
+        return mapInner(supplierFunction, toMember, null, toMemberClass);
     }
 
     @Override
     public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
             final Consumer<DI> toMember,
             final Supplier<DI> toMemberGetter,
-            final Class<DI> toMemberClass,
-            final BindingOption<S, D, DI>... options) {
+            final Class<DI> toMemberClass) {
         notNull(supplierFunction, "supplierFunction");
         notNull(toMember, "toMember");
 
-        if (mode == MapMode.CONFIGURATION) {
-            if (_afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
-
-            _bindBindConstantOrMapExecuted = true;
-        }
-
-        if (mode == MapMode.EXECUTION) {
-            SI currentSourceValue = supplierFunction.get();
-
-            if (currentSourceValue == null) {
-                toMember.accept(null);
-            } else {
-                DI currentDestinationMemberValue;
-
-                if (toMemberGetter == null) {
-                    currentDestinationMemberValue = null;
-                } else {
-                    currentDestinationMemberValue = toMemberGetter.get();
-                }
-
-                if (currentDestinationMemberValue == null) {
-                    DI mapResult = _executionPhaseMapper.map(currentSourceValue, toMemberClass);
-                    toMember.accept(mapResult);
-                } else {
-                    _executionPhaseMapper.map(currentSourceValue, currentDestinationMemberValue);
-                }
-            }
-        }
+        validateBindBindConstantOrMapInner();
 
         return this;
     }
 
+    @Override
+    public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
+            final Consumer<DI> toMember,
+            final Supplier<DI> toMemberGetter,
+            final Class<DI> toMemberClass,
+            final BindingOption<S, D, DI>... options) {
+        return mapInner(supplierFunction, toMember, toMemberGetter, toMemberClass);
+    }
+
     @Override
     public DeclarativeMapImpl<S, D> useConvention(final MapConvention mapConvention) {
         notNull(mapConvention, "mapConvention");
+        validateConfigurationMode();
 
-        MapConventionExecutor conventionExecutor = new MapConventionExecutor(mapConvention);
-
-        if (mode == MapMode.CONFIGURATION) {
-            if (_useConventionExecuted) {
-                throw new MapperConfigurationException("useConventionExecuted() cannot be called "
-                        + "more than once.");
-            }
-
-            if (_bindBindConstantOrMapExecuted || _afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
-
-            // Build and cache result
-            conventionExecutor.build(_configurationPhaseMappingsInfo, _sourceClass, _destinationClass);
-            _executionPhaseMapConvention = conventionExecutor;
-
-            _useConventionExecuted = true;
+        if (_useConventionExecuted) {
+            throw new MapperConfigurationException("useConventionExecuted() cannot be called "
+                    + "more than once.");
         }
 
-        if (mode == MapMode.EXECUTION) {
-            // use cached convention
-            _executionPhaseMapConvention.map(_executionPhaseMapper,
-                    _executionPhaseSourceReference.get(), _executionPhaseDestinationReference.get());
+        if (_bindBindConstantOrMapExecuted || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
         }
 
+        // Build and cache result
+        MapConventionExecutor conventionExecutor = new MapConventionExecutor(mapConvention);
+        conventionExecutor.build(_configurationPhaseMappingsInfo, _sourceClass, _destinationClass);
+        _mapConvention = conventionExecutor;
+
+        _useConventionExecuted = true;
+
         return this;
     }
 
@@ -238,17 +196,13 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
 
     @Override
     public DeclarativeMap<S, D> beforeMap(final Consumer<Mapper> action) {
-        if (mode == MapMode.CONFIGURATION) {
-            if (_useConventionExecuted || _bindBindConstantOrMapExecuted || _afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
+        validateConfigurationMode();
 
-            _beforeMapExecuted = true;
+        if (_useConventionExecuted || _bindBindConstantOrMapExecuted || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
         }
 
-        if (mode == MapMode.EXECUTION) {
-            action.accept(_executionPhaseMapper);
-        }
+        _beforeMapExecuted = true;
 
         return this;
     }
@@ -260,13 +214,9 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
 
     @Override
     public DeclarativeMap<S, D> afterMap(final Consumer<Mapper> action) {
-        if (mode == MapMode.CONFIGURATION) {
-            _afterMapExecuted = true;
-        }
+        validateConfigurationMode();
 
-        if (mode == MapMode.EXECUTION) {
-            action.accept(_executionPhaseMapper);
-        }
+        _afterMapExecuted = true;
 
         return this;
     }
@@ -275,21 +225,20 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
     public DeclarativeMap<S, D> constructDestinationObjectUsing(
             final Supplier<D> destinationObjectBuilder) {
         notNull(destinationObjectBuilder, "destinationObjectBuilder");
+        validateConfigurationMode();
 
-        if (mode == MapMode.CONFIGURATION) {
-            if (_beforeMapExecuted || _useConventionExecuted || _bindBindConstantOrMapExecuted
-                    || _afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
-
-            if (_constructDestinationObjectUsingExecuted) {
-                throw new MapperConfigurationException("constructDestinationObjectUsing() cannot "
-                        + "be called more than once.");
-            }
+        if (_beforeMapExecuted || _useConventionExecuted || _bindBindConstantOrMapExecuted
+                || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
+        }
 
-            _constructDestinationObjectUsingExecuted = true;
+        if (_constructDestinationObjectUsingExecuted) {
+            throw new MapperConfigurationException("constructDestinationObjectUsing() cannot "
+                    + "be called more than once.");
         }
 
+        _constructDestinationObjectUsingExecuted = true;
+
         setDestinationObjectBuilder(destinationObjectBuilder);
 
         return this;
@@ -297,12 +246,11 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
 
     void configure(MappingInfo configurationPhaseMappingsInfo) {
         if (mode != MapMode.CONFIGURATION) {
-            throw new IllegalStateException("Map was already configured.");
+            throw new IllegalStateException(ALREADY_CONFIGURED_MESSAGE);
         }
 
-        FakeObjectBuilder proxyBuilder = new FakeObjectBuilder();
-        S sourceObject = proxyBuilder.createFakeObject(_sourceClass);
-        D destinationObject = proxyBuilder.createFakeObject(_destinationClass);
+        S sourceObject = FakeObjectBuilder.createFakeObject(_sourceClass);
+        D destinationObject = FakeObjectBuilder.createFakeObject(_destinationClass);
 
         _beforeMapExecuted = _bindBindConstantOrMapExecuted = _afterMapExecuted = false;
         _configurationPhaseMappingsInfo = configurationPhaseMappingsInfo;
@@ -325,17 +273,11 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
                     "Map is not configured. Use configure() first.");
         }
 
-        _executionPhaseMapper = caller;
-
-        try {
-            _executionPhaseSourceReference.set(source);
-            _executionPhaseDestinationReference.set(destination);
-
-            _configuration.apply(this, source, destination);
-        } finally {
-            _executionPhaseSourceReference.set(null);
-            _executionPhaseDestinationReference.set(null);
-        }
+        // Lambdas passed to map statements are bound to source and destination instances passed
+        // to setup, so setup must be applied for each execution. All execution state is held by
+        // Execution instance, which is never shared between executions.
+        _configuration.apply(
+                new Execution<>(caller, _mapConvention, source, destination), source, destination);
     }
 
     @Override
@@ -348,6 +290,14 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
         return _destinationClass;
     }
 
+    /**
+     * Returns convention set by {@link #useConvention(com.github.erchu.beancp.MapConvention)} or
+     * null if no convention is used.
+     */
+    MapConventionExecutor getMapConvention() {
+        return _mapConvention;
+    }
+
     Supplier<D> getDestinationObjectBuilder() {
         return _destinationObjectBuilder;
     }
@@ -358,16 +308,211 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
         _destinationObjectBuilder = destinationObjectBuilder;
     }
 
-    private <T> boolean shouldBeMapped(final BindingOption<S, D, T>[] options) {
-        boolean map = true;
+    private void validateConfigurationMode() {
+        if (mode != MapMode.CONFIGURATION) {
+            throw new IllegalStateException(ALREADY_CONFIGURED_MESSAGE);
+        }
+    }
+
+    private void validateBindBindConstantOrMapInner() {
+        validateConfigurationMode();
 
-        for (BindingOption<S, D, T> i : options) {
-            if (i.getMapWhenCondition() != null && i.getMapWhenCondition().get() == false) {
-                map = false;
-                break;
+        if (_afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
+        }
+
+        _bindBindConstantOrMapExecuted = true;
+    }
+
+    /**
+     * Executes map statements for single source and destination object pair. New instance is
+     * created for each map execution and all its state is passed by constructor, so executions
+     * neither use thread-local variables nor write any shared state. Statement order is validated
+     * during configuration phase, so it is not validated again.
+     *
+     * @param <S> source class
+     * @param <D> destination class
+     */
+    private static final class Execution<S, D> implements DeclarativeMap<S, D> {
+
+        private final Mapper _mapper;
+
+        private final MapConventionExecutor _mapConvention;
+
+        private final S _source;
+
+        private final D _destination;
+
+        Execution(final Mapper mapper, final MapConventionExecutor mapConvention,
+                final S source, final D destination) {
+            this._mapper = mapper;
+            this._mapConvention = mapConvention;
+            this._source = source;
+            this._destination = destination;
+        }
+
+        @Override
+        public <T> DeclarativeMap<S, D> bind(
+                final Supplier<T> fromFunction,
+                final Consumer<T> toMember) {
+            toMember.accept(fromFunction.get());
+
+            return this;
+        }
+
+        @Override
+        public <T> DeclarativeMap<S, D> bind(
+                final Supplier<T> fromFunction,
+                final Consumer<T> toMember,
+                final BindingOption<S, D, T>... options) {
+            T nullSubstitution = null;
+
+            // Single pass over options: all conditions are evaluated in declaration order and
+            // the first null substitution is remembered.
+            for (BindingOption<S, D, T> i : options) {
+                if (isConditionNotMet(i)) {
+                    return this;
+                }
+
+                if (nullSubstitution == null) {
+                    nullSubstitution = i.getNullSubstitution();
+                }
+            }
+
+            T getValue = fromFunction.get();
+
+            toMember.accept((getValue != null) ? getValue : nullSubstitution);
+
+            return this;
+        }
+
+        @Override
+        public <T> DeclarativeMap<S, D> bindConstant(
+                final T constantValue,
+                final Consumer<T> toMember) {
+            toMember.accept(constantValue);
+
+            return this;
+        }
+
+        @Override
+        public <T> DeclarativeMap<S, D> bindConstant(
+                final T constantValue,
+                final Consumer<T> toMember,
+                final BindingOption<S, D, T>... options) {
+            for (BindingOption<S, D, T> i : options) {
+                if (isConditionNotMet(i)) {
+                    return this;
+                }
+            }
+
+            toMember.accept(constantValue);
+
+            return this;
+        }
+
+        @Override
+        public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
+                final Consumer<DI> toMember,
+                final Class<DI> toMemberClass) {
+            return mapInner(supplierFunction, toMember, null, toMemberClass);
+        }
+
+        @Override
+        public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
+                final Consumer<DI> toMember,
+                final Class<DI> toMemberClass,
+                final BindingOption<S, D, DI>... options) {
+            return mapInner(supplierFunction, toMember, null, toMemberClass);
+        }
+
+        @Override
+        public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
+                final Consumer<DI> toMember,
+                final Supplier<DI> toMemberGetter,
+                final Class<DI> toMemberClass,
+                final BindingOption<S, D, DI>... options) {
+            return mapInner(supplierFunction, toMember, toMemberGetter, toMemberClass);
+        }
+
+        @Override
+        public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
+                final Consumer<DI> toMember,
+                final Supplier<DI> toMemberGetter,
+                final Class<DI> toMemberClass) {
+            SI currentSourceValue = supplierFunction.get();
+
+            if (currentSourceValue == null) {
+                toMember.accept(null);
+            } else {
+                DI currentDestinationMemberValue;
+
+                if (toMemberGetter == null) {
+                    currentDestinationMemberValue = null;
+                } else {
+                    currentDestinationMemberValue = toMemberGetter.get();
+                }
+
+                if (currentDestinationMemberValue == null) {
+                    DI mapResult = MappingContext.mapNested(
+                            _mapper, currentSourceValue, toMemberClass);
+                    toMember.accept(mapResult);
+                } else {
+                    MappingContext.mapNested(
+                            _mapper, currentSourceValue, currentDestinationMemberValue);
+                }
             }
+
+            return this;
+        }
+
+        @Override
+        public DeclarativeMap<S, D> useConvention(final MapConvention mapConvention) {
+            // use convention built during configuration phase
+            _mapConvention.map(_mapper, _source, _destination);
+
+            return this;
+        }
+
+        @Override
+        public DeclarativeMap<S, D> beforeMap(final Action action) {
+            action.invoke();
+
+            return this;
+        }
+
+        @Override
+        public DeclarativeMap<S, D> beforeMap(final Consumer<Mapper> action) {
+            action.accept(_mapper);
+
+            return this;
+        }
+
+        @Override
+        public DeclarativeMap<S, D> afterMap(final Action action) {
+            action.invoke();
+
+            return this;
         }
 
-        return map;
+        @Override
+        public DeclarativeMap<S, D> afterMap(final Consumer<Mapper> action) {
+            action.accept(_mapper);
+
+            return this;
+        }
+
+        @Override
+        public DeclarativeMap<S, D> constructDestinationObjectUsing(
+                final Supplier<D> destinationObjectBuilder) {
+            // destination object builder is captured during configuration phase
+            return this;
+        }
+
+        private static boolean isConditionNotMet(final BindingOption<?, ?, ?> option) {
+            Supplier<Boolean> mapWhenCondition = option.getMapWhenCondition();
+
+            return (mapWhenCondition != null && mapWhenCondition.get() == false);
+        }
     }
 }
@@ -17,21 +17,59 @@
  */
 package com.github.erchu.beancp;
 
+import com.github.erchu.beancp.internal.ClassCache;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.Supplier;
 import javassist.CannotCompileException;
-import javassist.ClassClassPath;
 import javassist.ClassPool;
 import javassist.CtClass;
+import javassist.CtNewConstructor;
 import javassist.Modifier;
 import javassist.NotFoundException;
 
+/**
+ * Creates objects passed to {@link DeclarativeMapSetup} during map configuration. If class has no
+ * public default constructor, but has protected one, then object of proxy class (generated
+ * subclass with public default constructor) is created.
+ *
+ * <p>
+ * Factory (and proxy class if needed) is created once per class and cached by {@link ClassCache},
+ * so neither class loader of mapped class nor class loader of this library are pinned by cache.
+ * Proxy classes are generated by class pools shared per class loader (see {@link ClassPools}).
+ * </p>
+ */
 final class FakeObjectBuilder {
 
-    private final ClassPool _classPool = ClassPool.getDefault();
+    private static final String PROXY_CLASS_NAME_SUFFIX = "_MapperProxy";
+
+    private static final ClassCache<Supplier<Object>> FACTORIES
+            = new ClassCache<>(FakeObjectBuilder::createFactory);
+
+    private FakeObjectBuilder() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        FakeObjectBuilder.class));
+    }
 
-    public <T> T createFakeObject(final Class ofClass) {
+    /**
+     * Creates object of passed class or its proxy class.
+     *
+     * @param <T> object class.
+     * @param ofClass object class.
+     * @return created object.
+     * @throws MapperConfigurationException if object cannot be created.
+     */
+    static <T> T createFakeObject(final Class ofClass) throws MapperConfigurationException {
+        return (T) FACTORIES.get(ofClass).get();
+    }
+
+    private static Supplier<Object> createFactory(final Class<?> ofClass) {
         Constructor defaultConstructor = getDefaultConstructor(ofClass);
 
         if (defaultConstructor == null) {
@@ -42,13 +80,8 @@ final class FakeObjectBuilder {
         }
 
         if (Modifier.isPublic(defaultConstructor.getModifiers())) {
-            try {
-                return (T) ofClass.newInstance();
-            } catch (InstantiationException | IllegalAccessException ex) {
-                throw new MapperConfigurationException(String.format(
-                        "Failed to instantiate %s class.",
-                        ofClass.getName()), ex);
-            }
+            return createConstructorInvoker(ofClass, String.format(
+                    "Failed to instantiate %s class.", ofClass.getName()));
         }
 
         if (Modifier.isProtected(defaultConstructor.getModifiers())) {
@@ -58,15 +91,8 @@ final class FakeObjectBuilder {
                         ofClass.getName()));
             }
 
-            Class proxyClass = createProxyClass(ofClass);
-
-            try {
-                return (T) proxyClass.newInstance();
-            } catch (InstantiationException | IllegalAccessException ex) {
-                throw new MapperConfigurationException(String.format(
-                        "Failed to instantiate proxy object for %s class.",
-                        ofClass.getName()), ex);
-            }
+            return createConstructorInvoker(createProxyClass(ofClass), String.format(
+                    "Failed to instantiate proxy object for %s class.", ofClass.getName()));
         }
 
         // default constructor is private
@@ -75,7 +101,31 @@ final class FakeObjectBuilder {
                 + "private class.", ofClass.toString()));
     }
 
-    private Constructor getDefaultConstructor(final Class ofClass) {
+    /**
+     * Returns factory invoking public default constructor by method handle, so reflective access
+     * checks are executed only once.
+     */
+    private static Supplier<Object> createConstructorInvoker(
+            final Class<?> ofClass, final String errorMessage) {
+        MethodHandle constructor;
+
+        try {
+            constructor = MethodHandles.publicLookup().findConstructor(
+                    ofClass, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new MapperConfigurationException(errorMessage, ex);
+        }
+
+        return () -> {
+            try {
+                return constructor.invoke();
+            } catch (Throwable ex) {
+                throw new MapperConfigurationException(errorMessage, ex);
+            }
+        };
+    }
+
+    private static Constructor getDefaultConstructor(final Class ofClass) {
         Optional<Constructor> defaultConstructor
                 = Arrays.stream(ofClass.getDeclaredConstructors())
                 .filter(n -> n.getParameterTypes().length == 0)
@@ -85,33 +135,43 @@ final class FakeObjectBuilder {
                 ? defaultConstructor.get() : null);
     }
 
-    private <T> Class createProxyClass(final Class<T> superClass) {
-        try {
-            _classPool.insertClassPath(new ClassClassPath(superClass));
+    private static <T> Class createProxyClass(final Class<T> superClass) {
+        ClassLoader classLoader = superClass.getClassLoader();
+
+        if (classLoader == null) {
+            throw new MapperConfigurationException(String.format(
+                    "Failed to create proxy class for %s loaded by bootstrap class loader.",
+                    superClass.getName()));
+        }
 
-            String proxyClassName = superClass.getName() + "_MapperProxy";
-            Class proxyClass;
+        String proxyClassName = superClass.getName() + PROXY_CLASS_NAME_SUFFIX;
+        ClassPool classPool = ClassPools.get(classLoader);
 
-            try {
-                proxyClass = Class.forName(proxyClassName);
-            } catch (ClassNotFoundException | NoClassDefFoundError ex) {
-                CtClass superCtClass = _classPool.get(superClass.getName());
-                CtClass proxyCtClass = _classPool.makeClass(proxyClassName);
-                proxyCtClass.setSuperclass(superCtClass);
-
-                proxyClass = proxyCtClass.toClass(
-                        superClass.getClassLoader(),
-                        superClass.getProtectionDomain());
-
-                superCtClass.detach();
-                proxyCtClass.detach();
+        try {
+            synchronized (classPool) {
+                CtClass superCtClass = classPool.get(superClass.getName());
+                CtClass proxyCtClass = classPool.makeClass(proxyClassName);
+
+                try {
+                    proxyCtClass.setSuperclass(superCtClass);
+                    proxyCtClass.addConstructor(CtNewConstructor.defaultConstructor(proxyCtClass));
+
+                    return ClassPools.toClass(proxyCtClass, superClass);
+                } finally {
+                    superCtClass.detach();
+                    proxyCtClass.detach();
+                }
             }
-
-            return proxyClass;
         } catch (NotFoundException | CannotCompileException ex) {
-            throw new MapperConfigurationException(String.format(
-                    "Failed to create proxy class for %s",
-                    superClass.getName()), ex);
+            // proxy class may be already defined in the same class loader by other copy of this
+            // library (cache is per library class loader)
+            try {
+                return Class.forName(proxyClassName, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError loadException) {
+                throw new MapperConfigurationException(String.format(
+                        "Failed to create proxy class for %s",
+                        superClass.getName()), ex);
+            }
         }
     }
 }
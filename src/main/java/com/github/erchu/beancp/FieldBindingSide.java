@@ -18,6 +18,9 @@
 package com.github.erchu.beancp;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Binding to field.
@@ -26,19 +29,42 @@ public final class FieldBindingSide implements BindingSide {
 
     private final Field _field;
 
+    private final Function<Object, Object> _generatedGetter;
+
+    private final BiConsumer<Object, Object> _generatedSetter;
+
     /**
      * Creates binding to field from field reference.
      *
      * @param field field reference used to create binding.
      */
     public FieldBindingSide(final Field field) {
+        this(field, false);
+    }
+
+    /**
+     * Creates binding to field from field reference. If {@code useGeneratedAccessors} is
+     * {@code true} then field is read and written by classes generated at runtime instead of
+     * reflection. Reflection is still used when accessor class cannot be generated (for example
+     * when field or class is not public).
+     *
+     * @param field field reference used to create binding.
+     * @param useGeneratedAccessors {@code true} if generated accessors should be used.
+     */
+    public FieldBindingSide(final Field field, final boolean useGeneratedAccessors) {
         this._field = field;
+        this._generatedGetter = useGeneratedAccessors ? AccessorBuilder.getGetter(field) : null;
+        this._generatedSetter = useGeneratedAccessors ? AccessorBuilder.getSetter(field) : null;
     }
 
     @Override
     @SuppressWarnings({ "TooBroadCatch", "UseSpecificCatch" })
     public Object getValue(final Object object) {
         try {
+            if (_generatedGetter != null) {
+                return _generatedGetter.apply(object);
+            }
+
             return _field.get(object);
         } catch (Exception ex) {
             throw new MappingException(String.format("Failed to get value from %s", _field), ex);
@@ -49,7 +75,11 @@ public final class FieldBindingSide implements BindingSide {
     @SuppressWarnings({ "TooBroadCatch", "UseSpecificCatch" })
     public void setValue(final Object object, final Object value) {
         try {
-            _field.set(object, value);
+            if (_generatedSetter != null) {
+                _generatedSetter.accept(object, value);
+            } else {
+                _field.set(object, value);
+            }
         } catch (Exception ex) {
             throw new MappingException(String.format("Failed to get value from %s", _field), ex);
         }
@@ -65,6 +95,11 @@ public final class FieldBindingSide implements BindingSide {
         return _field.getType();
     }
 
+    @Override
+    public Type getValueType() {
+        return _field.getGenericType();
+    }
+
     @Override
     public String getName() {
         return _field.getName();
@@ -80,6 +115,10 @@ public final class FieldBindingSide implements BindingSide {
         return true;
     }
 
+    Field getField() {
+        return _field;
+    }
+
     @Override
     public int hashCode() {
         return _field.hashCode();
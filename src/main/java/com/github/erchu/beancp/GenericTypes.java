@@ -0,0 +1,127 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves generic type arguments of supertypes using {@code java.lang.reflect} only.
+ */
+final class GenericTypes {
+
+    private GenericTypes() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        GenericTypes.class));
+    }
+
+    /**
+     * Returns class of type argument of {@code ofClass} (ex. element class of collection) or null
+     * if type is not subtype of {@code ofClass} or type argument class is not known (ex. raw type,
+     * type variable or wildcard is used).
+     *
+     * @param type type which is subtype of {@code ofClass}.
+     * @param ofClass generic class or interface.
+     * @param typeArgumentIndex index of type parameter of {@code ofClass}.
+     * @return class of type argument or null.
+     */
+    static Class getTypeArgumentClass(
+            final Type type, final Class ofClass, final int typeArgumentIndex) {
+        Map<TypeVariable<?>, Type> typeVariables = new HashMap<>();
+        Type supertype = findSupertype(type, ofClass, typeVariables);
+
+        if (supertype instanceof ParameterizedType == false) {
+            return null;
+        }
+
+        Type typeArgument
+                = ((ParameterizedType) supertype).getActualTypeArguments()[typeArgumentIndex];
+
+        // type variables are bound by subtypes, so there are no cycles
+        while (typeArgument instanceof TypeVariable && typeVariables.containsKey(typeArgument)) {
+            typeArgument = typeVariables.get(typeArgument);
+        }
+
+        if (typeArgument instanceof Class) {
+            return (Class) typeArgument;
+        } else if (typeArgument instanceof ParameterizedType) {
+            return (Class) ((ParameterizedType) typeArgument).getRawType();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns {@code ofClass} supertype as declared in type hierarchy of passed type or null if
+     * type is not subtype of {@code ofClass}. Type variables bound on the way are added to
+     * {@code typeVariables} map.
+     */
+    private static Type findSupertype(final Type type, final Class ofClass,
+            final Map<TypeVariable<?>, Type> typeVariables) {
+        Class<?> rawClass;
+
+        if (type instanceof Class) {
+            rawClass = (Class) type;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            rawClass = (Class) parameterizedType.getRawType();
+
+            TypeVariable<?>[] typeParameters = rawClass.getTypeParameters();
+            Type[] typeArguments = parameterizedType.getActualTypeArguments();
+
+            for (int i = 0; i < typeParameters.length; i++) {
+                typeVariables.put(typeParameters[i], typeArguments[i]);
+            }
+        } else {
+            return null;
+        }
+
+        if (rawClass.equals(ofClass)) {
+            return type;
+        }
+
+        if (ofClass.isAssignableFrom(rawClass) == false) {
+            return null;
+        }
+
+        Type genericSuperclass = rawClass.getGenericSuperclass();
+
+        if (genericSuperclass != null) {
+            Type result = findSupertype(genericSuperclass, ofClass, typeVariables);
+
+            if (result != null) {
+                return result;
+            }
+        }
+
+        for (Type i : rawClass.getGenericInterfaces()) {
+            Type result = findSupertype(i, ofClass, typeVariables);
+
+            if (result != null) {
+                return result;
+            }
+        }
+
+        return null;
+    }
+}
@@ -22,8 +22,18 @@ import static org.apache.commons.lang3.Validate.notNull;
 
 class MapConventionExecutor {
 
+    /**
+     * Maximum number of class pairs for which bindings are cached when
+     * {@link #build(com.github.erchu.beancp.MappingInfo, java.lang.Class, java.lang.Class)} is not
+     * executed.
+     */
+    static final int BINDINGS_CACHE_MAX_SIZE = 1024;
+
     private final MapConvention _convention;
 
+    private final BoundedConcurrentCache<ClassPair, List<Binding>> _bindingsCache
+            = new BoundedConcurrentCache<>(BINDINGS_CACHE_MAX_SIZE);
+
     private List<Binding> _bindings = null;
 
     public MapConventionExecutor(final MapConvention convention) {
@@ -61,10 +71,12 @@ class MapConventionExecutor {
      * </ol>
      *
      * <p>
-     * Implementation must be thread-safe in both of those scenarios. Implementation cannot produce
-     * state that is shared state between calls, but may use data produced by
+     * Implementation must be thread-safe in both of those scenarios. Implementation may use data
+     * produced by
      * {@link #build(com.github.erchu.beancp.MappingInfo, java.lang.Class, java.lang.Class)} method.
-     * Acquiring locks is not permitted.
+     * If build method is not executed and mapper is passed then bindings are cached per source and
+     * destination class pair (see {@link #BINDINGS_CACHE_MAX_SIZE}). Acquiring locks is not
+     * permitted.
      * </p>
      *
      * <p>
@@ -101,10 +113,12 @@ class MapConventionExecutor {
      * </ol>
      *
      * <p>
-     * Implementation must be thread-safe in both of those scenarios. Implementation cannot produce
-     * state that is shared state between calls, but may use data produced by
+     * Implementation must be thread-safe in both of those scenarios. Implementation may use data
+     * produced by
      * {@link #build(com.github.erchu.beancp.MappingInfo, java.lang.Class, java.lang.Class)} method.
-     * Acquiring locks is not permitted.
+     * If build method is not executed and mapper is passed then bindings are cached per source and
+     * destination class pair (see {@link #BINDINGS_CACHE_MAX_SIZE}). Acquiring locks is not
+     * permitted.
      * </p>
      *
      * <p>
@@ -160,20 +174,56 @@ class MapConventionExecutor {
         return (bindingsToExecute.isEmpty() == false);
     }
 
-    private List<Binding> getBindingsToExecute(
+    /**
+     * Returns bindings which will be executed for source and destination class pair. Bindings are
+     * cached the same way as by {@link #tryMap(com.github.erchu.beancp.Mapper, java.lang.Object,
+     * java.lang.Object)} method.
+     */
+    List<Binding> getBindingsToExecute(
             final MappingInfo mappingsInfo, final Class sourceClass, final Class destinationClass) {
         // According to API specification build() method but never concurrently or after first of
         // this method, so we can safely get bindings field value without acquiring any locks or
         // defining fields as volatile.
-        List<Binding> bindingsToExecute = (_bindings != null)
+        if (_bindings != null) {
+            return _bindings;
+        }
+
+        // According to API specification it is build() method may be not executed before this
+        // method call (map any convention). In this situation we generate bindings on the fly and
+        // cache them. Only bindings generated for mapper are cached, because mapper configuration
+        // cannot change, while MapperBuilder may still get new converters or maps.
+        if (mappingsInfo instanceof Mapper) {
+            return _bindingsCache.get(new ClassPair(sourceClass, destinationClass),
+                    key -> getBindings(mappingsInfo, sourceClass, destinationClass));
+        } else {
+            return getBindings(mappingsInfo, sourceClass, destinationClass);
+        }
+    }
+
+    /**
+     * Returns bindings for source and destination class pair without caching them, so bindings
+     * depending on availability answers which are not final yet are not visible to other threads.
+     * Such bindings may be cached later by
+     * {@link #cacheBindings(java.lang.Class, java.lang.Class, java.util.List)} method.
+     */
+    List<Binding> getBindingsWithoutCaching(
+            final MappingInfo mappingsInfo, final Class sourceClass, final Class destinationClass) {
+        return (_bindings != null)
                 ? _bindings
-                // According to API specification it is build() method may be not executed before
-                // this method call. In this situation we generate bindings on the fly. Moreover API
-                // prohibits produce state that is shared state between calls, so next call will
-                // generate bindings once again.
                 : getBindings(mappingsInfo, sourceClass, destinationClass);
+    }
 
-        return bindingsToExecute;
+    /**
+     * Caches bindings generated for mapper for source and destination class pair, unless bindings
+     * are already cached.
+     *
+     * @param sourceClass source object class.
+     * @param destinationClass destination object class.
+     * @param bindings bindings generated for mapper.
+     */
+    void cacheBindings(
+            final Class sourceClass, final Class destinationClass, final List<Binding> bindings) {
+        _bindingsCache.get(new ClassPair(sourceClass, destinationClass), key -> bindings);
     }
 
     private void executeBindings(final List<Binding> bindingsToExecute, final Mapper mapper,
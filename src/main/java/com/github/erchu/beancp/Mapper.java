@@ -17,7 +17,15 @@
  */
 package com.github.erchu.beancp;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import static org.apache.commons.lang3.Validate.notNull;
 
 /**
  * Object to object mapper. Implementation must be thread-safe.
@@ -51,7 +59,9 @@ public interface Mapper extends MappingInfo {
      * </p>
      *
      * <p>
-     * Circular references will result in stack overflow.
+     * Circular references will result in stack overflow, unless mapper returned by
+     * {@link #preservingIdentity()} is used. Very deep object graphs may be mapped by mapper
+     * returned by {@link #usingWorkStack()}.
      * </p>
      *
      * @param <S> source object class.
@@ -88,7 +98,9 @@ public interface Mapper extends MappingInfo {
      * return true.
      *
      * <p>
-     * Circular references will result in stack overflow.
+     * Circular references will result in stack overflow, unless mapper returned by
+     * {@link #preservingIdentity()} is used. Very deep object graphs may be mapped by mapper
+     * returned by {@link #usingWorkStack()}.
      * </p>
      *
      * @param <S> source object class.
@@ -129,7 +141,9 @@ public interface Mapper extends MappingInfo {
      * </p>
      *
      * <p>
-     * Circular references will result in stack overflow.
+     * Circular references will result in stack overflow, unless mapper returned by
+     * {@link #preservingIdentity()} is used. Very deep object graphs may be mapped by mapper
+     * returned by {@link #usingWorkStack()}.
      *
      * @param <S> source object class.
      * @param <D> destination object class.
@@ -169,7 +183,9 @@ public interface Mapper extends MappingInfo {
      * </p>
      *
      * <p>
-     * Circular references will result in stack overflow.
+     * Circular references will result in stack overflow, unless mapper returned by
+     * {@link #preservingIdentity()} is used. Very deep object graphs may be mapped by mapper
+     * returned by {@link #usingWorkStack()}.
      * </p>
      *
      * @param <S> source object class.
@@ -179,4 +195,224 @@ public interface Mapper extends MappingInfo {
      * @return destination object if no mapper is available, otherwise empty optional object.
      */
     <S, D> Optional<D> mapIfMapperAvailable(S source, Class<D> destinationClass) throws MappingException;
+
+    /**
+     * Maps each element of source collection to newly created destination object the same way as
+     * {@link #map(java.lang.Object, java.lang.Class)} does. Converter or map is chosen once per
+     * distinct runtime class of source elements, so mapping large collections of objects of the
+     * same class is much faster than calling {@link #map(java.lang.Object, java.lang.Class)} for
+     * each element.
+     *
+     * <p>
+     * Null source elements are mapped to null. If no mapper is available for any element then
+     * {@link MappingException} will be thrown.
+     * </p>
+     *
+     * <p>
+     * Default implementation calls {@link #map(java.lang.Object, java.lang.Class)} for each
+     * element.
+     * </p>
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param source source objects.
+     * @param destinationClass destination object class.
+     * @return list of destination objects in the iteration order of source collection.
+     */
+    default <S, D> List<D> mapAll(Collection<? extends S> source, Class<D> destinationClass)
+            throws MappingException {
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+
+        List<D> result = new ArrayList<>(source.size());
+
+        for (S i : source) {
+            result.add(i == null ? null : map(i, destinationClass));
+        }
+
+        return result;
+    }
+
+    /**
+     * Maps elements of source list the same way as
+     * {@link #mapAll(java.util.Collection, java.lang.Class)} does, but splits the list into chunks
+     * mapped in parallel by {@link ForkJoinPool#commonPool()}.
+     *
+     * <p>
+     * Mapping of an element does not stop when other element fails. If any element fails then
+     * {@link BatchMappingException} with errors by element index will be thrown.
+     * </p>
+     *
+     * <p>
+     * Default implementation calls
+     * {@link #mapAllParallel(java.util.List, java.lang.Class, java.util.concurrent.ForkJoinPool)}
+     * method with {@link ForkJoinPool#commonPool()}.
+     * </p>
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param source source objects.
+     * @param destinationClass destination object class.
+     * @return list of destination objects in the order of source list.
+     */
+    default <S, D> List<D> mapAllParallel(List<? extends S> source, Class<D> destinationClass)
+            throws MappingException {
+        return mapAllParallel(source, destinationClass, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Maps elements of source list the same way as
+     * {@link #mapAll(java.util.Collection, java.lang.Class)} does, but splits the list into chunks
+     * mapped in parallel by specified pool.
+     *
+     * <p>
+     * Mapping of an element does not stop when other element fails. If any element fails then
+     * {@link BatchMappingException} with errors by element index will be thrown.
+     * </p>
+     *
+     * <p>
+     * Default implementation does not use pool and calls
+     * {@link #map(java.lang.Object, java.lang.Class)} for each element by current thread.
+     * </p>
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param source source objects.
+     * @param destinationClass destination object class.
+     * @param pool pool used to map elements.
+     * @return list of destination objects in the order of source list.
+     */
+    default <S, D> List<D> mapAllParallel(
+            List<? extends S> source, Class<D> destinationClass, ForkJoinPool pool)
+            throws MappingException {
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+        notNull(pool, "pool");
+
+        List<D> result = new ArrayList<>(source.size());
+        SortedMap<Integer, MappingException> failures = new TreeMap<>();
+
+        for (S i : source) {
+            D mapped = null;
+
+            try {
+                mapped = (i == null) ? null : map(i, destinationClass);
+            } catch (MappingException ex) {
+                failures.put(result.size(), ex);
+            }
+
+            result.add(mapped);
+        }
+
+        if (failures.isEmpty() == false) {
+            throw new BatchMappingException(failures, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns stream which lazily maps elements of source stream the same way as
+     * {@link #map(java.lang.Object, java.lang.Class)} does. Element is mapped when it is consumed
+     * from result stream. Converter or map is chosen once per distinct runtime class of source
+     * elements in each split of the stream.
+     *
+     * <p>
+     * Null source elements are mapped to null. Result stream keeps characteristics of source
+     * stream like size and encounter order, so it can be split for parallel processing the same
+     * way as source stream. Closing result stream closes source stream.
+     * </p>
+     *
+     * <p>
+     * Default implementation calls {@link #map(java.lang.Object, java.lang.Class)} for each
+     * element.
+     * </p>
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param source source objects.
+     * @param destinationClass destination object class.
+     * @return stream of destination objects.
+     */
+    default <S, D> Stream<D> mapStream(Stream<? extends S> source, Class<D> destinationClass)
+            throws MappingException {
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+
+        return source.map(i -> (i == null) ? null : map(i, destinationClass));
+    }
+
+    /**
+     * Returns mapping metrics if enabled by {@link MapperBuilder#enableMetrics(boolean)}.
+     * Default implementation returns empty value.
+     *
+     * @return mapping metrics or empty value if metrics are not enabled.
+     */
+    default Optional<MappingMetrics> getMetrics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns mapper which preserves identity of mapped objects. Each call of returned mapper
+     * method (top-level call) creates new mapping context, which is passed as caller mapper to all
+     * converters, maps and conventions executed by this call. When source object already mapped in
+     * the same context is mapped again to the same destination class then already mapped
+     * destination object is returned instead of mapping it again, so:
+     *
+     * <ul>
+     * <li>source objects referenced many times in object graph are mapped once, and destination
+     * objects are shared the same way as source objects,</li>
+     * <li>cyclic object graphs can be mapped, because destination object is remembered before its
+     * members are mapped.</li>
+     * </ul>
+     *
+     * <p>
+     * Mapping context must not be stored or used after top-level call completes and is not
+     * thread-safe, so elements mapped by {@link #mapAllParallel(java.util.List, java.lang.Class)}
+     * or by parallel {@link #mapStream(java.util.stream.Stream, java.lang.Class)} in context are
+     * mapped sequentially. Returned mapper is thread-safe.
+     * </p>
+     *
+     * <p>
+     * Default implementation returns this mapper, so identity is not preserved.
+     * </p>
+     *
+     * @return mapper which preserves identity of mapped objects.
+     */
+    default Mapper preservingIdentity() {
+        return this;
+    }
+
+    /**
+     * Returns mapper which maps nested objects without recursion. Each call of returned mapper
+     * method (top-level call) creates new mapping context, which is passed as caller mapper to all
+     * converters, maps and conventions executed by this call. Destination objects mapped by
+     * {@link DeclarativeMap#mapInner(java.util.function.Supplier, java.util.function.Consumer,
+     * java.lang.Class)} and by conventions to destination members (see {@link BindingWithValueMap})
+     * are constructed immediately, but their members are mapped by work scheduled on explicit work
+     * stack kept in context. The same applies to collection elements and map values mapped by
+     * conventions (see {@link BindingWithElementsMap} and {@link BindingWithEntriesMap}), unless
+     * collection or map has to be converted to destination member class, because converter may
+     * hash or compare them. Map keys are always mapped completely. So depth of mapped object graph
+     * is not limited by call stack size.
+     * Converters are executed immediately and each call of mapper method made by converter, map or
+     * convention returns completely mapped objects.
+     *
+     * <p>
+     * Because members of nested objects are mapped later, actions defined by
+     * {@link DeclarativeMap#afterMap(com.github.erchu.beancp.Action)} see nested destination
+     * objects before their members are mapped. Mapping context is not thread-safe, the same way
+     * as context created by {@link #preservingIdentity()}, and both options can be combined.
+     * Returned mapper is thread-safe.
+     * </p>
+     *
+     * <p>
+     * Default implementation returns this mapper, so nested objects are mapped recursively.
+     * </p>
+     *
+     * @return mapper which maps nested objects without recursion.
+     */
+    default Mapper usingWorkStack() {
+        return this;
+    }
 }
@@ -17,11 +17,15 @@
  */
 package com.github.erchu.beancp;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import static org.apache.commons.lang3.Validate.*;
@@ -39,6 +43,18 @@ public final class MapperBuilder implements MappingInfo {
 
     private boolean _mapperBuilded = false;
 
+    private MappingMetricsImpl _metrics = null;
+
+    private Consumer<Duration> _warmUpCompletionListener = null;
+
+    private Executor _warmUpExecutor = null;
+
+    /**
+     * Not null only while availability of converters and maps is resolved, see
+     * {@link AvailabilitySession}.
+     */
+    private AvailabilitySession _availabilitySession = null;
+
     /**
      * Adds new mapping defined by map. Both {@code source} and {@code destination} classes must:
      * <ul>
@@ -63,7 +79,13 @@ public final class MapperBuilder implements MappingInfo {
         validateAddMappingAction(sourceClass, destinationClass);
 
         DeclarativeMapImpl map = new DeclarativeMapImpl(sourceClass, destinationClass, mapConfiguration);
-        map.configure(this);
+
+        // all availability checks done by map conventions share answers
+        inAvailabilitySession(session -> {
+            map.configure(this);
+
+            return map;
+        });
 
         _maps.add(map);
 
@@ -154,6 +176,80 @@ public final class MapperBuilder implements MappingInfo {
         return this;
     }
 
+    /**
+     * Enables collection of mapping metrics by source and destination class pair, which are
+     * available by {@link Mapper#getMetrics()}. Metrics use striped counters, but still add some
+     * overhead to each mapping, especially when latency is measured. When metrics are not enabled
+     * mapper does not collect any data.
+     *
+     * @param measureLatency if true then mapping execution time is measured as well.
+     *
+     * @return this (for method chaining)
+     */
+    public MapperBuilder enableMetrics(final boolean measureLatency)
+            throws MapperConfigurationException {
+        validateNotBuilded();
+
+        this._metrics = new MappingMetricsImpl(measureLatency);
+
+        return this;
+    }
+
+    /**
+     * Enables warm-up executed by {@link #buildMapper()} before mapper is returned. Warm-up
+     * selects converter, map or map any convention for each class pair of maps and converters
+     * added to this builder and for each class pair reachable from them through bindings generated
+     * by conventions (inner members, collection elements, map keys and values), so mapper caches,
+     * convention bindings and generated code are ready before the first mapping. Inner mappings
+     * defined by {@code mapInner} are warmed up only if its source and destination class pair is
+     * added to this builder, because source class is not known until map is executed.
+     *
+     * <p>
+     * If any convention fails during warm-up then exception is thrown by
+     * {@link #buildMapper()}.
+     * </p>
+     *
+     * @param completionListener receives warm-up duration when warm-up is completed.
+     *
+     * @return this (for method chaining)
+     */
+    public MapperBuilder enableWarmUp(final Consumer<Duration> completionListener)
+            throws MapperConfigurationException {
+        notNull(completionListener, "completionListener");
+        validateNotBuilded();
+
+        this._warmUpCompletionListener = completionListener;
+        this._warmUpExecutor = null;
+
+        return this;
+    }
+
+    /**
+     * Enables warm-up the same way as {@link #enableWarmUp(java.util.function.Consumer)} does, but
+     * warm-up is executed by passed executor (for example on a background thread), so
+     * {@link #buildMapper()} returns mapper immediately. Mapper may be used while warm-up is in
+     * progress. If any convention fails during warm-up then exception is thrown to executor and
+     * completion listener is not called.
+     *
+     * @param executor executor which will run warm-up.
+     * @param completionListener receives warm-up duration when warm-up is completed, must be
+     * thread-safe.
+     *
+     * @return this (for method chaining)
+     */
+    public MapperBuilder enableWarmUp(
+            final Executor executor, final Consumer<Duration> completionListener)
+            throws MapperConfigurationException {
+        notNull(executor, "executor");
+        notNull(completionListener, "completionListener");
+        validateNotBuilded();
+
+        this._warmUpCompletionListener = completionListener;
+        this._warmUpExecutor = executor;
+
+        return this;
+    }
+
     /**
      * Creates map implementation from definitions. After executed no other methods can be executed
      * on this instance.
@@ -163,7 +259,13 @@ public final class MapperBuilder implements MappingInfo {
     public Mapper buildMapper() {
         this._mapperBuilded = true;
 
-        return new MapperImpl(_converters, _maps, _mapAnyConventions);
+        MapperImpl mapper = new MapperImpl(_converters, _maps, _mapAnyConventions, _metrics);
+
+        if (_warmUpCompletionListener != null) {
+            warmUp(mapper);
+        }
+
+        return mapper;
     }
 
     @Override
@@ -171,12 +273,16 @@ public final class MapperBuilder implements MappingInfo {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        return MapperExecutorSelector.isMapAvailable(
-                this,
+        return inAvailabilitySession(session -> session.isMapAvailable(
                 sourceClass,
                 destinationClass,
-                Collections.unmodifiableCollection(_maps),
-                Collections.unmodifiableCollection(_mapAnyConventions));
+                (sessionSourceClass, sessionDestinationClass)
+                -> MapperExecutorSelector.isMapAvailable(
+                        this,
+                        sessionSourceClass,
+                        sessionDestinationClass,
+                        Collections.unmodifiableCollection(_maps),
+                        Collections.unmodifiableCollection(_mapAnyConventions))));
     }
 
     @Override
@@ -184,11 +290,55 @@ public final class MapperBuilder implements MappingInfo {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        return MapperExecutorSelector.isConverterAvailable(
-                this,
+        return inAvailabilitySession(session -> session.isConverterAvailable(
                 sourceClass,
                 destinationClass,
-                Collections.unmodifiableCollection(_converters));
+                (sessionSourceClass, sessionDestinationClass)
+                -> MapperExecutorSelector.isConverterAvailable(
+                        this,
+                        sessionSourceClass,
+                        sessionDestinationClass,
+                        Collections.unmodifiableCollection(_converters))));
+    }
+
+    /**
+     * Executes action in availability session. Session is created by the outermost call and
+     * shared by nested calls, so availability answers are memoized until the outermost action
+     * completes. Configuration cannot change during session.
+     */
+    private <T> T inAvailabilitySession(final Function<AvailabilitySession, T> action) {
+        if (_availabilitySession != null) {
+            return action.apply(_availabilitySession);
+        }
+
+        _availabilitySession = new AvailabilitySession();
+
+        try {
+            return action.apply(_availabilitySession);
+        } finally {
+            _availabilitySession = null;
+        }
+    }
+
+    private void warmUp(final MapperImpl mapper) {
+        List<MappingExecutor<?, ?>> executors = new ArrayList<>(_converters.size() + _maps.size());
+        executors.addAll(_converters);
+        executors.addAll(_maps);
+
+        Consumer<Duration> completionListener = _warmUpCompletionListener;
+
+        if (_warmUpExecutor == null) {
+            completionListener.accept(MapperWarmUp.warmUp(mapper, executors));
+        } else {
+            _warmUpExecutor.execute(
+                    () -> completionListener.accept(MapperWarmUp.warmUp(mapper, executors)));
+        }
+    }
+
+    private void validateNotBuilded() {
+        if (this._mapperBuilded) {
+            throw new MapperConfigurationException("Mapper already builded. No changes allowed.");
+        }
     }
 
     private <S, D> void validateAddMappingAction(final Class<S> sourceClass,
@@ -196,9 +346,7 @@ public final class MapperBuilder implements MappingInfo {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        if (this._mapperBuilded) {
-            throw new MapperConfigurationException("Mapper already builded. No changes allowed.");
-        }
+        validateNotBuilded();
 
         for (DeclarativeMapImpl<?, ?> i : _maps) {
             if (i.getSourceClass().equals(sourceClass)
@@ -103,6 +103,26 @@ class MapperExecutorSelector {
                 && canBeMapped(destinationClass, i.getDestinationClass()))
                 .collect(Collectors.toList());
 
+        return selectBestMatchingMappingExecutor(
+                sourceClass, destinationClass, validMappers, matchMode);
+    }
+
+    /**
+     * Chooses best matching executor from executors valid for source and destination classes.
+     *
+     * @param <T> executor type.
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param validMappers executors valid for source and destination classes in the order they
+     * were added to {@link MapperBuilder}.
+     * @param matchMode match mode.
+     * @return best matching executor or null if {@code validMappers} is empty.
+     */
+    static <T extends MappingExecutor<?, ?>> T selectBestMatchingMappingExecutor(
+            final Class sourceClass,
+            final Class destinationClass,
+            final List<T> validMappers,
+            final MapperExecutorMatchMode matchMode) {
         if (validMappers.isEmpty()) {
             return null;
         }
@@ -150,7 +170,7 @@ class MapperExecutorSelector {
         return (findFirst.isPresent() ? findFirst.get() : null);
     }
 
-    private static boolean canBeMapped(final Class objectClass, final Class supportedClass) {
+    static boolean canBeMapped(final Class objectClass, final Class supportedClass) {
         return classEqualsOrWrapper(objectClass, supportedClass)
                 || supportedClass.isAssignableFrom(objectClass);
     }
@@ -17,30 +17,72 @@
  */
 package com.github.erchu.beancp;
 
-import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import com.github.erchu.beancp.MapperExecutorSelector.MapperExecutorMatchMode;
 import org.apache.commons.lang3.ClassUtils;
 import static org.apache.commons.lang3.Validate.*;
 
 class MapperImpl implements Mapper {
 
-    private final Collection<DeclarativeMapImpl<?, ?>> _maps;
+    private static final int MIN_PARALLEL_CHUNK_SIZE = 16;
 
-    private final Collection<Converter<?, ?>> _converters;
+    private static final int CHUNKS_PER_WORKER = 4;
 
     private final List<MapConventionExecutor> _mapAnyConventions;
 
+    private final MappingExecutorIndex<Converter<?, ?>> _convertersIndex;
+
+    private final MappingExecutorIndex<DeclarativeMapImpl<?, ?>> _mapsIndex;
+
+    private final ClassPairCache<Converter<?, ?>> _convertersCache;
+
+    /**
+     * Caches {@link DeclarativeMapImpl} or (if no map is available) {@link MapConventionExecutor}
+     * resolved for class pair.
+     */
+    private final ClassPairCache<Object> _mapExecutorsCache;
+
+    /**
+     * Availability session of map any conventions resolution executed by current thread or null if
+     * there is no such resolution. Conventions ask if member types can be mapped, so on cyclic
+     * class graphs resolution would never end without session (see
+     * {@link #isMapAvailable(java.lang.Class, java.lang.Class)}). Answers given in session may be
+     * derived from provisional answers, so they are published to {@link #_mapExecutorsCache} (and
+     * bindings are cached by conventions) only when the outermost resolution completes.
+     */
+    private final ThreadLocal<AvailabilitySession> _availabilitySession = new ThreadLocal<>();
+
+    /**
+     * Null if metrics are disabled.
+     */
+    private final MappingMetricsImpl _metrics;
+
     MapperImpl(
             final Collection<Converter<?, ?>> converters,
             final List<DeclarativeMapImpl<?, ?>> maps,
-            final List<MapConventionExecutor> mapAnyConvention) {
-        this._converters = Collections.unmodifiableCollection(converters);
-        this._maps = Collections.unmodifiableCollection(maps);
+            final List<MapConventionExecutor> mapAnyConvention,
+            final MappingMetricsImpl metrics) {
         this._mapAnyConventions = mapAnyConvention;
+        this._convertersIndex = new MappingExecutorIndex<>(
+                converters, MapperExecutorMatchMode.STRICT_DESTINATION);
+        this._mapsIndex = new MappingExecutorIndex<>(maps, MapperExecutorMatchMode.ANY);
+        this._convertersCache = new ClassPairCache<>(this::resolveConverter);
+        this._mapExecutorsCache = new ClassPairCache<>(this::resolveMapExecutor);
+        this._metrics = metrics;
     }
 
     @Override
@@ -55,14 +97,35 @@ class MapperImpl implements Mapper {
     @Override
     public <S, D> boolean mapIfMapperAvailable(
             final S source, final D destination) throws MappingException {
+        return mapIfMapperAvailable(source, destination, null, false);
+    }
+
+    /**
+     * The same as {@link #mapIfMapperAvailable(java.lang.Object, java.lang.Object)}, but nested
+     * mappings are executed by context passed as caller.
+     *
+     * @param context mapping context or null if mapping is not executed in context.
+     * @param scheduleMapping if true then mapping is executed by work scheduled in context.
+     */
+    <S, D> boolean mapIfMapperAvailable(final S source, final D destination,
+            final MappingContext context, final boolean scheduleMapping) {
         notNull(source, "source");
         notNull(destination, "destination");
 
-        DeclarativeMapImpl<S, D> map = (DeclarativeMapImpl<S, D>) MapperExecutorSelector.getBestMatchingDeclarativeMap(
-                source.getClass(), destination.getClass(),
-                _maps);
+        Object mapExecutor = _mapExecutorsCache.get(source.getClass(), destination.getClass());
 
-        return mapIfMapperAvailable(map, source, destination);
+        if (context != null && mapExecutor != null) {
+            context.registerMappedObject(source, destination.getClass(), destination);
+        }
+
+        if (scheduleMapping && mapExecutor != null) {
+            context.scheduleWork(
+                    () -> mapIfMapperAvailable(mapExecutor, source, destination, context));
+
+            return true;
+        }
+
+        return mapIfMapperAvailable(mapExecutor, source, destination, context);
     }
 
     @Override
@@ -82,38 +145,210 @@ class MapperImpl implements Mapper {
     }
 
     @Override
-    @SuppressWarnings("TooBroadCatch")
     public <S, D> Optional<D> mapIfMapperAvailable(
             final S source, final Class<D> destinationClass) throws MappingException {
+        return mapIfMapperAvailable(source, destinationClass, null, false);
+    }
+
+    /**
+     * The same as {@link #mapIfMapperAvailable(java.lang.Object, java.lang.Class)}, but nested
+     * mappings are executed by context passed as caller.
+     *
+     * @param context mapping context or null if mapping is not executed in context.
+     * @param scheduleMembers if true then destination object is constructed (or converted)
+     * immediately, but its members are mapped by work scheduled in context.
+     */
+    <S, D> Optional<D> mapIfMapperAvailable(final S source, final Class<D> destinationClass,
+            final MappingContext context, final boolean scheduleMembers)
+            throws MappingException {
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+
+        Class sourceClass = source.getClass();
+        Object executor = resolveExecutor(sourceClass, destinationClass);
+
+        if (executor == null) {
+            if (_metrics != null) {
+                _metrics.recordMiss(sourceClass, destinationClass);
+            }
+
+            return Optional.empty();
+        }
+
+        return Optional.of(
+                mapUsingExecutor(executor, source, destinationClass, context, scheduleMembers));
+    }
+
+    @Override
+    public <S, D> List<D> mapAll(
+            final Collection<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        return mapAll(source, destinationClass, null, false);
+    }
+
+    /**
+     * The same as {@link #mapAll(java.util.Collection, java.lang.Class)}, but elements are mapped
+     * in context.
+     *
+     * @param context mapping context or null if mapping is not executed in context.
+     * @param scheduleMembers if true then destination objects are constructed (or converted)
+     * immediately, but their members are mapped by work scheduled in context.
+     */
+    <S, D> List<D> mapAll(final Collection<? extends S> source, final Class<D> destinationClass,
+            final MappingContext context, final boolean scheduleMembers) throws MappingException {
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+
+        List<D> result = new ArrayList<>(source.size());
+        BatchElementMapper<D> elementMapper
+                = new BatchElementMapper<>(destinationClass, context, scheduleMembers);
+
+        for (S i : source) {
+            result.add(elementMapper.map(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public <S, D> List<D> mapAllParallel(
+            final List<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        return mapAllParallel(source, destinationClass, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public <S, D> List<D> mapAllParallel(
+            final List<? extends S> source, final Class<D> destinationClass,
+            final ForkJoinPool pool) throws MappingException {
+        notNull(pool, "pool");
+
+        return mapAllCollectingFailures(source, destinationClass, pool, null);
+    }
+
+    /**
+     * Maps elements of source list the same way as
+     * {@link #mapAllParallel(java.util.List, java.lang.Class)} does, but in context. Context is
+     * not thread-safe, so elements are mapped by current thread.
+     *
+     * @param context mapping context.
+     */
+    <S, D> List<D> mapAllParallel(final List<? extends S> source,
+            final Class<D> destinationClass, final MappingContext context) {
+        notNull(context, "context");
+
+        return mapAllCollectingFailures(source, destinationClass, null, context);
+    }
+
+    /**
+     * Maps elements of source list. When pool is null then all elements are mapped by current
+     * thread. Mapping of an element does not stop when other element fails.
+     */
+    private <S, D> List<D> mapAllCollectingFailures(final List<? extends S> source,
+            final Class<D> destinationClass, final ForkJoinPool pool,
+            final MappingContext context) throws MappingException {
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+
+        List<? extends S> randomAccessSource = (source instanceof RandomAccess)
+                ? source : new ArrayList<>(source);
+        List<D> result = new ArrayList<>(Collections.nCopies(randomAccessSource.size(), null));
+        SortedMap<Integer, MappingException> failures;
+
+        if (pool == null) {
+            // single chunk is not split, so it is mapped by current thread
+            failures = new ParallelMappingTask<>(randomAccessSource, result, destinationClass,
+                    0, randomAccessSource.size(), randomAccessSource.size(), context).invoke();
+        } else {
+            // a few chunks per worker lets idle workers steal from busy ones
+            int chunkSize = Math.max(MIN_PARALLEL_CHUNK_SIZE,
+                    randomAccessSource.size() / (pool.getParallelism() * CHUNKS_PER_WORKER));
+
+            failures = pool.invoke(new ParallelMappingTask<>(
+                    randomAccessSource, result, destinationClass, 0, randomAccessSource.size(),
+                    chunkSize, context));
+        }
+
+        if (failures.isEmpty() == false) {
+            throw new BatchMappingException(failures, result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public <S, D> Stream<D> mapStream(
+            final Stream<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        return mapStream(source, destinationClass, null);
+    }
+
+    /**
+     * The same as {@link #mapStream(java.util.stream.Stream, java.lang.Class)}, but elements are
+     * mapped in context. Context is not thread-safe, so returned stream is sequential when
+     * context is passed.
+     *
+     * @param context mapping context or null if mapping is not executed in context.
+     */
+    <S, D> Stream<D> mapStream(final Stream<? extends S> source,
+            final Class<D> destinationClass, final MappingContext context) {
         notNull(source, "source");
         notNull(destinationClass, "destinationClass");
 
+        return StreamSupport.stream(
+                new MappingSpliterator<>(source.spliterator(), destinationClass, context),
+                context == null && source.isParallel())
+                .onClose(source::close);
+    }
+
+    /**
+     * Returns converter or (if no converter is available) {@link DeclarativeMapImpl} or
+     * {@link MapConventionExecutor} for class pair, or null if class pair cannot be mapped.
+     */
+    Object resolveExecutor(final Class sourceClass, final Class destinationClass) {
+        Converter<?, ?> converter = _convertersCache.get(sourceClass, destinationClass);
+
+        if (converter != null) {
+            return converter;
+        }
+
+        return _mapExecutorsCache.get(sourceClass, destinationClass);
+    }
+
+    /**
+     * Returns context passed as caller to converters and maps, or this mapper if mapping is not
+     * executed in context.
+     */
+    private Mapper getCaller(final MappingContext context) {
+        return (context != null) ? context : this;
+    }
+
+    @SuppressWarnings("TooBroadCatch")
+    private <S, D> D mapUsingExecutor(final Object executor, final S source,
+            final Class<D> destinationClass, final MappingContext context,
+            final boolean scheduleMembers) throws MappingException {
         Class sourceClass = source.getClass();
 
         try {
-            Converter<S, D> converter
-                    = (Converter<S, D>) MapperExecutorSelector.getBestMatchingConverter(
-                            sourceClass, destinationClass, _converters);
-
-            if (converter != null) {
-                if (sourceClass.isArray() && sourceClass.getComponentType().isPrimitive()) {
-                    Object[] sourceWrapper = getArrayOfPrimitiveTypeWrapper(sourceClass, source);
-
-                    return Optional.of(
-                            ((Converter<Object, D>) converter).convert(this, sourceWrapper));
-                } else {
-                    return Optional.of(converter.convert(this, source));
+            if (executor instanceof Converter) {
+                D result = convert((Converter<S, D>) executor, source, destinationClass, context);
+
+                if (context != null && result != null) {
+                    context.registerMappedObject(source, destinationClass, result);
                 }
-            }
 
-            DeclarativeMapImpl<S, D> map = (DeclarativeMapImpl<S, D>) MapperExecutorSelector.getBestMatchingDeclarativeMap(
-                    sourceClass, destinationClass, _maps);
+                return result;
+            }
 
             D destination = null;
 
-            if (map != null && map.getDestinationObjectBuilder() != null) {
-                destination = constructObjectUsingDestinationObjectBuilder(
-                        map.getDestinationObjectBuilder(), destinationClass);
+            if (executor instanceof DeclarativeMapImpl) {
+                DeclarativeMapImpl<S, D> map = (DeclarativeMapImpl<S, D>) executor;
+
+                if (map.getDestinationObjectBuilder() != null) {
+                    destination = constructObjectUsingDestinationObjectBuilder(
+                            map.getDestinationObjectBuilder(), destinationClass);
+                }
             }
 
             // if DeclarativeMapImpl is not available or has no specific destination object builder
@@ -121,30 +356,92 @@ class MapperImpl implements Mapper {
                 destination = constructObjectUsingDefaultConstructor(destinationClass);
             }
 
-            if (mapIfMapperAvailable(source, destination)) {
-                return Optional.of(destination);
-            } else {
-                return Optional.empty();
+            // registered before members are mapped, so references back to source are resolved to
+            // this destination
+            if (context != null) {
+                context.registerMappedObject(source, destinationClass, destination);
+            }
+
+            // destination object may be of a subclass which has its own map
+            Object destinationExecutor = (destination.getClass() == destinationClass)
+                    ? executor
+                    : _mapExecutorsCache.get(sourceClass, destination.getClass());
+
+            if (scheduleMembers) {
+                D scheduledDestination = destination;
+
+                context.scheduleWork(() -> {
+                    try {
+                        mapMembers(destinationExecutor, source, scheduledDestination, context);
+                    } catch (Exception ex) {
+                        throw mappingFailed(sourceClass, destinationClass, ex);
+                    }
+                });
+
+                return destination;
             }
+
+            mapMembers(destinationExecutor, source, destination, context);
+
+            return destination;
         } catch (Exception ex) {
+            throw mappingFailed(sourceClass, destinationClass, ex);
+        }
+    }
+
+    private <S, D> void mapMembers(final Object mapExecutor, final S source,
+            final D destination, final MappingContext context) {
+        if (mapIfMapperAvailable(mapExecutor, source, destination, context) == false) {
             throw new MappingException(
-                    String.format(
-                            "Failed to map from %s to %s",
-                            sourceClass, destinationClass),
-                    ex);
+                    String.format("No suitable mapping found from %s to %s.",
+                            source.getClass(), destination.getClass()));
         }
     }
 
-    private <S> Object[] getArrayOfPrimitiveTypeWrapper(Class sourceClass, final S source) throws IllegalArgumentException, NegativeArraySizeException, ArrayIndexOutOfBoundsException {
-        Class<?> arrayElementWrapperClass
-                = ClassUtils.primitiveToWrapper(sourceClass.getComponentType());
-        int arrayLength = Array.getLength(source);
-        Object[] sourceWrapper = (Object[]) Array.newInstance(
-                arrayElementWrapperClass, arrayLength);
-        for (int i = 0 ; i < arrayLength ; i++) {
-            sourceWrapper[i] = Array.get(source, i);
+    private static MappingException mappingFailed(
+            final Class sourceClass, final Class destinationClass, final Exception cause) {
+        return new MappingException(
+                String.format(
+                        "Failed to map from %s to %s",
+                        sourceClass, destinationClass),
+                cause);
+    }
+
+    private <S, D> D convert(final Converter<S, D> converter, final S source,
+            final Class<D> destinationClass, final MappingContext context) {
+        if (_metrics == null) {
+            return converter.convert(getCaller(context), source);
         }
-        return sourceWrapper;
+
+        long startTime = _metrics.startTime();
+        D result;
+
+        try {
+            result = converter.convert(getCaller(context), source);
+        } catch (RuntimeException ex) {
+            _metrics.recordFailure(source.getClass(), destinationClass, converter, startTime);
+
+            throw ex;
+        }
+
+        _metrics.recordExecution(source.getClass(), destinationClass, converter, startTime);
+
+        return result;
+    }
+
+    @Override
+    public Optional<MappingMetrics> getMetrics() {
+        return Optional.ofNullable(_metrics);
+    }
+
+    @Override
+    public Mapper preservingIdentity() {
+        return new MappingContextMapper(this, true, false);
+    }
+
+    @Override
+    public Mapper usingWorkStack() {
+        return new MappingContextMapper(this, false, true);
     }
 
     @Override
@@ -152,12 +449,15 @@ class MapperImpl implements Mapper {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        return MapperExecutorSelector.isMapAvailable(
-                this,
-                sourceClass,
-                destinationClass,
-                _maps,
-                _mapAnyConventions);
+        AvailabilitySession session = _availabilitySession.get();
+
+        if (session != null) {
+            // map any conventions are being resolved by current thread
+            return (session.resolveMap(
+                    sourceClass, destinationClass, this::resolveMapExecutorInSession) != null);
+        }
+
+        return (_mapExecutorsCache.get(sourceClass, destinationClass) != null);
     }
 
     @Override
@@ -165,27 +465,160 @@ class MapperImpl implements Mapper {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        return MapperExecutorSelector.isConverterAvailable(
-                this,
-                sourceClass,
-                destinationClass,
-                Collections.unmodifiableCollection(_converters));
+        return (_convertersCache.get(sourceClass, destinationClass) != null);
+    }
+
+    /**
+     * Returns converter which would be used to convert from source class to destination class or
+     * null if no converter is available.
+     */
+    Converter<?, ?> getConverter(final Class sourceClass, final Class destinationClass) {
+        return _convertersCache.get(sourceClass, destinationClass);
+    }
+
+    private Converter<?, ?> resolveConverter(
+            final Class sourceClass, final Class destinationClass) {
+        return _convertersIndex.getBestMatching(sourceClass, destinationClass);
     }
 
-    private <D, S> boolean mapIfMapperAvailable(
-            final DeclarativeMapImpl<S, D> MapImpl, final S source, final D destination) {
-        if (MapImpl != null) {
-            MapImpl.execute(this, source, destination);
+    private Object resolveMapExecutor(final Class sourceClass, final Class destinationClass) {
+        DeclarativeMapImpl<?, ?> map = _mapsIndex.getBestMatching(sourceClass, destinationClass);
 
-            return true;
+        if (map != null) {
+            return map;
+        }
+
+        if (_mapAnyConventions.isEmpty()) {
+            return null;
+        }
+
+        AvailabilitySession session = new AvailabilitySession();
+        Object result;
+
+        _availabilitySession.set(session);
+
+        try {
+            result = session.resolveMap(
+                    sourceClass, destinationClass, this::resolveMapExecutorInSession);
+        } finally {
+            _availabilitySession.remove();
+        }
+
+        // answers are final, so they can be seen by other threads
+        session.forEachMapAnswer((classPair, answer) -> _mapExecutorsCache.putIfAbsent(
+                classPair.getSourceClass(), classPair.getDestinationClass(),
+                publishMapExecutor(classPair, answer)));
+
+        return toMapExecutor(result);
+    }
+
+    /**
+     * Returns {@link DeclarativeMapImpl}, {@link ConventionBindings} or null if class pair cannot
+     * be mapped.
+     */
+    private Object resolveMapExecutorInSession(
+            final Class sourceClass, final Class destinationClass) {
+        if (_mapExecutorsCache.isResolved(sourceClass, destinationClass)) {
+            return _mapExecutorsCache.get(sourceClass, destinationClass);
+        }
+
+        DeclarativeMapImpl<?, ?> map = _mapsIndex.getBestMatching(sourceClass, destinationClass);
+
+        if (map != null) {
+            return map;
         }
 
         for (MapConventionExecutor i : _mapAnyConventions) {
-            if (i.tryMap(this, source, destination)) {
-                return true;
+            List<Binding> bindings
+                    = i.getBindingsWithoutCaching(this, sourceClass, destinationClass);
+
+            if (bindings.isEmpty() == false) {
+                return new ConventionBindings(i, bindings);
             }
         }
 
+        return null;
+    }
+
+    /**
+     * Caches bindings resolved in session by convention and returns map executor for answer
+     * given in session.
+     */
+    private Object publishMapExecutor(final ClassPair classPair, final Object answer) {
+        if (answer instanceof ConventionBindings) {
+            ConventionBindings conventionBindings = (ConventionBindings) answer;
+
+            conventionBindings._convention.cacheBindings(classPair.getSourceClass(),
+                    classPair.getDestinationClass(), conventionBindings._bindings);
+        }
+
+        return toMapExecutor(answer);
+    }
+
+    private static Object toMapExecutor(final Object answer) {
+        return (answer instanceof ConventionBindings)
+                ? ((ConventionBindings) answer)._convention
+                : answer;
+    }
+
+    /**
+     * Bindings generated by map any convention in availability session.
+     */
+    private static final class ConventionBindings {
+
+        private final MapConventionExecutor _convention;
+
+        private final List<Binding> _bindings;
+
+        ConventionBindings(final MapConventionExecutor convention, final List<Binding> bindings) {
+            this._convention = convention;
+            this._bindings = bindings;
+        }
+    }
+
+    private <D, S> boolean mapIfMapperAvailable(final Object mapExecutor, final S source,
+            final D destination, final MappingContext context) {
+        if (_metrics == null) {
+            return executeMap(mapExecutor, source, destination, context);
+        }
+
+        if (mapExecutor == null) {
+            _metrics.recordMiss(source.getClass(), destination.getClass());
+
+            return false;
+        }
+
+        long startTime = _metrics.startTime();
+
+        try {
+            executeMap(mapExecutor, source, destination, context);
+        } catch (RuntimeException ex) {
+            _metrics.recordFailure(
+                    source.getClass(), destination.getClass(), mapExecutor, startTime);
+
+            throw ex;
+        }
+
+        _metrics.recordExecution(source.getClass(), destination.getClass(), mapExecutor, startTime);
+
+        return true;
+    }
+
+    private <D, S> boolean executeMap(final Object mapExecutor, final S source,
+            final D destination, final MappingContext context) {
+        if (mapExecutor instanceof DeclarativeMapImpl) {
+            ((DeclarativeMapImpl<S, D>) mapExecutor).execute(
+                    getCaller(context), source, destination);
+
+            return true;
+        }
+
+        if (mapExecutor instanceof MapConventionExecutor) {
+            ((MapConventionExecutor) mapExecutor).map(getCaller(context), source, destination);
+
+            return true;
+        }
+
         return false;
     }
 
@@ -226,4 +659,216 @@ class MapperImpl implements Mapper {
 
         return destination;
     }
+
+    /**
+     * Maps elements of a batch to destination class remembering converter or map resolved for the
+     * last source class. Batches are usually homogeneous, so it is enough to resolve converter or
+     * map once per batch. Not thread-safe.
+     */
+    private final class BatchElementMapper<D> {
+
+        private final Class<D> _destinationClass;
+
+        private final MappingContext _context;
+
+        private final boolean _scheduleMembers;
+
+        private Class _lastSourceClass;
+
+        private Object _lastExecutor;
+
+        BatchElementMapper(final Class<D> destinationClass, final MappingContext context,
+                final boolean scheduleMembers) {
+            this._destinationClass = destinationClass;
+            this._context = context;
+            this._scheduleMembers = scheduleMembers;
+        }
+
+        D map(final Object source) throws MappingException {
+            if (source == null) {
+                return null;
+            }
+
+            if (_context != null) {
+                D mappedObject = _context.getMappedObject(source, _destinationClass);
+
+                if (mappedObject != null) {
+                    return mappedObject;
+                }
+            }
+
+            Class sourceClass = source.getClass();
+
+            if (sourceClass != _lastSourceClass) {
+                _lastExecutor = resolveExecutor(sourceClass, _destinationClass);
+                _lastSourceClass = sourceClass;
+            }
+
+            if (_lastExecutor == null) {
+                if (_metrics != null) {
+                    _metrics.recordMiss(sourceClass, _destinationClass);
+                }
+
+                throw new MappingException(
+                        String.format("No suitable converter or map found to map from %s to %s.",
+                                sourceClass, _destinationClass));
+            }
+
+            if (_context == null) {
+                return mapUsingExecutor(_lastExecutor, source, _destinationClass, null, false);
+            }
+
+            if (_scheduleMembers) {
+                return mapUsingExecutor(_lastExecutor, source, _destinationClass, _context, true);
+            }
+
+            Object executor = _lastExecutor;
+
+            // each element is completely mapped before next one
+            return _context.execute(
+                    () -> mapUsingExecutor(executor, source, _destinationClass, _context, false));
+        }
+    }
+
+    /**
+     * Maps range of source list to the same indexes of result list. Returns mapping errors by
+     * index of source element.
+     */
+    private final class ParallelMappingTask<D>
+            extends RecursiveTask<SortedMap<Integer, MappingException>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<?> _source;
+
+        private final List<D> _result;
+
+        private final Class<D> _destinationClass;
+
+        private final int _from;
+
+        private final int _to;
+
+        private final int _chunkSize;
+
+        private final MappingContext _context;
+
+        ParallelMappingTask(final List<?> source, final List<D> result,
+                final Class<D> destinationClass, final int from, final int to,
+                final int chunkSize, final MappingContext context) {
+            this._source = source;
+            this._result = result;
+            this._destinationClass = destinationClass;
+            this._from = from;
+            this._to = to;
+            this._chunkSize = chunkSize;
+            this._context = context;
+        }
+
+        @Override
+        protected SortedMap<Integer, MappingException> compute() {
+            if (_to - _from <= _chunkSize) {
+                return mapRange();
+            }
+
+            int middle = (_from + _to) >>> 1;
+
+            ParallelMappingTask<D> left = new ParallelMappingTask<>(
+                    _source, _result, _destinationClass, _from, middle, _chunkSize, _context);
+            ParallelMappingTask<D> right = new ParallelMappingTask<>(
+                    _source, _result, _destinationClass, middle, _to, _chunkSize, _context);
+
+            left.fork();
+
+            SortedMap<Integer, MappingException> failures = right.compute();
+            SortedMap<Integer, MappingException> leftFailures = left.join();
+
+            if (failures.isEmpty()) {
+                return leftFailures;
+            }
+
+            failures.putAll(leftFailures);
+
+            return failures;
+        }
+
+        private SortedMap<Integer, MappingException> mapRange() {
+            SortedMap<Integer, MappingException> failures = new TreeMap<>();
+            BatchElementMapper<D> elementMapper
+                    = new BatchElementMapper<>(_destinationClass, _context, false);
+
+            for (int i = _from; i < _to; i++) {
+                try {
+                    // each task writes to its own range, join() publishes results to the caller
+                    _result.set(i, elementMapper.map(_source.get(i)));
+                } catch (MappingException ex) {
+                    failures.put(i, ex);
+                }
+            }
+
+            return failures;
+        }
+    }
+
+    /**
+     * Lazily maps elements of source spliterator. Each split has its own
+     * {@link BatchElementMapper}, so converter or map is resolved once per source class and split.
+     */
+    private final class MappingSpliterator<D> implements Spliterator<D> {
+
+        /**
+         * Characteristics which are not valid for mapped elements.
+         */
+        private static final int NOT_PRESERVED_CHARACTERISTICS
+                = Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL;
+
+        private final Spliterator<?> _source;
+
+        private final Class<D> _destinationClass;
+
+        private final MappingContext _context;
+
+        private final BatchElementMapper<D> _elementMapper;
+
+        MappingSpliterator(final Spliterator<?> source, final Class<D> destinationClass,
+                final MappingContext context) {
+            this._source = source;
+            this._destinationClass = destinationClass;
+            this._context = context;
+            this._elementMapper = new BatchElementMapper<>(destinationClass, context, false);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super D> action) {
+            return _source.tryAdvance(i -> action.accept(_elementMapper.map(i)));
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super D> action) {
+            _source.forEachRemaining(i -> action.accept(_elementMapper.map(i)));
+        }
+
+        @Override
+        public Spliterator<D> trySplit() {
+            Spliterator<?> prefix = _source.trySplit();
+
+            return (prefix == null)
+                    ? null : new MappingSpliterator<>(prefix, _destinationClass, _context);
+        }
+
+        @Override
+        public long estimateSize() {
+            return _source.estimateSize();
+        }
+
+        @Override
+        public long getExactSizeIfKnown() {
+            return _source.getExactSizeIfKnown();
+        }
+
+        @Override
+        public int characteristics() {
+            return _source.characteristics() & ~NOT_PRESERVED_CHARACTERISTICS;
+        }
+    }
 }
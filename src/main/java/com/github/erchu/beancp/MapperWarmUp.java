@@ -0,0 +1,149 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Pre-resolves converter, map or map any convention which mapping would use for all class pairs
+ * registered in mapper and for all class pairs reachable from them through bindings generated by
+ * conventions, so first mapping of each class pair does not pay for executor selection, convention
+ * introspection and code generation.
+ */
+final class MapperWarmUp {
+
+    private final MapperImpl _mapper;
+
+    private final Deque<ClassPair> _pending = new ArrayDeque<>();
+
+    private final Set<ClassPair> _visited = new HashSet<>();
+
+    private MapperWarmUp(final MapperImpl mapper) {
+        this._mapper = mapper;
+    }
+
+    /**
+     * Warms up mapper and returns warm-up duration.
+     *
+     * @param mapper mapper to warm up.
+     * @param executors converters and maps registered in mapper.
+     * @return warm-up duration.
+     */
+    static Duration warmUp(
+            final MapperImpl mapper, final Collection<? extends MappingExecutor<?, ?>> executors) {
+        long startTime = System.nanoTime();
+        MapperWarmUp warmUp = new MapperWarmUp(mapper);
+
+        for (MappingExecutor<?, ?> i : executors) {
+            warmUp.enqueue(i.getSourceClass(), i.getDestinationClass());
+        }
+
+        warmUp.run();
+
+        return Duration.ofNanos(System.nanoTime() - startTime);
+    }
+
+    private void run() {
+        while (_pending.isEmpty() == false) {
+            ClassPair pair = _pending.poll();
+            Class sourceClass = pair.getSourceClass();
+            Class destinationClass = pair.getDestinationClass();
+
+            // resolves the same executor as mapping does, so map any conventions are not checked
+            // for class pairs served by converters or maps
+            Object executor = _mapper.resolveExecutor(sourceClass, destinationClass);
+
+            for (Binding i : getBindings(executor, sourceClass, destinationClass)) {
+                enqueueInnerMappings(i);
+            }
+        }
+    }
+
+    private List<Binding> getBindings(
+            final Object executor, final Class sourceClass, final Class destinationClass) {
+        MapConventionExecutor convention = null;
+
+        if (executor instanceof DeclarativeMapImpl) {
+            convention = ((DeclarativeMapImpl<?, ?>) executor).getMapConvention();
+        } else if (executor instanceof MapConventionExecutor) {
+            convention = (MapConventionExecutor) executor;
+        }
+
+        return (convention != null)
+                ? convention.getBindingsToExecute(_mapper, sourceClass, destinationClass)
+                : Collections.emptyList();
+    }
+
+    private void enqueueInnerMappings(final Binding binding) {
+        BindingSide[] sourcePath = binding.getSourcePath();
+        BindingSide sourceMember = sourcePath[sourcePath.length - 1];
+        BindingSide destinationMember = binding.getDestinationMember();
+
+        if (binding instanceof BindingWithValueMap
+                || binding instanceof BindingWithValueConversion) {
+            enqueue(sourceMember.getValueClass(), destinationMember.getValueClass());
+        } else if (binding instanceof BindingWithElementsMap) {
+            enqueue(sourceMember.getValueTypeArgumentClass(Collection.class, 0),
+                    ((BindingWithElementsMap) binding).getDestinationElementClass());
+            enqueueResultMapping(ArrayList.class, destinationMember.getValueClass());
+        } else if (binding instanceof BindingWithEntriesMap) {
+            BindingWithEntriesMap entriesBinding = (BindingWithEntriesMap) binding;
+
+            enqueue(sourceMember.getValueTypeArgumentClass(Map.class, 0),
+                    entriesBinding.getDestinationKeyClass());
+            enqueue(sourceMember.getValueTypeArgumentClass(Map.class, 1),
+                    entriesBinding.getDestinationValueClass());
+            enqueueResultMapping(LinkedHashMap.class, destinationMember.getValueClass());
+        }
+    }
+
+    /**
+     * Enqueues mapping of collection (or map) created by binding to destination member class.
+     * Collection is mapped only if it cannot be assigned to destination member.
+     */
+    private void enqueueResultMapping(final Class resultClass, final Class destinationClass) {
+        if (destinationClass.isAssignableFrom(resultClass) == false) {
+            enqueue(resultClass, destinationClass);
+        }
+    }
+
+    private void enqueue(final Class sourceClass, final Class destinationClass) {
+        if (sourceClass == null || destinationClass == null) {
+            return;
+        }
+
+        // source objects are always boxed when passed to mapper
+        ClassPair pair = new ClassPair(
+                ClassUtils.primitiveToWrapper(sourceClass), destinationClass);
+
+        if (_visited.add(pair)) {
+            _pending.add(pair);
+        }
+    }
+}
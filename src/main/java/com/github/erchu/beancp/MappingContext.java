@@ -0,0 +1,351 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Mapping context created for single top-level call of mapper returned by
+ * {@link Mapper#preservingIdentity()} or {@link Mapper#usingWorkStack()}. Context is passed as
+ * caller to converters, maps and conventions, so nested mappings share the same context. This
+ * class is not thread-safe.
+ *
+ * <p>
+ * When identity is preserved context remembers destination objects mapped from source objects (by
+ * source object identity and requested destination class).
+ * </p>
+ *
+ * <p>
+ * When work stack is used then members of destination objects mapped by
+ * {@link DeclarativeMap#mapInner(java.util.function.Supplier, java.util.function.Consumer,
+ * java.lang.Class)}, {@link BindingWithValueMap}, {@link BindingWithElementsMap} and (values
+ * only) {@link BindingWithEntriesMap} are not mapped by nested call, but by work scheduled on work
+ * stack (see {@link #mapNested(com.github.erchu.beancp.Mapper, java.lang.Object,
+ * java.lang.Class)}). Elements and map values are mapped this way only when collection (or map)
+ * is set to destination member without conversion, because converter may hash or compare them,
+ * so they must be completely mapped. Each call of {@link Mapper} method on context executes all
+ * work scheduled by this call before it returns, so callers always get completely mapped objects.
+ * </p>
+ */
+final class MappingContext implements Mapper {
+
+    private final MapperImpl _mapper;
+
+    /**
+     * Null if identity is not preserved.
+     */
+    private final Map<Class, Map<Object, Object>> _mappedObjects;
+
+    /**
+     * Null if work stack is not used.
+     */
+    private final Deque<Runnable> _workStack;
+
+    MappingContext(
+            final MapperImpl mapper, final boolean preserveIdentity, final boolean useWorkStack) {
+        this._mapper = mapper;
+        this._mappedObjects = preserveIdentity ? new HashMap<>() : null;
+        this._workStack = useWorkStack ? new ArrayDeque<>() : null;
+    }
+
+    /**
+     * Maps source object to new destination object. If caller is context which uses work stack
+     * then members of destination object are mapped by work scheduled in this context, otherwise
+     * the same as {@link Mapper#map(java.lang.Object, java.lang.Class)}.
+     */
+    static <S, D> D mapNested(
+            final Mapper caller, final S source, final Class<D> destinationClass) {
+        if (caller instanceof MappingContext) {
+            return ((MappingContext) caller).mapUsingWorkStack(source, destinationClass);
+        } else {
+            return caller.map(source, destinationClass);
+        }
+    }
+
+    /**
+     * Maps source object to existing destination object. If caller is context which uses work
+     * stack then mapping is executed by work scheduled in this context, otherwise the same as
+     * {@link Mapper#map(java.lang.Object, java.lang.Object)}.
+     */
+    static <S, D> void mapNested(final Mapper caller, final S source, final D destination) {
+        if (caller instanceof MappingContext) {
+            ((MappingContext) caller).mapUsingWorkStack(source, destination);
+        } else {
+            caller.map(source, destination);
+        }
+    }
+
+    /**
+     * Maps elements of source collection to new destination objects. If caller is context which
+     * uses work stack then members of destination objects are mapped by work scheduled in this
+     * context, otherwise the same as
+     * {@link Mapper#mapAll(java.util.Collection, java.lang.Class)}.
+     */
+    static <S, D> List<D> mapAllNested(final Mapper caller,
+            final Collection<? extends S> source, final Class<D> destinationClass) {
+        if (caller instanceof MappingContext) {
+            return ((MappingContext) caller).mapAllUsingWorkStack(source, destinationClass);
+        } else {
+            return caller.mapAll(source, destinationClass);
+        }
+    }
+
+    /**
+     * Returns destination object mapped in this context from source object to destination class
+     * or null if source object is not mapped to destination class yet or identity is not
+     * preserved.
+     */
+    <D> D getMappedObject(final Object source, final Class<D> destinationClass) {
+        if (_mappedObjects == null) {
+            return null;
+        }
+
+        Map<Object, Object> mappedObjects = _mappedObjects.get(destinationClass);
+
+        return (mappedObjects == null) ? null : (D) mappedObjects.get(source);
+    }
+
+    /**
+     * Remembers destination object mapped from source object to destination class if identity is
+     * preserved. If source object is already mapped to destination class then the first
+     * destination object is kept.
+     */
+    void registerMappedObject(
+            final Object source, final Class destinationClass, final Object destination) {
+        if (_mappedObjects != null) {
+            _mappedObjects.computeIfAbsent(destinationClass, key -> new IdentityHashMap<>())
+                    .putIfAbsent(source, destination);
+        }
+    }
+
+    /**
+     * Schedules work on work stack. Work is executed before the innermost call of {@link Mapper}
+     * method on this context returns.
+     */
+    void scheduleWork(final Runnable work) {
+        _workStack.push(work);
+    }
+
+    /**
+     * Executes action and then all work scheduled by action. Work scheduled by executed work is
+     * executed by the same loop, so nested mappings do not consume call stack.
+     */
+    <T> T execute(final Supplier<T> action) {
+        if (_workStack == null) {
+            return action.get();
+        }
+
+        int workStackSize = _workStack.size();
+
+        try {
+            T result = action.get();
+
+            while (_workStack.size() > workStackSize) {
+                _workStack.pop().run();
+            }
+
+            return result;
+        } catch (RuntimeException | Error ex) {
+            // work of failed action must not be executed by outer call
+            while (_workStack.size() > workStackSize) {
+                _workStack.pop();
+            }
+
+            throw ex;
+        }
+    }
+
+    @Override
+    public <S, D> void map(final S source, final D destination) throws MappingException {
+        if (mapIfMapperAvailable(source, destination) == false) {
+            throw new MappingException(
+                    String.format("No suitable mapping found from %s to %s.",
+                            source.getClass(), destination.getClass()));
+        }
+    }
+
+    @Override
+    public <S, D> boolean mapIfMapperAvailable(final S source, final D destination)
+            throws MappingException {
+        notNull(source, "source");
+        notNull(destination, "destination");
+
+        if (getMappedObject(source, destination.getClass()) == destination) {
+            // already mapped or being mapped by outer call
+            return true;
+        }
+
+        return execute(() -> _mapper.mapIfMapperAvailable(source, destination, this, false));
+    }
+
+    @Override
+    public <S, D> D map(final S source, final Class<D> destinationClass)
+            throws MappingException {
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+
+        Optional<D> result = mapIfMapperAvailable(source, destinationClass);
+
+        if (result.isPresent() == false) {
+            throw new MappingException(
+                    String.format("No suitable converter or map found to map from %s to %s.",
+                            source.getClass(), destinationClass));
+        } else {
+            return result.get();
+        }
+    }
+
+    @Override
+    public <S, D> Optional<D> mapIfMapperAvailable(
+            final S source, final Class<D> destinationClass) throws MappingException {
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+
+        D mappedObject = getMappedObject(source, destinationClass);
+
+        if (mappedObject != null) {
+            return Optional.of(mappedObject);
+        }
+
+        return execute(
+                () -> _mapper.mapIfMapperAvailable(source, destinationClass, this, false));
+    }
+
+    @Override
+    public <S, D> List<D> mapAll(
+            final Collection<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        return execute(() -> _mapper.mapAll(source, destinationClass, this, false));
+    }
+
+    @Override
+    public <S, D> List<D> mapAllParallel(
+            final List<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        return execute(() -> _mapper.mapAllParallel(source, destinationClass, this));
+    }
+
+    @Override
+    public <S, D> List<D> mapAllParallel(final List<? extends S> source,
+            final Class<D> destinationClass, final ForkJoinPool pool) throws MappingException {
+        notNull(pool, "pool");
+
+        return execute(() -> _mapper.mapAllParallel(source, destinationClass, this));
+    }
+
+    @Override
+    public <S, D> Stream<D> mapStream(
+            final Stream<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        // elements are mapped lazily, each of them by separate execute() call
+        return _mapper.mapStream(source, destinationClass, this);
+    }
+
+    @Override
+    public Optional<MappingMetrics> getMetrics() {
+        return _mapper.getMetrics();
+    }
+
+    @Override
+    public Mapper preservingIdentity() {
+        return (_mappedObjects != null)
+                ? this : new MappingContextMapper(_mapper, true, _workStack != null);
+    }
+
+    @Override
+    public Mapper usingWorkStack() {
+        return (_workStack != null)
+                ? this : new MappingContextMapper(_mapper, _mappedObjects != null, true);
+    }
+
+    @Override
+    public boolean isConverterAvailable(final Class sourceClass, final Class destinationClass) {
+        return _mapper.isConverterAvailable(sourceClass, destinationClass);
+    }
+
+    @Override
+    public boolean isMapAvailable(final Class sourceClass, final Class destinationClass) {
+        return _mapper.isMapAvailable(sourceClass, destinationClass);
+    }
+
+    private <S, D> D mapUsingWorkStack(final S source, final Class<D> destinationClass) {
+        if (_workStack == null) {
+            return map(source, destinationClass);
+        }
+
+        notNull(source, "source");
+        notNull(destinationClass, "destinationClass");
+
+        D mappedObject = getMappedObject(source, destinationClass);
+
+        if (mappedObject != null) {
+            return mappedObject;
+        }
+
+        Optional<D> result = _mapper.mapIfMapperAvailable(source, destinationClass, this, true);
+
+        if (result.isPresent() == false) {
+            throw new MappingException(
+                    String.format("No suitable converter or map found to map from %s to %s.",
+                            source.getClass(), destinationClass));
+        }
+
+        return result.get();
+    }
+
+    private <S, D> List<D> mapAllUsingWorkStack(
+            final Collection<? extends S> source, final Class<D> destinationClass) {
+        if (_workStack == null) {
+            return mapAll(source, destinationClass);
+        }
+
+        return _mapper.mapAll(source, destinationClass, this, true);
+    }
+
+    private <S, D> void mapUsingWorkStack(final S source, final D destination) {
+        if (_workStack == null) {
+            map(source, destination);
+
+            return;
+        }
+
+        notNull(source, "source");
+        notNull(destination, "destination");
+
+        if (getMappedObject(source, destination.getClass()) == destination) {
+            return;
+        }
+
+        if (_mapper.mapIfMapperAvailable(source, destination, this, true) == false) {
+            throw new MappingException(
+                    String.format("No suitable mapping found from %s to %s.",
+                            source.getClass(), destination.getClass()));
+        }
+    }
+}
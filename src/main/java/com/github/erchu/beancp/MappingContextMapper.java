@@ -0,0 +1,123 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Mapper returned by {@link Mapper#preservingIdentity()} or {@link Mapper#usingWorkStack()}. Each
+ * top-level call is executed in new {@link MappingContext}. This class is thread-safe.
+ */
+final class MappingContextMapper implements Mapper {
+
+    private final MapperImpl _mapper;
+
+    private final boolean _preserveIdentity;
+
+    private final boolean _useWorkStack;
+
+    MappingContextMapper(
+            final MapperImpl mapper, final boolean preserveIdentity, final boolean useWorkStack) {
+        this._mapper = mapper;
+        this._preserveIdentity = preserveIdentity;
+        this._useWorkStack = useWorkStack;
+    }
+
+    @Override
+    public <S, D> void map(final S source, final D destination) throws MappingException {
+        createContext().map(source, destination);
+    }
+
+    @Override
+    public <S, D> boolean mapIfMapperAvailable(final S source, final D destination)
+            throws MappingException {
+        return createContext().mapIfMapperAvailable(source, destination);
+    }
+
+    @Override
+    public <S, D> D map(final S source, final Class<D> destinationClass)
+            throws MappingException {
+        return createContext().map(source, destinationClass);
+    }
+
+    @Override
+    public <S, D> Optional<D> mapIfMapperAvailable(
+            final S source, final Class<D> destinationClass) throws MappingException {
+        return createContext().mapIfMapperAvailable(source, destinationClass);
+    }
+
+    @Override
+    public <S, D> List<D> mapAll(
+            final Collection<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        return createContext().mapAll(source, destinationClass);
+    }
+
+    @Override
+    public <S, D> List<D> mapAllParallel(
+            final List<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        return createContext().mapAllParallel(source, destinationClass);
+    }
+
+    @Override
+    public <S, D> List<D> mapAllParallel(final List<? extends S> source,
+            final Class<D> destinationClass, final ForkJoinPool pool) throws MappingException {
+        return createContext().mapAllParallel(source, destinationClass, pool);
+    }
+
+    @Override
+    public <S, D> Stream<D> mapStream(
+            final Stream<? extends S> source, final Class<D> destinationClass)
+            throws MappingException {
+        return createContext().mapStream(source, destinationClass);
+    }
+
+    @Override
+    public Optional<MappingMetrics> getMetrics() {
+        return _mapper.getMetrics();
+    }
+
+    @Override
+    public Mapper preservingIdentity() {
+        return _preserveIdentity ? this : new MappingContextMapper(_mapper, true, _useWorkStack);
+    }
+
+    @Override
+    public Mapper usingWorkStack() {
+        return _useWorkStack ? this : new MappingContextMapper(_mapper, _preserveIdentity, true);
+    }
+
+    @Override
+    public boolean isConverterAvailable(final Class sourceClass, final Class destinationClass) {
+        return _mapper.isConverterAvailable(sourceClass, destinationClass);
+    }
+
+    @Override
+    public boolean isMapAvailable(final Class sourceClass, final Class destinationClass) {
+        return _mapper.isMapAvailable(sourceClass, destinationClass);
+    }
+
+    private MappingContext createContext() {
+        return new MappingContext(_mapper, _preserveIdentity, _useWorkStack);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.github.erchu.beancp.MapperExecutorSelector.MapperExecutorMatchMode;
+import org.apache.commons.lang3.ClassUtils;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Index of mapping executors by source class. Finds executors valid for source class by walking
+ * source class hierarchy (superclasses, interfaces, array covariance and primitive type wrappers)
+ * instead of checking all executors. Result is the same as
+ * {@link MapperExecutorSelector#getBestMatchingConverter(java.lang.Class, java.lang.Class, java.util.Collection)}
+ * and
+ * {@link MapperExecutorSelector#getBestMatchingDeclarativeMap(java.lang.Class, java.lang.Class, java.util.Collection)}
+ * return.
+ *
+ * <p>
+ * Immutable, so it is thread-safe.
+ * </p>
+ *
+ * @param <T> executor type.
+ */
+final class MappingExecutorIndex<T extends MappingExecutor<?, ?>> {
+
+    private final Map<Class, List<T>> _executorsBySourceClass;
+
+    /**
+     * Position of executor in the collection passed to constructor.
+     */
+    private final Map<T, Integer> _order;
+
+    private final MapperExecutorMatchMode _matchMode;
+
+    MappingExecutorIndex(final Collection<T> executors, final MapperExecutorMatchMode matchMode) {
+        notNull(executors, "executors");
+        notNull(matchMode, "matchMode");
+
+        this._executorsBySourceClass = new HashMap<>();
+        this._order = new IdentityHashMap<>();
+        this._matchMode = matchMode;
+
+        int position = 0;
+
+        for (T i : executors) {
+            _executorsBySourceClass.computeIfAbsent(i.getSourceClass(), k -> new ArrayList<>())
+                    .add(i);
+            _order.putIfAbsent(i, position++);
+        }
+    }
+
+    /**
+     * Returns best matching executor for source and destination classes or null if there is no
+     * such executor.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @return best matching executor or null if there is no such executor.
+     */
+    T getBestMatching(final Class sourceClass, final Class destinationClass) {
+        List<T> validMappers = new ArrayList<>();
+
+        for (Class i : getTypesAssignableFrom(sourceClass)) {
+            List<T> bucket = _executorsBySourceClass.get(i);
+
+            if (bucket != null) {
+                for (T j : bucket) {
+                    if (MapperExecutorSelector.canBeMapped(
+                            destinationClass, j.getDestinationClass())) {
+                        validMappers.add(j);
+                    }
+                }
+            }
+        }
+
+        if (validMappers.size() > 1) {
+            Collections.sort(validMappers, Comparator.comparing(_order::get));
+        }
+
+        return MapperExecutorSelector.selectBestMatchingMappingExecutor(
+                sourceClass, destinationClass, validMappers, _matchMode);
+    }
+
+    /**
+     * Returns all classes for which
+     * {@link MapperExecutorSelector#canBeMapped(java.lang.Class, java.lang.Class)} returns true
+     * when object class is {@code objectClass}.
+     */
+    private static Set<Class> getTypesAssignableFrom(final Class objectClass) {
+        Set<Class> result = new LinkedHashSet<>();
+
+        if (objectClass.isPrimitive()) {
+            result.add(objectClass);
+            result.add(ClassUtils.primitiveToWrapper(objectClass));
+
+            return result;
+        }
+
+        addSupertypes(objectClass, result);
+
+        Class<?> primitiveClass = ClassUtils.wrapperToPrimitive(objectClass);
+
+        if (primitiveClass != null) {
+            result.add(primitiveClass);
+        }
+
+        return result;
+    }
+
+    private static void addSupertypes(final Class objectClass, final Set<Class> result) {
+        if (objectClass.isArray()) {
+            Class componentClass = objectClass.getComponentType();
+
+            if (componentClass.isPrimitive()) {
+                result.add(objectClass);
+            } else {
+                // arrays are covariant: S[] is assignable to T[] when S is assignable to T
+                Set<Class> componentSupertypes = new LinkedHashSet<>();
+                addSupertypes(componentClass, componentSupertypes);
+
+                for (Class i : componentSupertypes) {
+                    result.add(Array.newInstance(i, 0).getClass());
+                }
+            }
+
+            result.add(Cloneable.class);
+            result.add(Serializable.class);
+            result.add(Object.class);
+
+            return;
+        }
+
+        for (Class i = objectClass; i != null; i = i.getSuperclass()) {
+            result.add(i);
+        }
+
+        result.addAll(ClassUtils.getAllInterfaces(objectClass));
+
+        // interfaces do not have Object as superclass, but are assignable to it
+        result.add(Object.class);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.List;
+import javax.management.ObjectName;
+
+/**
+ * Mapping metrics collected by mapper per source and destination class pair. Metrics are collected
+ * only if enabled by {@link MapperBuilder#enableMetrics(boolean)}. All methods are thread-safe.
+ */
+public interface MappingMetrics {
+
+    /**
+     * Returns snapshot of statistics for each class pair mapped (or requested to map) since mapper
+     * was built or metrics were reset. Counters are read without locking, so snapshot taken
+     * during concurrent mappings is not atomic.
+     *
+     * @return statistics by class pair.
+     */
+    List<MappingStatistics> getStatistics();
+
+    /**
+     * Returns true if mapping execution time is measured.
+     *
+     * @return true if mapping execution time is measured.
+     */
+    boolean isLatencyMeasured();
+
+    /**
+     * Resets all counters to zero.
+     */
+    void reset();
+
+    /**
+     * Registers metrics as {@link MappingMetricsMXBean} in platform MBean server under name
+     * {@code com.github.erchu.beancp:type=MappingMetrics,name=<mapperName>}.
+     *
+     * @param mapperName mapper name used to distinguish mappers in the same JVM.
+     * @return name under which MBean is registered.
+     * @throws MapperConfigurationException if MBean cannot be registered, for example when
+     * another MBean with the same name is already registered.
+     */
+    ObjectName registerMBean(String mapperName) throws MapperConfigurationException;
+
+    /**
+     * Unregisters MBean registered by {@link #registerMBean(java.lang.String)}. Does nothing if
+     * MBean is not registered.
+     */
+    void unregisterMBean();
+}
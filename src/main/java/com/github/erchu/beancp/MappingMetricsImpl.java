@@ -0,0 +1,329 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Collects mapping metrics using striped counters, so concurrent mappings do not contend on
+ * shared counters. Lookup of counters for already seen class pair does not allocate any objects
+ * and acquires no locks.
+ */
+final class MappingMetricsImpl implements MappingMetrics, MappingMetricsMXBean {
+
+    static final String MBEAN_NAME_PATTERN = "com.github.erchu.beancp:type=MappingMetrics,name=%s";
+
+    private static final int LATENCY_HISTOGRAM_SIZE = Long.SIZE + 1;
+
+    private final boolean _measureLatency;
+
+    private final ConcurrentMap<Class, ConcurrentMap<Class, ClassPairCounters>> _counters
+            = new ConcurrentHashMap<>();
+
+    private final Queue<ClassPairCounters> _allCounters = new ConcurrentLinkedQueue<>();
+
+    private ObjectName _registeredMBeanName = null;
+
+    MappingMetricsImpl(final boolean measureLatency) {
+        this._measureLatency = measureLatency;
+    }
+
+    /**
+     * Returns value to be passed as {@code startTime} to record methods.
+     */
+    long startTime() {
+        return _measureLatency ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records mapping executed by {@link Converter}, {@link DeclarativeMapImpl} or
+     * {@link MapConventionExecutor}.
+     */
+    void recordExecution(final Class sourceClass, final Class destinationClass,
+            final Object executor, final long startTime) {
+        ClassPairCounters counters = getCounters(sourceClass, destinationClass);
+
+        counters.recordExecution(executor);
+        counters.recordTime(startTime);
+    }
+
+    /**
+     * Records mapping executed by {@link Converter}, {@link DeclarativeMapImpl} or
+     * {@link MapConventionExecutor} which thrown exception.
+     */
+    void recordFailure(final Class sourceClass, final Class destinationClass,
+            final Object executor, final long startTime) {
+        ClassPairCounters counters = getCounters(sourceClass, destinationClass);
+
+        counters.recordExecution(executor);
+        counters._failureCount.increment();
+        counters.recordTime(startTime);
+    }
+
+    /**
+     * Records mapping request for which no converter, map or map any convention was available.
+     */
+    void recordMiss(final Class sourceClass, final Class destinationClass) {
+        getCounters(sourceClass, destinationClass)._missCount.increment();
+    }
+
+    @Override
+    public List<MappingStatistics> getStatistics() {
+        List<MappingStatistics> result = new ArrayList<>();
+
+        for (ClassPairCounters i : _allCounters) {
+            result.add(i.toStatistics());
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean isLatencyMeasured() {
+        return _measureLatency;
+    }
+
+    @Override
+    public void reset() {
+        for (ClassPairCounters i : _allCounters) {
+            i.reset();
+        }
+    }
+
+    @Override
+    public synchronized ObjectName registerMBean(final String mapperName)
+            throws MapperConfigurationException {
+        notEmpty(mapperName, "mapperName");
+
+        if (_registeredMBeanName != null) {
+            throw new MapperConfigurationException(String.format(
+                    "Metrics already registered as %s.", _registeredMBeanName));
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            ObjectName name = new ObjectName(
+                    String.format(MBEAN_NAME_PATTERN, ObjectName.quote(mapperName)));
+
+            server.registerMBean(this, name);
+            _registeredMBeanName = name;
+
+            return name;
+        } catch (JMException ex) {
+            throw new MapperConfigurationException(
+                    String.format("Cannot register metrics MBean for mapper %s.", mapperName), ex);
+        }
+    }
+
+    @Override
+    public synchronized void unregisterMBean() {
+        if (_registeredMBeanName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(_registeredMBeanName);
+        } catch (JMException ex) {
+            throw new MapperConfigurationException(String.format(
+                    "Cannot unregister metrics MBean %s.", _registeredMBeanName), ex);
+        }
+
+        _registeredMBeanName = null;
+    }
+
+    @Override
+    public long getMappingCount() {
+        long result = 0;
+
+        for (ClassPairCounters i : _allCounters) {
+            result += i._converterCount.sum() + i._mapCount.sum()
+                    + i._mapAnyConventionCount.sum();
+        }
+
+        return result;
+    }
+
+    @Override
+    public long getMissCount() {
+        long result = 0;
+
+        for (ClassPairCounters i : _allCounters) {
+            result += i._missCount.sum();
+        }
+
+        return result;
+    }
+
+    @Override
+    public long getFailureCount() {
+        long result = 0;
+
+        for (ClassPairCounters i : _allCounters) {
+            result += i._failureCount.sum();
+        }
+
+        return result;
+    }
+
+    @Override
+    public long getTotalTimeNanos() {
+        long result = 0;
+
+        for (ClassPairCounters i : _allCounters) {
+            result += i._totalTimeNanos.sum();
+        }
+
+        return result;
+    }
+
+    @Override
+    public String[] getClassPairStatistics() {
+        return getStatistics().stream()
+                .map(MappingStatistics::toString)
+                .toArray(String[]::new);
+    }
+
+    private ClassPairCounters getCounters(final Class sourceClass, final Class destinationClass) {
+        ConcurrentMap<Class, ClassPairCounters> destinationCounters = _counters.get(sourceClass);
+
+        if (destinationCounters == null) {
+            destinationCounters = new ConcurrentHashMap<>();
+
+            ConcurrentMap<Class, ClassPairCounters> existingDestinationCounters
+                    = _counters.putIfAbsent(sourceClass, destinationCounters);
+
+            if (existingDestinationCounters != null) {
+                destinationCounters = existingDestinationCounters;
+            }
+        }
+
+        ClassPairCounters result = destinationCounters.get(destinationClass);
+
+        if (result == null) {
+            ClassPairCounters newCounters = new ClassPairCounters(
+                    sourceClass, destinationClass, _measureLatency);
+            ClassPairCounters existingCounters
+                    = destinationCounters.putIfAbsent(destinationClass, newCounters);
+
+            if (existingCounters == null) {
+                _allCounters.add(newCounters);
+                result = newCounters;
+            } else {
+                result = existingCounters;
+            }
+        }
+
+        return result;
+    }
+
+    private static final class ClassPairCounters {
+
+        private final Class _sourceClass;
+
+        private final Class _destinationClass;
+
+        private final LongAdder _converterCount = new LongAdder();
+
+        private final LongAdder _mapCount = new LongAdder();
+
+        private final LongAdder _mapAnyConventionCount = new LongAdder();
+
+        private final LongAdder _missCount = new LongAdder();
+
+        private final LongAdder _failureCount = new LongAdder();
+
+        private final LongAdder _totalTimeNanos = new LongAdder();
+
+        private final LongAccumulator _maxTimeNanos = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder[] _latencyHistogram;
+
+        ClassPairCounters(final Class sourceClass, final Class destinationClass,
+                final boolean measureLatency) {
+            this._sourceClass = sourceClass;
+            this._destinationClass = destinationClass;
+            this._latencyHistogram = new LongAdder[measureLatency ? LATENCY_HISTOGRAM_SIZE : 0];
+
+            for (int i = 0; i < _latencyHistogram.length; i++) {
+                _latencyHistogram[i] = new LongAdder();
+            }
+        }
+
+        void recordExecution(final Object executor) {
+            if (executor instanceof Converter) {
+                _converterCount.increment();
+            } else if (executor instanceof DeclarativeMapImpl) {
+                _mapCount.increment();
+            } else {
+                _mapAnyConventionCount.increment();
+            }
+        }
+
+        void recordTime(final long startTime) {
+            if (_latencyHistogram.length == 0) {
+                return;
+            }
+
+            long time = Math.max(0, System.nanoTime() - startTime);
+
+            _totalTimeNanos.add(time);
+            _maxTimeNanos.accumulate(time);
+            _latencyHistogram[Long.SIZE - Long.numberOfLeadingZeros(time)].increment();
+        }
+
+        void reset() {
+            _converterCount.reset();
+            _mapCount.reset();
+            _mapAnyConventionCount.reset();
+            _missCount.reset();
+            _failureCount.reset();
+            _totalTimeNanos.reset();
+            _maxTimeNanos.reset();
+
+            for (LongAdder i : _latencyHistogram) {
+                i.reset();
+            }
+        }
+
+        MappingStatistics toStatistics() {
+            long[] latencyHistogram = new long[_latencyHistogram.length];
+
+            for (int i = 0; i < latencyHistogram.length; i++) {
+                latencyHistogram[i] = _latencyHistogram[i].sum();
+            }
+
+            return new MappingStatistics(_sourceClass, _destinationClass,
+                    _converterCount.sum(), _mapCount.sum(), _mapAnyConventionCount.sum(),
+                    _missCount.sum(), _failureCount.sum(), _totalTimeNanos.sum(),
+                    _maxTimeNanos.get(), latencyHistogram);
+        }
+    }
+}
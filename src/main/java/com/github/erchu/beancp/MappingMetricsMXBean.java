@@ -0,0 +1,66 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+/**
+ * JMX view of {@link MappingMetrics}.
+ */
+public interface MappingMetricsMXBean {
+
+    /**
+     * Returns number of mappings executed by any converter, map or map any convention.
+     *
+     * @return number of mappings.
+     */
+    long getMappingCount();
+
+    /**
+     * Returns number of mapping requests for which no converter, map or map any convention was
+     * available.
+     *
+     * @return number of misses.
+     */
+    long getMissCount();
+
+    /**
+     * Returns number of mappings which thrown exception.
+     *
+     * @return number of failures.
+     */
+    long getFailureCount();
+
+    /**
+     * Returns total mapping time in nanoseconds or 0 if latency is not measured. Time of nested
+     * mappings is included in time of outer mapping as well.
+     *
+     * @return total mapping time in nanoseconds.
+     */
+    long getTotalTimeNanos();
+
+    /**
+     * Returns statistics for each class pair as text, one class pair per line.
+     *
+     * @return statistics by class pair.
+     */
+    String[] getClassPairStatistics();
+
+    /**
+     * Resets all counters to zero.
+     */
+    void reset();
+}
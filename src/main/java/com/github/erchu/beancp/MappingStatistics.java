@@ -0,0 +1,188 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+/**
+ * Immutable snapshot of mapping statistics for source and destination class pair.
+ *
+ * <p>
+ * For mappings to new destination object destination class is class requested by caller, for
+ * mappings to existing destination object it is destination object class.
+ * </p>
+ */
+public final class MappingStatistics {
+
+    private final Class _sourceClass;
+
+    private final Class _destinationClass;
+
+    private final long _converterCount;
+
+    private final long _mapCount;
+
+    private final long _mapAnyConventionCount;
+
+    private final long _missCount;
+
+    private final long _failureCount;
+
+    private final long _totalTimeNanos;
+
+    private final long _maxTimeNanos;
+
+    private final long[] _latencyHistogram;
+
+    MappingStatistics(
+            final Class sourceClass,
+            final Class destinationClass,
+            final long converterCount,
+            final long mapCount,
+            final long mapAnyConventionCount,
+            final long missCount,
+            final long failureCount,
+            final long totalTimeNanos,
+            final long maxTimeNanos,
+            final long[] latencyHistogram) {
+        this._sourceClass = sourceClass;
+        this._destinationClass = destinationClass;
+        this._converterCount = converterCount;
+        this._mapCount = mapCount;
+        this._mapAnyConventionCount = mapAnyConventionCount;
+        this._missCount = missCount;
+        this._failureCount = failureCount;
+        this._totalTimeNanos = totalTimeNanos;
+        this._maxTimeNanos = maxTimeNanos;
+        this._latencyHistogram = latencyHistogram;
+    }
+
+    /**
+     * Returns source class.
+     *
+     * @return source class.
+     */
+    public Class getSourceClass() {
+        return _sourceClass;
+    }
+
+    /**
+     * Returns destination class.
+     *
+     * @return destination class.
+     */
+    public Class getDestinationClass() {
+        return _destinationClass;
+    }
+
+    /**
+     * Returns number of mappings executed by {@link Converter}.
+     *
+     * @return number of mappings executed by converter.
+     */
+    public long getConverterCount() {
+        return _converterCount;
+    }
+
+    /**
+     * Returns number of mappings executed by map added by
+     * {@link MapperBuilder#addMap(java.lang.Class, java.lang.Class, com.github.erchu.beancp.DeclarativeMapSetup)}.
+     *
+     * @return number of mappings executed by map.
+     */
+    public long getMapCount() {
+        return _mapCount;
+    }
+
+    /**
+     * Returns number of mappings executed by convention added by
+     * {@link MapperBuilder#addMapAnyByConvention(com.github.erchu.beancp.MapConvention...)}.
+     *
+     * @return number of mappings executed by map any convention.
+     */
+    public long getMapAnyConventionCount() {
+        return _mapAnyConventionCount;
+    }
+
+    /**
+     * Returns number of mappings executed by any converter, map or map any convention.
+     *
+     * @return number of mappings.
+     */
+    public long getMappingCount() {
+        return _converterCount + _mapCount + _mapAnyConventionCount;
+    }
+
+    /**
+     * Returns number of mapping requests for which no converter, map or map any convention was
+     * available.
+     *
+     * @return number of misses.
+     */
+    public long getMissCount() {
+        return _missCount;
+    }
+
+    /**
+     * Returns number of mappings which thrown exception. Failed mappings are included in
+     * converter, map or map any convention counts as well.
+     *
+     * @return number of failures.
+     */
+    public long getFailureCount() {
+        return _failureCount;
+    }
+
+    /**
+     * Returns total mapping time in nanoseconds or 0 if latency is not measured. Time of nested
+     * mappings is included in time of outer mapping as well.
+     *
+     * @return total mapping time in nanoseconds.
+     */
+    public long getTotalTimeNanos() {
+        return _totalTimeNanos;
+    }
+
+    /**
+     * Returns the longest mapping time in nanoseconds or 0 if latency is not measured.
+     *
+     * @return the longest mapping time in nanoseconds.
+     */
+    public long getMaxTimeNanos() {
+        return _maxTimeNanos;
+    }
+
+    /**
+     * Returns histogram of mapping times. Element at index {@code i} is number of mappings which
+     * took from 2<sup>i-1</sup> (inclusive) to 2<sup>i</sup> (exclusive) nanoseconds, element at
+     * index 0 is number of mappings which took less than 1 nanosecond. Returns empty array if
+     * latency is not measured.
+     *
+     * @return histogram of mapping times.
+     */
+    public long[] getLatencyHistogram() {
+        return _latencyHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s -> %s: converter=%d, map=%d, mapAnyConvention=%d, miss=%d, "
+                + "failure=%d, totalTimeNanos=%d, maxTimeNanos=%d",
+                _sourceClass.getName(), _destinationClass.getName(), _converterCount, _mapCount,
+                _mapAnyConventionCount, _missCount, _failureCount, _totalTimeNanos,
+                _maxTimeNanos);
+    }
+}
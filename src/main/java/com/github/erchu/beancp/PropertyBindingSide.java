@@ -19,7 +19,10 @@ package com.github.erchu.beancp;
 
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import static org.apache.commons.lang3.Validate.*;
 
 /**
@@ -35,6 +38,10 @@ public class PropertyBindingSide implements BindingSide {
 
     private final Class _valueClass;
 
+    private final Function<Object, Object> _generatedGetter;
+
+    private final BiConsumer<Object, Object> _generatedSetter;
+
     /**
      *
      * Creates binding to property from property information.
@@ -42,10 +49,30 @@ public class PropertyBindingSide implements BindingSide {
      * @param propertyDescriptor property information used to create binding
      */
     public PropertyBindingSide(final PropertyDescriptor propertyDescriptor) {
+        this(propertyDescriptor, false);
+    }
+
+    /**
+     *
+     * Creates binding to property from property information. If {@code useGeneratedAccessors} is
+     * {@code true} then getter and setter are called by classes generated at runtime instead of
+     * reflection. Reflection is still used when accessor class cannot be generated (for example
+     * when property or class is not public).
+     *
+     * @param propertyDescriptor property information used to create binding
+     * @param useGeneratedAccessors {@code true} if generated accessors should be used.
+     */
+    public PropertyBindingSide(
+            final PropertyDescriptor propertyDescriptor, final boolean useGeneratedAccessors) {
         this._valueClass = propertyDescriptor.getPropertyType();
         this._readMethod = propertyDescriptor.getReadMethod();
         this._writeMethod = propertyDescriptor.getWriteMethod();
         this._name = propertyDescriptor.getName();
+
+        this._generatedGetter = (useGeneratedAccessors && _readMethod != null)
+                ? AccessorBuilder.getGetter(_readMethod) : null;
+        this._generatedSetter = (useGeneratedAccessors && _writeMethod != null)
+                ? AccessorBuilder.getSetter(_writeMethod) : null;
     }
 
     @Override
@@ -54,6 +81,10 @@ public class PropertyBindingSide implements BindingSide {
         isTrue(_readMethod != null, "Getter is not available.");
 
         try {
+            if (_generatedGetter != null) {
+                return _generatedGetter.apply(object);
+            }
+
             return _readMethod.invoke(object);
         } catch (Exception ex) {
             throw new MappingException(
@@ -67,7 +98,11 @@ public class PropertyBindingSide implements BindingSide {
         isTrue(_writeMethod != null, "Setter is not available.");
 
         try {
-            _writeMethod.invoke(object, value);
+            if (_generatedSetter != null) {
+                _generatedSetter.accept(object, value);
+            } else {
+                _writeMethod.invoke(object, value);
+            }
         } catch (Exception ex) {
             throw new MappingException(
                     String.format("Failed to get value from %s", _readMethod), ex);
@@ -85,6 +120,17 @@ public class PropertyBindingSide implements BindingSide {
         return _valueClass;
     }
 
+    @Override
+    public Type getValueType() {
+        if (_readMethod != null) {
+            return _readMethod.getGenericReturnType();
+        } else if (_writeMethod != null) {
+            return _writeMethod.getGenericParameterTypes()[0];
+        } else {
+            return _valueClass;
+        }
+    }
+
     @Override
     public String getName() {
         return _name;
@@ -100,6 +146,14 @@ public class PropertyBindingSide implements BindingSide {
         return (_writeMethod != null);
     }
 
+    Method getReadMethod() {
+        return _readMethod;
+    }
+
+    Method getWriteMethod() {
+        return _writeMethod;
+    }
+
     @Override
     public int hashCode() {
         int hash = 5;
@@ -0,0 +1,92 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import com.github.erchu.beancp.Converter;
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Conversions between arrays of primitive types and arrays of its wrappers, for example
+ * {@code int[]} to {@code Integer[]} and {@code Integer[]} to {@code int[]}. Supported primitive
+ * types:
+ *
+ * <ul>
+ * <li>boolean</li>
+ * <li>byte</li>
+ * <li>char</li>
+ * <li>short</li>
+ * <li>int</li>
+ * <li>long</li>
+ * <li>float</li>
+ * <li>double</li>
+ * </ul>
+ *
+ * <p>
+ * Arrays of the same primitive type are copied using {@link System#arraycopy}. Elements are read
+ * and written without reflection.
+ * </p>
+ */
+public class ArrayConverters {
+
+    private static final Class[] PRIMITIVE_TYPES = {
+        boolean.class, byte.class, char.class, short.class,
+        int.class, long.class, float.class, double.class
+    };
+
+    private ArrayConverters() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        ArrayConverters.class));
+    }
+
+    /**
+     * Returns array converters.
+     *
+     * @return array converters.
+     */
+    public static Converter[] get() {
+        Converter[] result = new Converter[PRIMITIVE_TYPES.length * 3];
+        int i = 0;
+
+        for (Class iPrimitiveType : PRIMITIVE_TYPES) {
+            Class primitiveArrayClass = Array.newInstance(iPrimitiveType, 0).getClass();
+            Class wrapperArrayClass = Array.newInstance(
+                    ClassUtils.primitiveToWrapper(iPrimitiveType), 0).getClass();
+
+            result[i++] = new Converter(primitiveArrayClass, primitiveArrayClass,
+                    (Object source) -> {
+                        int length = Array.getLength(source);
+                        Object destination = Array.newInstance(iPrimitiveType, length);
+
+                        System.arraycopy(source, 0, destination, 0, length);
+
+                        return destination;
+                    });
+            result[i++] = new Converter(primitiveArrayClass, wrapperArrayClass,
+                    (Object source) -> PrimitiveArrays.box(source));
+            result[i++] = new Converter(wrapperArrayClass, primitiveArrayClass,
+                    (Object source) -> PrimitiveArrays.toArray(
+                            Arrays.asList((Object[]) source), iPrimitiveType));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.MappingException;
+import com.github.erchu.beancp.internal.ClassCache;
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bean properties and public instance fields of class indexed by case-insensitive name (see
+ * {@link MemberNameTrie}). Metadata is created once per class and shared by all conventions. It is
+ * kept in {@link ClassCache}, so metadata of JDK classes (ex. reached by flattening) does not keep
+ * class loader of this library alive.
+ */
+final class ClassMetadata {
+
+    private static final ClassCache<ClassMetadata> CACHE = new ClassCache<>(ClassMetadata::new);
+
+    private final PropertyDescriptor[] _properties;
+
+    private final List<Field> _instanceFields;
+
+    private final MemberNameTrie<PropertyDescriptor> _propertiesByName = new MemberNameTrie<>();
+
+    private final MemberNameTrie<Field> _instanceFieldsByName = new MemberNameTrie<>();
+
+    private ClassMetadata(final Class<?> ofClass) {
+        BeanInfo beanInfo;
+
+        try {
+            beanInfo = Introspector.getBeanInfo(ofClass);
+        } catch (IntrospectionException ex) {
+            throw new MappingException(
+                    String.format("Failed to get bean info for %s", ofClass), ex);
+        }
+
+        _properties = beanInfo.getPropertyDescriptors();
+        _instanceFields = Collections.unmodifiableList(Arrays.stream(ofClass.getFields())
+                .filter(i -> Modifier.isStatic(i.getModifiers()) == false)
+                .collect(Collectors.toList()));
+
+        for (PropertyDescriptor i : _properties) {
+            _propertiesByName.put(i.getName(), i);
+        }
+
+        for (Field i : _instanceFields) {
+            _instanceFieldsByName.put(i.getName(), i);
+        }
+    }
+
+    /**
+     * Returns metadata of class.
+     *
+     * @param ofClass class.
+     * @return metadata of class.
+     * @throws MappingException if class cannot be introspected.
+     */
+    static ClassMetadata of(final Class<?> ofClass) {
+        return CACHE.get(ofClass);
+    }
+
+    /**
+     * Returns bean properties of class. Returned array must not be modified.
+     */
+    PropertyDescriptor[] getProperties() {
+        return _properties;
+    }
+
+    /**
+     * Returns public non-static fields of class.
+     */
+    List<Field> getInstanceFields() {
+        return _instanceFields;
+    }
+
+    /**
+     * Returns bean property with name equal (ignoring case) to passed name or null if there is no
+     * such property.
+     */
+    PropertyDescriptor getProperty(final String name) {
+        return _propertiesByName.get(name);
+    }
+
+    /**
+     * Returns bean property with the longest name equal (ignoring case) to prefix of
+     * {@code name.substring(fromIndex)} or null if there is no such property.
+     */
+    MemberNameTrie.Match<PropertyDescriptor> findPropertyByPrefix(
+            final String name, final int fromIndex) {
+        return _propertiesByName.findLongestPrefix(name, fromIndex);
+    }
+
+    /**
+     * Returns public non-static field with name equal (ignoring case) to passed name or null if
+     * there is no such field.
+     */
+    Field getInstanceField(final String name) {
+        return _instanceFieldsByName.get(name);
+    }
+
+    /**
+     * Returns public non-static field with the longest name equal (ignoring case) to prefix of
+     * {@code name.substring(fromIndex)} or null if there is no such field.
+     */
+    MemberNameTrie.Match<Field> findInstanceFieldByPrefix(final String name, final int fromIndex) {
+        return _instanceFieldsByName.findLongestPrefix(name, fromIndex);
+    }
+}
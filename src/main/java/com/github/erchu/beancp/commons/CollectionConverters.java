@@ -41,6 +41,7 @@ import java.util.Vector;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.IntFunction;
 import com.github.erchu.beancp.Converter;
 import com.github.erchu.beancp.MappingException;
 
@@ -69,17 +70,25 @@ import com.github.erchu.beancp.MappingException;
  * <li>TreeSet</li>
  * <li>Vector</li>
  * </ul>
+ *
+ * <p>
+ * Arrays of primitive types are read and written without reflection. See also
+ * {@link ArrayConverters}.
+ * </p>
  */
 public class CollectionConverters {
 
     private final static Map<Class, Class<? extends Collection>> _defaultCollectionImplementations;
 
+    private final static Map<Class, IntFunction<Collection>> _collectionConstructors;
+
     private final static Converter[] _collectionToCollectionConverters;
 
     private final static Collection<Class<? extends Collection>> _collectionTypes;
 
     static {
         _defaultCollectionImplementations = getDefaultCollectionImplementations();
+        _collectionConstructors = getCollectionConstructors();
         _collectionTypes = getCollectionTypes();
         _collectionToCollectionConverters = buildCollectionToCollectionConverters(_collectionTypes);
     }
@@ -111,16 +120,12 @@ public class CollectionConverters {
                 (Object source) -> {
                     Collection<T> sourceCollection = (Collection<T>) source;
 
-                    Object destination = Array.newInstance(
-                            collectionElementClass, sourceCollection.size());
-
-                    int i = 0;
-
-                    for (T item : sourceCollection) {
-                        Array.set(destination, i++, item);
+                    if (collectionElementClass.isPrimitive()) {
+                        return PrimitiveArrays.toArray(sourceCollection, collectionElementClass);
                     }
 
-                    return destination;
+                    return sourceCollection.toArray((T[]) Array.newInstance(
+                            collectionElementClass, sourceCollection.size()));
                 }
         );
     }
@@ -142,10 +147,20 @@ public class CollectionConverters {
                     getArrayClass(collectionElementClass),
                     iCollectionType,
                     (Object source) -> {
-                        T[] sourceArray = (T[]) source;
-                        Collection destination = createCollectoinInstance(iCollectionType);
-
-                        Arrays.stream(sourceArray).forEach(destination::add);
+                        Collection destination = createCollectoinInstance(
+                                iCollectionType, Array.getLength(source));
+
+                        if (collectionElementClass.isPrimitive()) {
+                            if (destination instanceof CopyOnWriteArrayList
+                                    || destination instanceof CopyOnWriteArraySet) {
+                                // every add() copies whole array, so all elements are added at once
+                                destination.addAll(Arrays.asList(PrimitiveArrays.box(source)));
+                            } else {
+                                PrimitiveArrays.addAll(source, destination);
+                            }
+                        } else {
+                            destination.addAll(Arrays.asList((T[]) source));
+                        }
 
                         return destination;
                     }
@@ -214,7 +229,8 @@ public class CollectionConverters {
                     iCollectionType,
                     (Object source) -> {
                         Collection sourceCollection = (Collection) source;
-                        Collection destination = createCollectoinInstance(iCollectionType);
+                        Collection destination = createCollectoinInstance(
+                                iCollectionType, sourceCollection.size());
 
                         destination.addAll(sourceCollection);
 
@@ -226,23 +242,63 @@ public class CollectionConverters {
         return result;
     }
 
+    /**
+     * Returns constructors of collection implementations which create collection with capacity for
+     * expected number of elements (if collection has capacity), so adding elements does not need
+     * to resize collection.
+     */
+    private static Map<Class, IntFunction<Collection>> getCollectionConstructors() {
+        Map<Class, IntFunction<Collection>> result = new HashMap<>();
+
+        result.put(ArrayList.class, ArrayList::new);
+        result.put(Vector.class, Vector::new);
+        result.put(Stack.class, size -> {
+            Stack stack = new Stack();
+            stack.ensureCapacity(size);
+
+            return stack;
+        });
+        result.put(HashSet.class, size -> new HashSet(getHashCapacity(size)));
+        result.put(LinkedHashSet.class, size -> new LinkedHashSet(getHashCapacity(size)));
+        result.put(LinkedList.class, size -> new LinkedList());
+        result.put(TreeSet.class, size -> new TreeSet());
+        result.put(ConcurrentSkipListSet.class, size -> new ConcurrentSkipListSet());
+        result.put(CopyOnWriteArrayList.class, size -> new CopyOnWriteArrayList());
+        result.put(CopyOnWriteArraySet.class, size -> new CopyOnWriteArraySet());
+
+        return result;
+    }
+
+    /**
+     * Returns hash table capacity which allows to add {@code size} elements without rehashing
+     * (for default load factor).
+     */
+    static int getHashCapacity(final int size) {
+        return Math.max((int) (size / .75f) + 1, 16);
+    }
+
     private static Collection createCollectoinInstance(
-            final Class<? extends Collection> collectionType) {
-        try {
-            if (collectionType.isInterface() || Modifier.isAbstract(collectionType.getModifiers())) {
-                Class<? extends Collection> implementationType
-                        = _defaultCollectionImplementations.get(collectionType);
-
-                if (implementationType == null) {
-                    throw new MappingException(String.format(
-                            "I don't know which implementation of %s use.",
-                            collectionType));
-                }
+            final Class<? extends Collection> collectionType, final int size) {
+        Class<? extends Collection> implementationType = collectionType;
+
+        if (collectionType.isInterface() || Modifier.isAbstract(collectionType.getModifiers())) {
+            implementationType = _defaultCollectionImplementations.get(collectionType);
 
-                return implementationType.newInstance();
-            } else {
-                return collectionType.newInstance();
+            if (implementationType == null) {
+                throw new MappingException(String.format(
+                        "I don't know which implementation of %s use.",
+                        collectionType));
             }
+        }
+
+        IntFunction<Collection> constructor = _collectionConstructors.get(implementationType);
+
+        if (constructor != null) {
+            return constructor.apply(size);
+        }
+
+        try {
+            return implementationType.newInstance();
         } catch (InstantiationException | IllegalAccessException ex) {
             throw new MappingException(
                     String.format("Failed to create instance of %s class.", collectionType));
@@ -0,0 +1,162 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.util.AbstractMap;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import com.github.erchu.beancp.Converter;
+import com.github.erchu.beancp.MappingException;
+
+/**
+ * Converters from maps to maps. Supported destination map classes:
+ *
+ * <ul>
+ * <li>Map</li>
+ * <li>SortedMap</li>
+ * <li>NavigableMap</li>
+ * <li>ConcurrentMap</li>
+ * <li>ConcurrentNavigableMap</li>
+ * <li>AbstractMap</li>
+ * <li>HashMap</li>
+ * <li>LinkedHashMap</li>
+ * <li>TreeMap</li>
+ * <li>ConcurrentHashMap</li>
+ * <li>ConcurrentSkipListMap</li>
+ * <li>EnumMap</li>
+ * </ul>
+ *
+ * <p>
+ * Destination map is created with capacity for all entries of source map. Sorted source map
+ * converted to {@link TreeMap} keeps its comparator. Empty source map can be converted to
+ * {@link EnumMap} only if it is {@link EnumMap} too, because otherwise key type is unknown.
+ * </p>
+ *
+ * <p>
+ * Converters copy keys and values without any change. Maps with different key or value types
+ * (declared by generic type arguments) are mapped by {@link NameBasedMapConvention} entry by entry.
+ * </p>
+ */
+public class MapConverters {
+
+    private final static Map<Class, Function<Map, Map>> _mapConstructors;
+
+    private final static Converter[] _mapToMapConverters;
+
+    static {
+        _mapConstructors = getMapConstructors();
+        _mapToMapConverters = buildMapToMapConverters();
+    }
+
+    private MapConverters() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        MapConverters.class));
+    }
+
+    /**
+     * Returns map to map converters.
+     *
+     * @return map to map converters.
+     */
+    public static Converter[] get() {
+        return _mapToMapConverters;
+    }
+
+    private static Map<Class, Function<Map, Map>> getMapConstructors() {
+        // LinkedHashMap keeps order of supported classes, so converters are always in same order
+        Map<Class, Function<Map, Map>> result = new LinkedHashMap<>();
+
+        Function<Map, Map> hashMapConstructor = source -> {
+            Map destination = new HashMap(
+                    CollectionConverters.getHashCapacity(source.size()));
+            destination.putAll(source);
+
+            return destination;
+        };
+        Function<Map, Map> treeMapConstructor = source -> (source instanceof SortedMap)
+                ? new TreeMap((SortedMap) source)
+                : new TreeMap(source);
+        Function<Map, Map> concurrentHashMapConstructor = source -> {
+            Map destination = new ConcurrentHashMap(
+                    CollectionConverters.getHashCapacity(source.size()));
+            destination.putAll(source);
+
+            return destination;
+        };
+        Function<Map, Map> concurrentSkipListMapConstructor = source
+                -> (source instanceof SortedMap)
+                        ? new ConcurrentSkipListMap((SortedMap) source)
+                        : new ConcurrentSkipListMap(source);
+
+        result.put(Map.class, hashMapConstructor);
+        result.put(AbstractMap.class, hashMapConstructor);
+        result.put(HashMap.class, hashMapConstructor);
+        result.put(LinkedHashMap.class, source -> {
+            Map destination = new LinkedHashMap(
+                    CollectionConverters.getHashCapacity(source.size()));
+            destination.putAll(source);
+
+            return destination;
+        });
+        result.put(SortedMap.class, treeMapConstructor);
+        result.put(NavigableMap.class, treeMapConstructor);
+        result.put(TreeMap.class, treeMapConstructor);
+        result.put(ConcurrentMap.class, concurrentHashMapConstructor);
+        result.put(ConcurrentHashMap.class, concurrentHashMapConstructor);
+        result.put(ConcurrentNavigableMap.class, concurrentSkipListMapConstructor);
+        result.put(ConcurrentSkipListMap.class, concurrentSkipListMapConstructor);
+        result.put(EnumMap.class, source -> {
+            if (source.isEmpty() && (source instanceof EnumMap) == false) {
+                throw new MappingException(
+                        "Cannot convert empty map to EnumMap, because key type is unknown.");
+            }
+
+            return new EnumMap(source);
+        });
+
+        return result;
+    }
+
+    private static Converter[] buildMapToMapConverters() {
+        Converter[] result = new Converter[_mapConstructors.size()];
+        int i = 0;
+
+        for (Map.Entry<Class, Function<Map, Map>> iMapType : _mapConstructors.entrySet()) {
+            Function<Map, Map> constructor = iMapType.getValue();
+
+            result[i++] = new Converter(
+                    Map.class,
+                    iMapType.getKey(),
+                    (Object source) -> constructor.apply((Map) source));
+        }
+
+        return result;
+    }
+}
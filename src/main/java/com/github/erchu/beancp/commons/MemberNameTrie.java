@@ -0,0 +1,131 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prefix tree of member names, where names are compared case-insensitive. Used to find member
+ * which name is equal to or is the longest prefix of destination member name (see
+ * {@link NameBasedMapConvention#enableFlattening()}) in single walk over the name. Not thread-safe
+ * during building, instances must not be modified after publication.
+ *
+ * @param <T> member type.
+ */
+final class MemberNameTrie<T> {
+
+    /**
+     * Member matching some prefix of searched name.
+     *
+     * @param <T> member type.
+     */
+    static final class Match<T> {
+
+        private final T _member;
+
+        private final int _endIndex;
+
+        private Match(final T member, final int endIndex) {
+            _member = member;
+            _endIndex = endIndex;
+        }
+
+        /**
+         * Returns matching member.
+         */
+        T getMember() {
+            return _member;
+        }
+
+        /**
+         * Returns index in searched name directly after matched member name.
+         */
+        int getEndIndex() {
+            return _endIndex;
+        }
+    }
+
+    private static final class Node<T> {
+
+        private final Map<Character, Node<T>> _children = new HashMap<>(4);
+
+        private T _member;
+    }
+
+    private final Node<T> _root = new Node<>();
+
+    /**
+     * Adds member. If there is already member with name equal (ignoring case) then first added
+     * member is kept.
+     */
+    void put(final String name, final T member) {
+        Node<T> node = _root;
+
+        for (int i = 0; i < name.length(); i++) {
+            node = node._children.computeIfAbsent(foldCase(name.charAt(i)), key -> new Node<>());
+        }
+
+        if (node._member == null) {
+            node._member = member;
+        }
+    }
+
+    /**
+     * Returns member with name equal (ignoring case) to passed name or null if there is no such
+     * member.
+     */
+    T get(final String name) {
+        Match<T> result = findLongestPrefix(name, 0);
+
+        return (result != null && result.getEndIndex() == name.length())
+                ? result.getMember() : null;
+    }
+
+    /**
+     * Returns member with the longest name which is equal (ignoring case) to prefix of
+     * {@code name.substring(fromIndex)} or null if there is no such member.
+     */
+    Match<T> findLongestPrefix(final String name, final int fromIndex) {
+        Node<T> node = _root;
+        T lastMember = null;
+        int lastEndIndex = -1;
+
+        for (int i = fromIndex; i < name.length(); i++) {
+            node = node._children.get(foldCase(name.charAt(i)));
+
+            if (node == null) {
+                break;
+            }
+
+            if (node._member != null) {
+                lastMember = node._member;
+                lastEndIndex = i + 1;
+            }
+        }
+
+        return (lastMember != null) ? new Match<>(lastMember, lastEndIndex) : null;
+    }
+
+    /**
+     * Folds character case the same way as {@link String#equalsIgnoreCase(java.lang.String)}.
+     */
+    private static char foldCase(final char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -20,34 +20,43 @@ package com.github.erchu.beancp.commons;
 import com.github.erchu.beancp.FieldBindingSide;
 import com.github.erchu.beancp.PropertyBindingSide;
 import com.github.erchu.beancp.Binding;
+import com.github.erchu.beancp.BindingWithElementsMap;
+import com.github.erchu.beancp.BindingWithEntriesMap;
 import com.github.erchu.beancp.BindingWithValueConversion;
 import com.github.erchu.beancp.BindingWithValueMap;
 import com.github.erchu.beancp.BindingSide;
+import com.github.erchu.beancp.CompiledBinding;
 import com.github.erchu.beancp.MapConvention;
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import com.github.erchu.beancp.MappingException;
 import com.github.erchu.beancp.MappingInfo;
-import static org.apache.commons.lang3.ObjectUtils.*;
-import org.apache.commons.lang3.StringUtils;
 import static org.apache.commons.lang3.Validate.*;
 import com.github.erchu.beancp.MapperConfigurationException;
 import java.lang.reflect.Modifier;
 
 /**
  * Convention matches fields by name.
+ *
+ * <p>
+ * When source and destination members are collections with element types (declared by generic type
+ * arguments) which are not assignable, but can be mapped, then each element is mapped to
+ * destination element type (see {@link BindingWithElementsMap}). The same way keys and values of
+ * maps are mapped (see {@link BindingWithEntriesMap}).
+ * </p>
  */
 public class NameBasedMapConvention implements MapConvention {
 
@@ -57,6 +66,50 @@ public class NameBasedMapConvention implements MapConvention {
         PROPERTY
     }
 
+    /**
+     * Nested source class and index in destination member name from which source path is
+     * resolved.
+     */
+    private static final class SourcePathKey {
+
+        private final ClassMetadata _sourceMetadata;
+
+        private final int _fromIndex;
+
+        private final MemberAccessType _destinationMemberAccessType;
+
+        SourcePathKey(final ClassMetadata sourceMetadata, final int fromIndex,
+                final MemberAccessType destinationMemberAccessType) {
+            _sourceMetadata = sourceMetadata;
+            _fromIndex = fromIndex;
+            _destinationMemberAccessType = destinationMemberAccessType;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+
+            hash = 31 * hash + System.identityHashCode(_sourceMetadata);
+            hash = 31 * hash + _fromIndex;
+            hash = 31 * hash + _destinationMemberAccessType.hashCode();
+
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            final SourcePathKey other = (SourcePathKey) obj;
+
+            return _sourceMetadata == other._sourceMetadata
+                    && _fromIndex == other._fromIndex
+                    && _destinationMemberAccessType == other._destinationMemberAccessType;
+        }
+    }
+
     private List<Predicate<String>> _includeDestinationMembers;
 
     private List<Predicate<String>> _excludeDestinationMembers;
@@ -67,6 +120,10 @@ public class NameBasedMapConvention implements MapConvention {
 
     private boolean _failIfNotAllSourceMembersMapped;
 
+    private boolean _generatedAccessorsEnabled;
+
+    private boolean _codeGenerationEnabled;
+
     /**
      * Constructs new instance.
      */
@@ -82,6 +139,8 @@ public class NameBasedMapConvention implements MapConvention {
      * <li>Will <b>not</b> fail if not all <b>destination</b> members are mapped</li>
      * <li>Will <b>not</b> fail if not all <b>source</b> members are mapped</li>
      * <li>Flattening feature <b>disabled</b></li>
+     * <li>Generated accessors feature <b>disabled</b></li>
+     * <li>Code generation feature <b>disabled</b></li>
      * </ul>
      *
      * @return mapping convention.
@@ -93,6 +152,8 @@ public class NameBasedMapConvention implements MapConvention {
         defaultConvention._failIfNotAllDestinationMembersMapped = false;
         defaultConvention._failIfNotAllSourceMembersMapped = false;
         defaultConvention._flateningEnabled = false;
+        defaultConvention._generatedAccessorsEnabled = false;
+        defaultConvention._codeGenerationEnabled = false;
 
         return defaultConvention;
     }
@@ -208,6 +269,71 @@ public class NameBasedMapConvention implements MapConvention {
         return this;
     }
 
+    /**
+     * Enables generated accessors feature. When enabled, bound members are read and written by
+     * classes generated during map building instead of reflection, which avoids reflective call
+     * overhead on every mapped object. Accessors can be generated only for public members of
+     * public classes, for other members reflection is used. On Java 9+ accessor classes are defined
+     * by {@code Lookup.defineClass}, so declaring class must be in package open to this library
+     * (every package on class path is), otherwise reflection is used as well.
+     *
+     * <p>
+     * This feature can be disabled by {@link #disableGeneratedAccessors()} method.
+     * </p>
+     *
+     * @return this (for method chaining)
+     */
+    public NameBasedMapConvention enableGeneratedAccessors() {
+        _generatedAccessorsEnabled = true;
+
+        return this;
+    }
+
+    /**
+     * Disables generated accessors feature as described in {@link #enableGeneratedAccessors()}
+     * method. This is opposite to {@link #enableGeneratedAccessors()} method.
+     *
+     * @return this (for method chaining)
+     */
+    public NameBasedMapConvention disableGeneratedAccessors() {
+        _generatedAccessorsEnabled = false;
+
+        return this;
+    }
+
+    /**
+     * Enables code generation feature. When enabled, all bindings without value conversion or map
+     * (members of the same or assignable data types, including flattened source paths like
+     * {@code getCustomer().getName()}) are compiled during map building to single class, which
+     * copies all values in straight-line code. Conversions between primitive number members done
+     * by {@link NumberConverters} are compiled to Java cast, so values are not boxed. See
+     * {@link CompiledBinding} for details. When copy class cannot be defined (ex. on Java 9+
+     * destination class package is not open to this library) bindings are executed as usual.
+     *
+     * <p>
+     * This feature can be disabled by {@link #disableCodeGeneration()} method.
+     * </p>
+     *
+     * @return this (for method chaining)
+     */
+    public NameBasedMapConvention enableCodeGeneration() {
+        _codeGenerationEnabled = true;
+
+        return this;
+    }
+
+    /**
+     * Disables code generation feature as described in {@link #enableCodeGeneration()} method. This
+     * is opposite to {@link #enableCodeGeneration()} method.
+     *
+     * @return this (for method chaining)
+     */
+    public NameBasedMapConvention disableCodeGeneration() {
+        _codeGenerationEnabled = false;
+
+        return this;
+    }
+
     /**
      * Convention will fail during map building (see
      * {@link #getBindings(com.github.erchu.beancp.MappingInfo, java.lang.Class, java.lang.Class)}
@@ -240,37 +366,24 @@ public class NameBasedMapConvention implements MapConvention {
             final Class sourceClass,
             final Class destinationClass) {
         List<Binding> result = new LinkedList<>();
-        BeanInfo sourceBeanInfo, destinationBeanInfo;
-
-        try {
-            destinationBeanInfo = Introspector.getBeanInfo(destinationClass);
-        } catch (IntrospectionException ex) {
-            throw new MappingException(
-                    String.format("Failed to get bean info for %s", destinationClass), ex);
-        }
-
-        try {
-            sourceBeanInfo = Introspector.getBeanInfo(sourceClass);
-        } catch (IntrospectionException ex) {
-            throw new MappingException(
-                    String.format("Failed to get bean info for %s", sourceClass), ex);
-        }
+        ClassMetadata sourceMetadata = ClassMetadata.of(sourceClass);
+        ClassMetadata destinationMetadata = ClassMetadata.of(destinationClass);
 
         boolean allDestinationMembersMapped = true;
 
-        for (PropertyDescriptor destinationProperty : destinationBeanInfo.getPropertyDescriptors()) {
+        for (PropertyDescriptor destinationProperty : destinationMetadata.getProperties()) {
             Method destinationMember = destinationProperty.getWriteMethod();
 
             if (destinationMember != null) {
                 BindingSide destinationBindingSide
-                        = new PropertyBindingSide(destinationProperty);
+                        = new PropertyBindingSide(destinationProperty, _generatedAccessorsEnabled);
 
                 if (isDestinationMemberExpectedToBind(destinationBindingSide) == false) {
                     continue;
                 }
 
                 List<BindingSide> sourceBindingSide
-                        = getMatchingSourceMemberByName(sourceBeanInfo, sourceClass,
+                        = getMatchingSourceMemberByName(sourceMetadata,
                                 destinationProperty.getName(), MemberAccessType.PROPERTY);
 
                 if (sourceBindingSide != null) {
@@ -293,19 +406,20 @@ public class NameBasedMapConvention implements MapConvention {
             }
         }
 
-        for (Field destinationMember : getInstanceFields(destinationClass)) {
+        for (Field destinationMember : destinationMetadata.getInstanceFields()) {
             if (Modifier.isFinal(destinationMember.getModifiers())) {
                 continue;
             }
             
-            BindingSide destinationBindingSide = new FieldBindingSide(destinationMember);
+            BindingSide destinationBindingSide
+                    = new FieldBindingSide(destinationMember, _generatedAccessorsEnabled);
 
             if (isDestinationMemberExpectedToBind(destinationBindingSide) == false) {
                 continue;
             }
 
             List<BindingSide> sourceBindingSide
-                    = getMatchingSourceMemberByName(sourceBeanInfo, sourceClass,
+                    = getMatchingSourceMemberByName(sourceMetadata,
                             destinationMember.getName(), MemberAccessType.FIELD);
 
             if (sourceBindingSide != null) {
@@ -337,8 +451,11 @@ public class NameBasedMapConvention implements MapConvention {
 
         if (_failIfNotAllSourceMembersMapped) {
             boolean allSourceMembersMapped = true;
+            Set<String> mappedSourceMembers = result.stream()
+                    .map(i -> getSourceMemberKey(i.getSourcePath()[0]))
+                    .collect(Collectors.toSet());
 
-            for (PropertyDescriptor sourceProperty : sourceBeanInfo.getPropertyDescriptors()) {
+            for (PropertyDescriptor sourceProperty : sourceMetadata.getProperties()) {
                 Method sourceMember = sourceProperty.getReadMethod();
 
                 if (sourceMember != null) {
@@ -348,7 +465,8 @@ public class NameBasedMapConvention implements MapConvention {
 
                     BindingSide sourceBindingSide = new PropertyBindingSide(sourceProperty);
 
-                    if (isSourceMemberMapped(result, sourceBindingSide) == false) {
+                    if (mappedSourceMembers.contains(getSourceMemberKey(sourceBindingSide))
+                            == false) {
                         allSourceMembersMapped = false;
                         break;
                     }
@@ -357,14 +475,15 @@ public class NameBasedMapConvention implements MapConvention {
 
             // if all properties are mapped we still need to check fields
             if (allSourceMembersMapped) {
-                for (Field sourceMember : getInstanceFields(sourceClass)) {
+                for (Field sourceMember : sourceMetadata.getInstanceFields()) {
                     if (sourceMember.getDeclaringClass().equals(Object.class)) {
                         continue;
                     }
 
                     BindingSide sourceBindingSide = new FieldBindingSide(sourceMember);
 
-                    if (isSourceMemberMapped(result, sourceBindingSide) == false) {
+                    if (mappedSourceMembers.contains(getSourceMemberKey(sourceBindingSide))
+                            == false) {
                         allSourceMembersMapped = false;
                         break;
                     }
@@ -378,13 +497,11 @@ public class NameBasedMapConvention implements MapConvention {
             }
         }
 
-        return result;
-    }
+        if (_codeGenerationEnabled) {
+            return CompiledBinding.compile(result, mappingsInfo);
+        }
 
-    private boolean isSourceMemberMapped(
-            final List<Binding> allBindings, final BindingSide sourceBindingSide) {
-        return allBindings.stream()
-                .anyMatch(i -> i.getSourcePath()[0].equals(sourceBindingSide));
+        return result;
     }
 
     private boolean isDestinationMemberExpectedToBind(BindingSide destinationBindingSide) {
@@ -411,149 +528,149 @@ public class NameBasedMapConvention implements MapConvention {
     }
 
     private List<BindingSide> getMatchingSourceMemberByName(
-            final BeanInfo sourceBeanInfo,
-            final Class sourceClass,
+            final ClassMetadata sourceMetadata,
             final String atDestinationName,
             final MemberAccessType destinationMemberAccessType) {
-        List<BindingSide> matchingSourcePropertyBindingSide = getMatchingPropertyByName(
-                sourceBeanInfo, atDestinationName, destinationMemberAccessType);
+        return getMatchingSourceMemberByName(sourceMetadata, atDestinationName, 0,
+                destinationMemberAccessType, new HashMap<>());
+    }
 
-        List<BindingSide> matchingSourceFieldBindingSide = getMatchingFieldByName(
-                sourceClass, atDestinationName, destinationMemberAccessType);
+    /**
+     * Returns path to source member matching {@code atDestinationName.substring(fromIndex)} or
+     * null if there is no such member. Member names are resolved by single walk over
+     * {@link MemberNameTrie} of source class. When flattening is enabled the same nested class and
+     * name suffix may be reached by many paths (for example on self-referencing models), so results
+     * are memoized in {@code resolvedPaths}. Each nesting level consumes at least one character of
+     * destination member name, so recursion depth is limited by name length.
+     */
+    private List<BindingSide> getMatchingSourceMemberByName(
+            final ClassMetadata sourceMetadata,
+            final String atDestinationName,
+            final int fromIndex,
+            final MemberAccessType destinationMemberAccessType,
+            final Map<SourcePathKey, List<BindingSide>> resolvedPaths) {
+        SourcePathKey key
+                = new SourcePathKey(sourceMetadata, fromIndex, destinationMemberAccessType);
+
+        if (resolvedPaths.containsKey(key)) {
+            return resolvedPaths.get(key);
+        }
+
+        List<BindingSide> result;
 
         switch (destinationMemberAccessType) {
             case FIELD:
-                return firstNonNull(
-                        matchingSourceFieldBindingSide, matchingSourcePropertyBindingSide);
+                result = getMatchingFieldByName(sourceMetadata, atDestinationName, fromIndex,
+                        destinationMemberAccessType, resolvedPaths);
+
+                if (result == null) {
+                    result = getMatchingPropertyByName(sourceMetadata, atDestinationName,
+                            fromIndex, destinationMemberAccessType, resolvedPaths);
+                }
+
+                break;
             case PROPERTY:
-                return firstNonNull(
-                        matchingSourcePropertyBindingSide, matchingSourceFieldBindingSide);
+                result = getMatchingPropertyByName(sourceMetadata, atDestinationName, fromIndex,
+                        destinationMemberAccessType, resolvedPaths);
+
+                if (result == null) {
+                    result = getMatchingFieldByName(sourceMetadata, atDestinationName,
+                            fromIndex, destinationMemberAccessType, resolvedPaths);
+                }
+
+                break;
             default:
                 throw new IllegalArgumentException(String.format("Unknow member access type: %s",
                         destinationMemberAccessType));
         }
+
+        resolvedPaths.put(key, result);
+
+        return result;
     }
 
     private List<BindingSide> getMatchingPropertyByName(
-            final BeanInfo sourceBeanInfo,
+            final ClassMetadata sourceMetadata,
             final String atDestinationName,
-            final MemberAccessType destinationMemberAccessType) {
-        Optional<PropertyDescriptor> exactMatchResult
-                = Arrays.stream(sourceBeanInfo.getPropertyDescriptors())
-                .filter(i -> i.getName().equalsIgnoreCase(atDestinationName))
-                .findFirst();
-
-        if (exactMatchResult.isPresent()) {
-            List<BindingSide> result = new LinkedList<>();
-            result.add(new PropertyBindingSide(exactMatchResult.get()));
+            final int fromIndex,
+            final MemberAccessType destinationMemberAccessType,
+            final Map<SourcePathKey, List<BindingSide>> resolvedPaths) {
+        MemberNameTrie.Match<PropertyDescriptor> matchResult
+                = sourceMetadata.findPropertyByPrefix(atDestinationName, fromIndex);
 
-            return result;
+        if (matchResult == null) {
+            return null;
         }
 
-        if (_flateningEnabled) {
-            Optional<PropertyDescriptor> partiallyMatchResult
-                    = Arrays.stream(sourceBeanInfo.getPropertyDescriptors())
-                    .filter(i -> StringUtils.startsWithIgnoreCase(atDestinationName, i.getName()))
-                    .sorted((x, y) -> y.getName().length() - x.getName().length())
-                    .findFirst();
-
-            if (partiallyMatchResult.isPresent()) {
-                BindingSide firstBinding = new PropertyBindingSide(partiallyMatchResult.get());
-                Class innerPropertyClass = firstBinding.getValueClass();
-
-                return getInnerMatchingSourceMemberByName(
-                        innerPropertyClass,
-                        atDestinationName,
-                        firstBinding,
-                        destinationMemberAccessType);
-            } else {
-                return null;
-            }
+        boolean exactMatch = (matchResult.getEndIndex() == atDestinationName.length());
+
+        if (exactMatch == false && _flateningEnabled == false) {
+            return null;
         }
 
-        return null;
+        BindingSide firstBinding = new PropertyBindingSide(
+                matchResult.getMember(), _generatedAccessorsEnabled);
+
+        return getSourcePathStartingWith(firstBinding, atDestinationName,
+                matchResult.getEndIndex(), destinationMemberAccessType, resolvedPaths);
     }
 
     private List<BindingSide> getMatchingFieldByName(
-            final Class sourceClass,
+            final ClassMetadata sourceMetadata,
             final String atDestinationName,
-            final MemberAccessType destinationMemberAccessType) {
-        Optional<Field> exactMatchResult
-                = getInstanceFields(sourceClass).stream()
-                .filter(i -> i.getName().equalsIgnoreCase(atDestinationName))
-                .findFirst();
-
-        if (exactMatchResult.isPresent()) {
-            List<BindingSide> result = new LinkedList<>();
-            result.add(new FieldBindingSide(exactMatchResult.get()));
+            final int fromIndex,
+            final MemberAccessType destinationMemberAccessType,
+            final Map<SourcePathKey, List<BindingSide>> resolvedPaths) {
+        MemberNameTrie.Match<Field> matchResult
+                = sourceMetadata.findInstanceFieldByPrefix(atDestinationName, fromIndex);
 
-            return result;
+        if (matchResult == null) {
+            return null;
         }
 
-        if (_flateningEnabled) {
-            Optional<Field> partiallyMatchResult
-                    = getInstanceFields(sourceClass).stream()
-                    .filter(i -> StringUtils.startsWithIgnoreCase(atDestinationName, i.getName()))
-                    .sorted((x, y) -> y.getName().length() - x.getName().length())
-                    .findFirst();
-
-            if (partiallyMatchResult.isPresent()) {
-                BindingSide firstBinding = new FieldBindingSide(partiallyMatchResult.get());
-                Class innerPropertyClass = firstBinding.getValueClass();
-
-                return getInnerMatchingSourceMemberByName(
-                        innerPropertyClass,
-                        atDestinationName,
-                        firstBinding,
-                        destinationMemberAccessType);
-            } else {
-                return null;
-            }
+        boolean exactMatch = (matchResult.getEndIndex() == atDestinationName.length());
+
+        if (exactMatch == false && _flateningEnabled == false) {
+            return null;
         }
 
-        return null;
-    }
+        BindingSide firstBinding = new FieldBindingSide(
+                matchResult.getMember(), _generatedAccessorsEnabled);
 
-    private List<Field> getInstanceFields(final Class sourceClass) throws SecurityException {
-        return Arrays.stream(sourceClass.getFields())
-                .filter(i -> Modifier.isStatic(i.getModifiers()) == false)
-                .collect(Collectors.toList());
+        return getSourcePathStartingWith(firstBinding, atDestinationName,
+                matchResult.getEndIndex(), destinationMemberAccessType, resolvedPaths);
     }
 
-    private List<BindingSide> getInnerMatchingSourceMemberByName(
-            final Class innerPropertyClass,
-            final String atDestinationName,
+    private List<BindingSide> getSourcePathStartingWith(
             final BindingSide firstBinding,
-            final MemberAccessType destinationMemberAccessType)
+            final String atDestinationName,
+            final int innerFromIndex,
+            final MemberAccessType destinationMemberAccessType,
+            final Map<SourcePathKey, List<BindingSide>> resolvedPaths)
             throws MappingException {
-        BeanInfo innerPropertyBeanInfo;
+        List<BindingSide> result = new LinkedList<>();
+        result.add(firstBinding);
 
-        try {
-            innerPropertyBeanInfo = Introspector.getBeanInfo(innerPropertyClass);
-        } catch (IntrospectionException ex) {
-            throw new MappingException(
-                    String.format("Failed to get bean info for %s", innerPropertyClass), ex);
+        if (innerFromIndex == atDestinationName.length()) {
+            return result;
         }
 
-        String innerDestinationName
-                = atDestinationName.substring(firstBinding.getName().length());
-
-        List<BindingSide> result
-                = getMatchingSourceMemberByName(
-                        innerPropertyBeanInfo,
-                        innerPropertyClass,
-                        innerDestinationName,
-                        destinationMemberAccessType);
-
-        if (result != null) {
-            result.add(0, firstBinding);
+        List<BindingSide> innerPath = getMatchingSourceMemberByName(
+                ClassMetadata.of(firstBinding.getValueClass()),
+                atDestinationName,
+                innerFromIndex,
+                destinationMemberAccessType,
+                resolvedPaths);
 
-            return result;
-        } else {
+        if (innerPath == null) {
             return null;
         }
-    }
 
+        // memoized paths are shared, so they must not be modified
+        result.addAll(innerPath);
+
+        return result;
+    }
     private Binding getBindingIfAvailable(
             final Class sourceClass,
             final Class destinationClass,
@@ -563,6 +680,20 @@ public class NameBasedMapConvention implements MapConvention {
         Class sourceValueClass = sourceBindingSide[sourceBindingSide.length - 1].getValueClass();
         Class destinationValueClass = destinationBindingSide.getValueClass();
 
+        Binding elementsBinding = getElementsBindingIfAvailable(
+                mappingsInfo, sourceBindingSide, destinationBindingSide);
+
+        if (elementsBinding != null) {
+            return elementsBinding;
+        }
+
+        Binding entriesBinding = getEntriesBindingIfAvailable(
+                mappingsInfo, sourceBindingSide, destinationBindingSide);
+
+        if (entriesBinding != null) {
+            return entriesBinding;
+        }
+
         if (sourceValueClass.equals(destinationValueClass)) {
             return new Binding(sourceBindingSide, destinationBindingSide);
         } else {
@@ -580,6 +711,105 @@ public class NameBasedMapConvention implements MapConvention {
         }
     }
 
+    /**
+     * Returns binding which maps elements of source collection if source and destination members
+     * are collections with element types (declared by generic type arguments) which are not
+     * assignable, but can be mapped.
+     */
+    private static Binding getElementsBindingIfAvailable(
+            final MappingInfo mappingsInfo,
+            final BindingSide[] sourceBindingSide,
+            final BindingSide destinationBindingSide) {
+        Class sourceElementClass = sourceBindingSide[sourceBindingSide.length - 1]
+                .getValueTypeArgumentClass(Collection.class, 0);
+        Class destinationElementClass
+                = destinationBindingSide.getValueTypeArgumentClass(Collection.class, 0);
+
+        if (sourceElementClass == null || destinationElementClass == null
+                || destinationElementClass.isAssignableFrom(sourceElementClass)) {
+            return null;
+        }
+
+        if (isMappable(mappingsInfo, sourceElementClass, destinationElementClass) == false) {
+            return null;
+        }
+
+        Class destinationValueClass = destinationBindingSide.getValueClass();
+
+        // elements are mapped to ArrayList which must be assignable or convertible to destination
+        if (destinationValueClass.isAssignableFrom(ArrayList.class) == false
+                && mappingsInfo.isConverterAvailable(
+                        ArrayList.class, destinationValueClass) == false) {
+            return null;
+        }
+
+        return new BindingWithElementsMap(
+                sourceBindingSide, destinationBindingSide, destinationElementClass);
+    }
+
+    /**
+     * Returns binding which maps keys and (or) values of source map if source and destination
+     * members are maps with key or value types (declared by generic type arguments) which are not
+     * assignable, but can be mapped.
+     */
+    private static Binding getEntriesBindingIfAvailable(
+            final MappingInfo mappingsInfo,
+            final BindingSide[] sourceBindingSide,
+            final BindingSide destinationBindingSide) {
+        BindingSide sourceMember = sourceBindingSide[sourceBindingSide.length - 1];
+
+        Class sourceKeyClass = sourceMember.getValueTypeArgumentClass(Map.class, 0);
+        Class sourceValueClass = sourceMember.getValueTypeArgumentClass(Map.class, 1);
+        Class destinationKeyClass = destinationBindingSide.getValueTypeArgumentClass(Map.class, 0);
+        Class destinationValueClass
+                = destinationBindingSide.getValueTypeArgumentClass(Map.class, 1);
+
+        if (sourceKeyClass == null || sourceValueClass == null
+                || destinationKeyClass == null || destinationValueClass == null) {
+            return null;
+        }
+
+        boolean keysAssignable = destinationKeyClass.isAssignableFrom(sourceKeyClass);
+        boolean valuesAssignable = destinationValueClass.isAssignableFrom(sourceValueClass);
+
+        if ((keysAssignable && valuesAssignable)
+                || (keysAssignable == false
+                && isMappable(mappingsInfo, sourceKeyClass, destinationKeyClass) == false)
+                || (valuesAssignable == false
+                && isMappable(mappingsInfo, sourceValueClass, destinationValueClass) == false)) {
+            return null;
+        }
+
+        Class destinationMemberClass = destinationBindingSide.getValueClass();
+
+        // entries are put to LinkedHashMap which must be assignable or convertible to destination
+        if (destinationMemberClass.isAssignableFrom(LinkedHashMap.class) == false
+                && mappingsInfo.isConverterAvailable(
+                        LinkedHashMap.class, destinationMemberClass) == false) {
+            return null;
+        }
+
+        return new BindingWithEntriesMap(
+                sourceBindingSide, destinationBindingSide,
+                keysAssignable ? null : destinationKeyClass,
+                valuesAssignable ? null : destinationValueClass);
+    }
+
+    /**
+     * Returns key identifying source member by its kind (property or field) and name. Binding sides
+     * are not used as keys, because {@link PropertyBindingSide#equals(java.lang.Object)} compares
+     * value classes only.
+     */
+    private static String getSourceMemberKey(final BindingSide sourceMember) {
+        return sourceMember.getClass().getName() + "#" + sourceMember.getName();
+    }
+
+    private static boolean isMappable(
+            final MappingInfo mappingsInfo, final Class sourceClass, final Class destinationClass) {
+        return mappingsInfo.isConverterAvailable(sourceClass, destinationClass)
+                || mappingsInfo.isMapAvailable(sourceClass, destinationClass);
+    }
+
     private static List<Predicate<String>> toPredicates(final String[] members) {
         return Arrays.stream(members)
                 .map(i -> Pattern.compile(i, Pattern.CASE_INSENSITIVE).asPredicate())
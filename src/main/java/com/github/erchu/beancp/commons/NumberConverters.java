@@ -17,7 +17,6 @@
  */
 package com.github.erchu.beancp.commons;
 
-import java.util.function.Function;
 import com.github.erchu.beancp.Converter;
 
 /**
@@ -37,6 +36,11 @@ import com.github.erchu.beancp.Converter;
  * <li>java.lang.Float</li>
  * <li>java.lang.Double</li>
  * </ul>
+ *
+ * <p>
+ * All conversions are created by {@link Converter#numberCast(java.lang.Class, java.lang.Class)},
+ * so conversions between primitive members may be executed without boxing of values.
+ * </p>
  */
 public class NumberConverters {
 
@@ -54,42 +58,42 @@ public class NumberConverters {
      */
     public static Converter[] get() {
         return new Converter[] {
-            new Converter(byte.class, Byte.class, ((Function<Byte, Byte>) (source -> source))),
-            new Converter(short.class, Short.class, ((Function<Short, Short>) (source -> source))),
-            new Converter(int.class, Integer.class, ((Function<Integer, Integer>) (source -> source))),
-            new Converter(long.class, Long.class, ((Function<Long, Long>) (source -> source))),
-            new Converter(float.class, Float.class, ((Function<Float, Float>) (source -> source))),
-            new Converter(double.class, Double.class, ((Function<Double, Double>) (source -> source))),
-            new Converter(Byte.class, Short.class, ((Function<Byte, Short>) (source -> source.shortValue()))),
-            new Converter(Byte.class, Integer.class, ((Function<Byte, Integer>) (source -> source.intValue()))),
-            new Converter(Byte.class, Long.class, ((Function<Byte, Long>) (source -> source.longValue()))),
-            new Converter(Byte.class, Float.class, ((Function<Byte, Float>) (source -> source.floatValue()))),
-            new Converter(Byte.class, Double.class, ((Function<Byte, Double>) (source -> source.doubleValue()))),
-            new Converter(Short.class, Byte.class, ((Function<Short, Byte>) (source -> source.byteValue()))),
-            new Converter(Short.class, Integer.class, ((Function<Short, Integer>) (source -> source.intValue()))),
-            new Converter(Short.class, Long.class, ((Function<Short, Long>) (source -> source.longValue()))),
-            new Converter(Short.class, Float.class, ((Function<Short, Float>) (source -> source.floatValue()))),
-            new Converter(Short.class, Double.class, ((Function<Short, Double>) (source -> source.doubleValue()))),
-            new Converter(Integer.class, Byte.class, ((Function<Integer, Byte>) (source -> source.byteValue()))),
-            new Converter(Integer.class, Short.class, ((Function<Integer, Short>) (source -> source.shortValue()))),
-            new Converter(Integer.class, Long.class, ((Function<Integer, Long>) (source -> source.longValue()))),
-            new Converter(Integer.class, Float.class, ((Function<Integer, Float>) (source -> source.floatValue()))),
-            new Converter(Integer.class, Double.class, ((Function<Integer, Double>) (source -> source.doubleValue()))),
-            new Converter(Long.class, Byte.class, ((Function<Long, Byte>) (source -> source.byteValue()))),
-            new Converter(Long.class, Short.class, ((Function<Long, Short>) (source -> source.shortValue()))),
-            new Converter(Long.class, Integer.class, ((Function<Long, Integer>) (source -> source.intValue()))),
-            new Converter(Long.class, Float.class, ((Function<Long, Float>) (source -> source.floatValue()))),
-            new Converter(Long.class, Double.class, ((Function<Long, Double>) (source -> source.doubleValue()))),
-            new Converter(Float.class, Byte.class, ((Function<Float, Byte>) (source -> source.byteValue()))),
-            new Converter(Float.class, Short.class, ((Function<Float, Short>) (source -> source.shortValue()))),
-            new Converter(Float.class, Integer.class, ((Function<Float, Integer>) (source -> source.intValue()))),
-            new Converter(Float.class, Long.class, ((Function<Float, Long>) (source -> source.longValue()))),
-            new Converter(Float.class, Double.class, ((Function<Float, Double>) (source -> source.doubleValue()))),
-            new Converter(Double.class, Byte.class, ((Function<Double, Byte>) (source -> source.byteValue()))),
-            new Converter(Double.class, Short.class, ((Function<Double, Short>) (source -> source.shortValue()))),
-            new Converter(Double.class, Integer.class, ((Function<Double, Integer>) (source -> source.intValue()))),
-            new Converter(Double.class, Long.class, ((Function<Double, Long>) (source -> source.longValue()))),
-            new Converter(Double.class, Float.class, ((Function<Double, Float>) (source -> source.floatValue())))
+            Converter.numberCast(byte.class, Byte.class),
+            Converter.numberCast(short.class, Short.class),
+            Converter.numberCast(int.class, Integer.class),
+            Converter.numberCast(long.class, Long.class),
+            Converter.numberCast(float.class, Float.class),
+            Converter.numberCast(double.class, Double.class),
+            Converter.numberCast(Byte.class, Short.class),
+            Converter.numberCast(Byte.class, Integer.class),
+            Converter.numberCast(Byte.class, Long.class),
+            Converter.numberCast(Byte.class, Float.class),
+            Converter.numberCast(Byte.class, Double.class),
+            Converter.numberCast(Short.class, Byte.class),
+            Converter.numberCast(Short.class, Integer.class),
+            Converter.numberCast(Short.class, Long.class),
+            Converter.numberCast(Short.class, Float.class),
+            Converter.numberCast(Short.class, Double.class),
+            Converter.numberCast(Integer.class, Byte.class),
+            Converter.numberCast(Integer.class, Short.class),
+            Converter.numberCast(Integer.class, Long.class),
+            Converter.numberCast(Integer.class, Float.class),
+            Converter.numberCast(Integer.class, Double.class),
+            Converter.numberCast(Long.class, Byte.class),
+            Converter.numberCast(Long.class, Short.class),
+            Converter.numberCast(Long.class, Integer.class),
+            Converter.numberCast(Long.class, Float.class),
+            Converter.numberCast(Long.class, Double.class),
+            Converter.numberCast(Float.class, Byte.class),
+            Converter.numberCast(Float.class, Short.class),
+            Converter.numberCast(Float.class, Integer.class),
+            Converter.numberCast(Float.class, Long.class),
+            Converter.numberCast(Float.class, Double.class),
+            Converter.numberCast(Double.class, Byte.class),
+            Converter.numberCast(Double.class, Short.class),
+            Converter.numberCast(Double.class, Integer.class),
+            Converter.numberCast(Double.class, Long.class),
+            Converter.numberCast(Double.class, Float.class)
         };
     }
 }
@@ -0,0 +1,235 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.util.Collection;
+
+/**
+ * Operations on arrays of primitive types which read and write elements without reflection and
+ * without intermediate arrays of wrappers.
+ */
+final class PrimitiveArrays {
+
+    private PrimitiveArrays() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        PrimitiveArrays.class));
+    }
+
+    /**
+     * Adds all elements of array of primitive type to collection.
+     *
+     * @param source array of primitive type.
+     * @param destination destination collection.
+     */
+    static void addAll(final Object source, final Collection destination) {
+        if (source instanceof int[]) {
+            for (int i : (int[]) source) {
+                destination.add(i);
+            }
+        } else if (source instanceof long[]) {
+            for (long i : (long[]) source) {
+                destination.add(i);
+            }
+        } else if (source instanceof double[]) {
+            for (double i : (double[]) source) {
+                destination.add(i);
+            }
+        } else if (source instanceof float[]) {
+            for (float i : (float[]) source) {
+                destination.add(i);
+            }
+        } else if (source instanceof short[]) {
+            for (short i : (short[]) source) {
+                destination.add(i);
+            }
+        } else if (source instanceof byte[]) {
+            for (byte i : (byte[]) source) {
+                destination.add(i);
+            }
+        } else if (source instanceof char[]) {
+            for (char i : (char[]) source) {
+                destination.add(i);
+            }
+        } else {
+            for (boolean i : (boolean[]) source) {
+                destination.add(i);
+            }
+        }
+    }
+
+    /**
+     * Creates array of primitive type containing all elements of collection.
+     *
+     * @param source source collection.
+     * @param elementClass primitive type.
+     * @return array of primitive type.
+     */
+    static Object toArray(final Collection<?> source, final Class elementClass) {
+        int i = 0;
+
+        if (elementClass == int.class) {
+            int[] result = new int[source.size()];
+
+            for (Object item : source) {
+                result[i++] = (Integer) item;
+            }
+
+            return result;
+        } else if (elementClass == long.class) {
+            long[] result = new long[source.size()];
+
+            for (Object item : source) {
+                result[i++] = (Long) item;
+            }
+
+            return result;
+        } else if (elementClass == double.class) {
+            double[] result = new double[source.size()];
+
+            for (Object item : source) {
+                result[i++] = (Double) item;
+            }
+
+            return result;
+        } else if (elementClass == float.class) {
+            float[] result = new float[source.size()];
+
+            for (Object item : source) {
+                result[i++] = (Float) item;
+            }
+
+            return result;
+        } else if (elementClass == short.class) {
+            short[] result = new short[source.size()];
+
+            for (Object item : source) {
+                result[i++] = (Short) item;
+            }
+
+            return result;
+        } else if (elementClass == byte.class) {
+            byte[] result = new byte[source.size()];
+
+            for (Object item : source) {
+                result[i++] = (Byte) item;
+            }
+
+            return result;
+        } else if (elementClass == char.class) {
+            char[] result = new char[source.size()];
+
+            for (Object item : source) {
+                result[i++] = (Character) item;
+            }
+
+            return result;
+        } else {
+            boolean[] result = new boolean[source.size()];
+
+            for (Object item : source) {
+                result[i++] = (Boolean) item;
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Creates array of wrappers containing all elements of array of primitive type.
+     *
+     * @param source array of primitive type.
+     * @return array of wrappers.
+     */
+    static Object[] box(final Object source) {
+        if (source instanceof int[]) {
+            int[] sourceArray = (int[]) source;
+            Integer[] result = new Integer[sourceArray.length];
+
+            for (int i = 0; i < sourceArray.length; i++) {
+                result[i] = sourceArray[i];
+            }
+
+            return result;
+        } else if (source instanceof long[]) {
+            long[] sourceArray = (long[]) source;
+            Long[] result = new Long[sourceArray.length];
+
+            for (int i = 0; i < sourceArray.length; i++) {
+                result[i] = sourceArray[i];
+            }
+
+            return result;
+        } else if (source instanceof double[]) {
+            double[] sourceArray = (double[]) source;
+            Double[] result = new Double[sourceArray.length];
+
+            for (int i = 0; i < sourceArray.length; i++) {
+                result[i] = sourceArray[i];
+            }
+
+            return result;
+        } else if (source instanceof float[]) {
+            float[] sourceArray = (float[]) source;
+            Float[] result = new Float[sourceArray.length];
+
+            for (int i = 0; i < sourceArray.length; i++) {
+                result[i] = sourceArray[i];
+            }
+
+            return result;
+        } else if (source instanceof short[]) {
+            short[] sourceArray = (short[]) source;
+            Short[] result = new Short[sourceArray.length];
+
+            for (int i = 0; i < sourceArray.length; i++) {
+                result[i] = sourceArray[i];
+            }
+
+            return result;
+        } else if (source instanceof byte[]) {
+            byte[] sourceArray = (byte[]) source;
+            Byte[] result = new Byte[sourceArray.length];
+
+            for (int i = 0; i < sourceArray.length; i++) {
+                result[i] = sourceArray[i];
+            }
+
+            return result;
+        } else if (source instanceof char[]) {
+            char[] sourceArray = (char[]) source;
+            Character[] result = new Character[sourceArray.length];
+
+            for (int i = 0; i < sourceArray.length; i++) {
+                result[i] = sourceArray[i];
+            }
+
+            return result;
+        } else {
+            boolean[] sourceArray = (boolean[]) source;
+            Boolean[] result = new Boolean[sourceArray.length];
+
+            for (int i = 0; i < sourceArray.length; i++) {
+                result[i] = sourceArray[i];
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.internal;
+
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Cache of values computed per class, which does not prevent unloading of class loaders. Where
+ * value is kept depends on class loader of the class:
+ *
+ * <ul>
+ * <li>class loaded by class loader of this library or its descendant is kept in
+ * {@link ClassValue}, because such class cannot outlive this library,</li>
+ * <li>class loaded by bootstrap class loader or ancestor of class loader of this library (ex. JDK
+ * classes reached by flattening) is kept in map owned by this cache, because {@link ClassValue}
+ * of such class would keep value (and class loader of this library) as long as the class lives,
+ * ex. after application redeploy,</li>
+ * <li>class loaded by unrelated class loader (ex. other web application or plugin) is kept in map
+ * of its class loader, which is weakly referenced by this cache. Map of class loader is softly
+ * referenced, because its values refer to class loader (ex. through classes), so it is released
+ * when it is not used for some time or memory is low, and then class loader can be unloaded.</li>
+ * </ul>
+ *
+ * <p>
+ * Cache is thread-safe. Value may be computed more than once when requested concurrently. Value
+ * is not cached when computation throws exception.
+ * </p>
+ *
+ * @param <V> value class.
+ */
+public final class ClassCache<V> {
+
+    private final Function<Class<?>, V> _computeValue;
+
+    private final ClassValue<V> _descendantLoaderValues = new ClassValue<V>() {
+
+        @Override
+        protected V computeValue(final Class<?> type) {
+            return _computeValue.apply(type);
+        }
+    };
+
+    private final ConcurrentMap<Class<?>, V> _ancestorLoaderValues = new ConcurrentHashMap<>();
+
+    private final Map<ClassLoader, SoftReference<ConcurrentMap<Class<?>, V>>> _unrelatedLoaderValues
+            = new WeakHashMap<>();
+
+    /**
+     * Creates cache.
+     *
+     * @param computeValue function computing value for class.
+     */
+    public ClassCache(final Function<Class<?>, V> computeValue) {
+        notNull(computeValue, "computeValue");
+
+        this._computeValue = computeValue;
+    }
+
+    /**
+     * Returns value for class, computes it if needed.
+     *
+     * @param ofClass class.
+     * @return value for class.
+     */
+    public V get(final Class<?> ofClass) {
+        ClassLoader libraryClassLoader = ClassCache.class.getClassLoader();
+        ClassLoader classLoader = ofClass.getClassLoader();
+
+        if (isAncestorOrSelf(libraryClassLoader, classLoader)) {
+            return _descendantLoaderValues.get(ofClass);
+        } else if (isAncestorOrSelf(classLoader, libraryClassLoader)) {
+            return getOrCompute(_ancestorLoaderValues, ofClass);
+        } else {
+            return getOrCompute(getUnrelatedLoaderValues(classLoader), ofClass);
+        }
+    }
+
+    private V getOrCompute(final ConcurrentMap<Class<?>, V> values, final Class<?> ofClass) {
+        V result = values.get(ofClass);
+
+        if (result == null) {
+            result = _computeValue.apply(ofClass);
+
+            V existingResult = values.putIfAbsent(ofClass, result);
+
+            if (existingResult != null) {
+                result = existingResult;
+            }
+        }
+
+        return result;
+    }
+
+    private ConcurrentMap<Class<?>, V> getUnrelatedLoaderValues(final ClassLoader classLoader) {
+        synchronized (_unrelatedLoaderValues) {
+            SoftReference<ConcurrentMap<Class<?>, V>> valuesReference
+                    = _unrelatedLoaderValues.get(classLoader);
+            ConcurrentMap<Class<?>, V> result
+                    = (valuesReference != null) ? valuesReference.get() : null;
+
+            if (result == null) {
+                result = new ConcurrentHashMap<>();
+                _unrelatedLoaderValues.put(classLoader, new SoftReference<>(result));
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Returns {@code true} if first class loader is the same as second one or is its ancestor.
+     * Null is bootstrap class loader, which is ancestor of all class loaders.
+     */
+    private static boolean isAncestorOrSelf(
+            final ClassLoader ancestor, final ClassLoader classLoader) {
+        if (ancestor == null) {
+            return true;
+        }
+
+        for (ClassLoader i = classLoader; i != null; i = i.getParent()) {
+            if (i == ancestor) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
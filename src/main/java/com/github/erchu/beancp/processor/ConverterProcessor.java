@@ -0,0 +1,883 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.processor;
+
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Generates converters requested by {@link GenerateConverter} annotations. Processor is not
+ * registered as service, so it is not executed for every project which has bean-cp on its class
+ * path. It must be enabled explicitly, ex. by {@code javac -processor
+ * com.github.erchu.beancp.processor.ConverterProcessor} or by {@code annotationProcessors}
+ * (or {@code annotationProcessorPaths}) option of Maven compiler plugin.
+ *
+ * <p>
+ * Members are matched using the same rules as
+ * {@link com.github.erchu.beancp.commons.NameBasedMapConvention}:
+ * </p>
+ *
+ * <ul>
+ * <li>destination members are public properties with setter and public non-final fields</li>
+ * <li>source member name must be equal to destination member name ignoring case, if there is
+ * property and field matching then property is used for destination property and field is used
+ * for destination field</li>
+ * <li>when flattening feature is enabled and there is no exact match then source member with the
+ * longest name which is prefix of destination member name is used and the rest of destination
+ * member name is matched with members of its value</li>
+ * <li>collection elements and map keys and values which are not assignable are mapped one by
+ * one</li>
+ * </ul>
+ */
+@SupportedAnnotationTypes({
+    "com.github.erchu.beancp.processor.GenerateConverter",
+    "com.github.erchu.beancp.processor.GenerateConverters" })
+public class ConverterProcessor extends AbstractProcessor {
+
+    private static final String GENERATED_CLASS_SUFFIX = "Converters";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(
+            final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        Set<TypeElement> annotatedTypes = new LinkedHashSet<>();
+
+        for (Element i : roundEnv.getElementsAnnotatedWith(GenerateConverter.class)) {
+            annotatedTypes.add((TypeElement) i);
+        }
+
+        for (Element i : roundEnv.getElementsAnnotatedWith(GenerateConverters.class)) {
+            annotatedTypes.add((TypeElement) i);
+        }
+
+        for (TypeElement i : annotatedTypes) {
+            generateConverters(i);
+        }
+
+        return true;
+    }
+
+    private void generateConverters(final TypeElement annotatedType) {
+        List<ConverterRequest> requests = getConverterRequests(annotatedType);
+        String packageName = processingEnv.getElementUtils()
+                .getPackageOf(annotatedType).getQualifiedName().toString();
+        String className = getGeneratedClassName(annotatedType);
+        StringBuilder methods = new StringBuilder();
+        List<String> converters = new LinkedList<>();
+        boolean valid = true;
+
+        for (ConverterRequest i : requests) {
+            String methodName = "convert" + converters.size();
+            String method = new ConverterMethodBuilder(i, methodName).build();
+
+            if (method == null) {
+                valid = false;
+            } else {
+                methods.append(method);
+                converters.add(String.format(
+                        "            new com.github.erchu.beancp.Converter<>(%s.class, %s.class, "
+                        + "%s::%s)",
+                        erasure(i.getSourceType()), erasure(i.getDestinationType()),
+                        className, methodName));
+            }
+        }
+
+        if (valid == false) {
+            return;
+        }
+
+        StringBuilder source = new StringBuilder();
+
+        if (packageName.isEmpty() == false) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n")
+                .append(" * Converters generated by ")
+                .append(ConverterProcessor.class.getName())
+                .append(" for ")
+                .append(annotatedType.getQualifiedName())
+                .append(".\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" {\n\n")
+                .append("    private ").append(className).append("() {\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * Returns generated converters.\n")
+                .append("     *\n")
+                .append("     * @return generated converters.\n")
+                .append("     */\n")
+                .append("    public static com.github.erchu.beancp.Converter[] get() {\n")
+                .append("        return new com.github.erchu.beancp.Converter[] {\n")
+                .append(String.join(",\n", converters))
+                .append("\n        };\n")
+                .append("    }\n")
+                .append(methods)
+                .append("}\n");
+
+        String qualifiedClassName = packageName.isEmpty()
+                ? className : packageName + "." + className;
+
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(qualifiedClassName, annotatedType).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Failed to write %s: %s", qualifiedClassName, ex.getMessage()),
+                    annotatedType);
+        }
+    }
+
+    private List<ConverterRequest> getConverterRequests(final TypeElement annotatedType) {
+        List<ConverterRequest> result = new LinkedList<>();
+
+        for (AnnotationMirror i : annotatedType.getAnnotationMirrors()) {
+            String annotationName = ((TypeElement) i.getAnnotationType().asElement())
+                    .getQualifiedName().toString();
+
+            if (annotationName.equals(GenerateConverter.class.getName())) {
+                result.add(new ConverterRequest(annotatedType, i, i));
+            } else if (annotationName.equals(GenerateConverters.class.getName())) {
+                List<? extends AnnotationValue> repeated
+                        = (List<? extends AnnotationValue>) getValue(i, "value");
+
+                for (AnnotationValue j : repeated) {
+                    result.add(new ConverterRequest(
+                            annotatedType, (AnnotationMirror) j.getValue(), i));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static String getGeneratedClassName(final TypeElement annotatedType) {
+        String name = annotatedType.getSimpleName().toString();
+        Element enclosing = annotatedType.getEnclosingElement();
+
+        while (enclosing.getKind().isClass() || enclosing.getKind().isInterface()) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name + GENERATED_CLASS_SUFFIX;
+    }
+
+    private String erasure(final TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private Object getValue(final AnnotationMirror annotation, final String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> i
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(annotation)
+                .entrySet()) {
+            if (i.getKey().getSimpleName().contentEquals(name)) {
+                return i.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Single {@link GenerateConverter} annotation.
+     */
+    private final class ConverterRequest {
+
+        private final TypeElement _annotatedType;
+
+        private final AnnotationMirror _annotation;
+
+        private final AnnotationMirror _reportedAnnotation;
+
+        ConverterRequest(final TypeElement annotatedType, final AnnotationMirror annotation,
+                final AnnotationMirror reportedAnnotation) {
+            this._annotatedType = annotatedType;
+            this._annotation = annotation;
+            this._reportedAnnotation = reportedAnnotation;
+        }
+
+        TypeMirror getSourceType() {
+            return (TypeMirror) getValue(_annotation, "source");
+        }
+
+        TypeMirror getDestinationType() {
+            return (TypeMirror) getValue(_annotation, "destination");
+        }
+
+        List<String> getIncludeDestinationMembers() {
+            return getStrings("includeDestinationMembers");
+        }
+
+        List<String> getExcludeDestinationMembers() {
+            return getStrings("excludeDestinationMembers");
+        }
+
+        boolean isFlattening() {
+            return (Boolean) getValue(_annotation, "flattening");
+        }
+
+        boolean isFailIfNotAllDestinationMembersMapped() {
+            return (Boolean) getValue(_annotation, "failIfNotAllDestinationMembersMapped");
+        }
+
+        boolean isFailIfNotAllSourceMembersMapped() {
+            return (Boolean) getValue(_annotation, "failIfNotAllSourceMembersMapped");
+        }
+
+        void printError(final String message) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR, message, _annotatedType, _reportedAnnotation);
+        }
+
+        private List<String> getStrings(final String name) {
+            List<String> result = new LinkedList<>();
+
+            List<? extends AnnotationValue> values
+                    = (List<? extends AnnotationValue>) getValue(_annotation, name);
+
+            for (AnnotationValue i : values) {
+                result.add((String) i.getValue());
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Public member of class which may be read (source member) or written (destination member).
+     */
+    private static final class Member {
+
+        private final String _name;
+
+        private final TypeMirror _type;
+
+        private final Element _element;
+
+        Member(final String name, final TypeMirror type, final Element element) {
+            this._name = name;
+            this._type = type;
+            this._element = element;
+        }
+
+        String getName() {
+            return _name;
+        }
+
+        TypeMirror getType() {
+            return _type;
+        }
+
+        Element getElement() {
+            return _element;
+        }
+
+        boolean isField() {
+            return _element.getKind() == ElementKind.FIELD;
+        }
+
+        String getReadExpression(final String object) {
+            return isField()
+                    ? object + "." + _element.getSimpleName()
+                    : object + "." + _element.getSimpleName() + "()";
+        }
+
+        String getWriteStatement(final String object, final String value) {
+            return isField()
+                    ? object + "." + _element.getSimpleName() + " = " + value + ";"
+                    : object + "." + _element.getSimpleName() + "(" + value + ");";
+        }
+    }
+
+    /**
+     * Builds source code of method which converts source object to destination object.
+     */
+    private final class ConverterMethodBuilder {
+
+        private final ConverterRequest _request;
+
+        private final String _methodName;
+
+        private final List<Predicate<String>> _includeDestinationMembers = new LinkedList<>();
+
+        private final List<Predicate<String>> _excludeDestinationMembers = new LinkedList<>();
+
+        private int _variableCounter = 0;
+
+        ConverterMethodBuilder(final ConverterRequest request, final String methodName) {
+            this._request = request;
+            this._methodName = methodName;
+        }
+
+        /**
+         * Returns method source code or null if errors are reported.
+         */
+        String build() {
+            TypeMirror sourceType = _request.getSourceType();
+            TypeMirror destinationType = _request.getDestinationType();
+
+            if (sourceType.getKind() != TypeKind.DECLARED
+                    || destinationType.getKind() != TypeKind.DECLARED) {
+                _request.printError("Source and destination must be classes.");
+
+                return null;
+            }
+
+            if (hasPublicDefaultConstructor((DeclaredType) destinationType) == false) {
+                _request.printError(String.format(
+                        "Class %s has no public default constructor.", destinationType));
+
+                return null;
+            }
+
+            if (compilePatterns(_request.getIncludeDestinationMembers(),
+                    _includeDestinationMembers) == false
+                    || compilePatterns(_request.getExcludeDestinationMembers(),
+                            _excludeDestinationMembers) == false) {
+                return null;
+            }
+
+            String sourceClassName = erasure(sourceType);
+            String destinationClassName = erasure(destinationType);
+            StringBuilder body = new StringBuilder();
+            List<Element> mappedSourceMembers = new LinkedList<>();
+            List<String> notMappedDestinationMembers = new LinkedList<>();
+
+            for (Member i : getWritableMembers((DeclaredType) destinationType)) {
+                if (isDestinationMemberExpectedToBind(i) == false) {
+                    continue;
+                }
+
+                List<Member> sourcePath = getMatchingSourceMember(
+                        (DeclaredType) sourceType, i.getName(), i.isField());
+
+                if (sourcePath == null) {
+                    notMappedDestinationMembers.add(i.getName());
+                } else {
+                    mappedSourceMembers.add(sourcePath.get(0).getElement());
+                    appendBinding(body, sourcePath, i);
+                }
+            }
+
+            boolean valid = true;
+
+            if (_request.isFailIfNotAllDestinationMembersMapped()
+                    && notMappedDestinationMembers.isEmpty() == false) {
+                _request.printError(String.format(
+                        "Not all destination members are mapped from %s to %s: %s. This error "
+                        + "has been reported because failIfNotAllDestinationMembersMapped "
+                        + "option is enabled.",
+                        sourceClassName, destinationClassName,
+                        String.join(", ", notMappedDestinationMembers)));
+                valid = false;
+            }
+
+            if (_request.isFailIfNotAllSourceMembersMapped()) {
+                List<String> notMappedSourceMembers = new LinkedList<>();
+
+                for (Member i : getReadableMembers((DeclaredType) sourceType)) {
+                    if (mappedSourceMembers.contains(i.getElement()) == false) {
+                        notMappedSourceMembers.add(i.getName());
+                    }
+                }
+
+                if (notMappedSourceMembers.isEmpty() == false) {
+                    _request.printError(String.format(
+                            "Not all source members are mapped from %s to %s: %s. This error "
+                            + "has been reported because failIfNotAllSourceMembersMapped "
+                            + "option is enabled.",
+                            sourceClassName, destinationClassName,
+                            String.join(", ", notMappedSourceMembers)));
+                    valid = false;
+                }
+            }
+
+            if (valid == false) {
+                return null;
+            }
+
+            return String.format("\n"
+                    + "    @SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n"
+                    + "    private static %2$s %1$s(\n"
+                    + "            final com.github.erchu.beancp.Mapper mapper, final %3$s source) "
+                    + "{\n"
+                    + "        %2$s destination = new %2$s();\n"
+                    + "%4$s"
+                    + "\n"
+                    + "        return destination;\n"
+                    + "    }\n",
+                    _methodName, destinationClassName, sourceClassName, body);
+        }
+
+        private boolean compilePatterns(
+                final List<String> patterns, final List<Predicate<String>> result) {
+            for (String i : patterns) {
+                try {
+                    result.add(Pattern.compile(i, Pattern.CASE_INSENSITIVE).asPredicate());
+                } catch (PatternSyntaxException ex) {
+                    _request.printError(String.format(
+                            "Invalid member pattern %s: %s", i, ex.getMessage()));
+
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean isDestinationMemberExpectedToBind(final Member destinationMember) {
+            if (_excludeDestinationMembers.stream()
+                    .anyMatch(i -> i.test(destinationMember.getName()))) {
+                return false;
+            }
+
+            return _includeDestinationMembers.isEmpty()
+                    || _includeDestinationMembers.stream()
+                    .anyMatch(i -> i.test(destinationMember.getName()));
+        }
+
+        private List<Member> getMatchingSourceMember(final DeclaredType sourceType,
+                final String atDestinationName, final boolean destinationIsField) {
+            List<Member> matchingProperty = getMatchingMember(
+                    getReadableProperties(sourceType), atDestinationName, destinationIsField);
+            List<Member> matchingField = getMatchingMember(
+                    getReadableFields(sourceType), atDestinationName, destinationIsField);
+
+            return destinationIsField
+                    ? (matchingField != null ? matchingField : matchingProperty)
+                    : (matchingProperty != null ? matchingProperty : matchingField);
+        }
+
+        private List<Member> getMatchingMember(final Collection<Member> candidates,
+                final String atDestinationName, final boolean destinationIsField) {
+            for (Member i : candidates) {
+                if (i.getName().equalsIgnoreCase(atDestinationName)) {
+                    List<Member> result = new LinkedList<>();
+                    result.add(i);
+
+                    return result;
+                }
+            }
+
+            if (_request.isFlattening() == false) {
+                return null;
+            }
+
+            Member partialMatch = null;
+
+            for (Member i : candidates) {
+                if (StringUtils.startsWithIgnoreCase(atDestinationName, i.getName())
+                        && (partialMatch == null
+                        || i.getName().length() > partialMatch.getName().length())) {
+                    partialMatch = i;
+                }
+            }
+
+            if (partialMatch == null || partialMatch.getType().getKind() != TypeKind.DECLARED) {
+                return null;
+            }
+
+            List<Member> result = getMatchingSourceMember(
+                    (DeclaredType) partialMatch.getType(),
+                    atDestinationName.substring(partialMatch.getName().length()),
+                    destinationIsField);
+
+            if (result != null) {
+                result.add(0, partialMatch);
+            }
+
+            return result;
+        }
+
+        private void appendBinding(final StringBuilder body, final List<Member> sourcePath,
+                final Member destinationMember) {
+            body.append("\n        {\n");
+
+            String value = "source";
+            TypeMirror valueType = null;
+
+            for (int i = 0; i < sourcePath.size(); i++) {
+                Member member = sourcePath.get(i);
+                String variable = "value" + (_variableCounter++);
+
+                if (i == 0) {
+                    valueType = member.getType();
+                    body.append(String.format("            %s %s = %s;\n",
+                            getTypeName(valueType), variable,
+                            member.getReadExpression(value)));
+                } else {
+                    // intermediate value may be null, so primitive values must be boxed
+                    valueType = box(member.getType());
+                    body.append(String.format("            %s %s = (%s == null) ? null : %s;\n",
+                            getTypeName(valueType), variable, value,
+                            member.getReadExpression(value)));
+                }
+
+                value = variable;
+            }
+
+            appendSetValue(body, value, valueType, destinationMember);
+
+            body.append("        }\n");
+        }
+
+        private void appendSetValue(final StringBuilder body, final String value,
+                final TypeMirror valueType, final Member destinationMember) {
+            TypeMirror destinationType = destinationMember.getType();
+            boolean nullable = valueType.getKind().isPrimitive() == false;
+
+            if (appendElementsMap(body, value, valueType, destinationMember)
+                    || appendEntriesMap(body, value, valueType, destinationMember)) {
+                return;
+            }
+
+            String mappedValue;
+
+            if (types().isAssignable(valueType, destinationType)) {
+                mappedValue = value;
+            } else if (destinationType.getKind() == TypeKind.DECLARED
+                    && types().isAssignable(
+                            types().erasure(valueType), types().erasure(destinationType))) {
+                mappedValue = String.format(
+                        "(%s) (Object) %s", getTypeName(destinationType), value);
+            } else {
+                mappedValue = String.format("mapper.map(%s, %s.class)",
+                        value, erasure(box(destinationType)));
+            }
+
+            if (nullable == false) {
+                body.append("            ")
+                        .append(destinationMember.getWriteStatement("destination", mappedValue))
+                        .append("\n");
+            } else if (destinationType.getKind().isPrimitive()) {
+                body.append(String.format("            if (%s != null) {\n", value))
+                        .append("                ")
+                        .append(destinationMember.getWriteStatement("destination", mappedValue))
+                        .append("\n")
+                        .append("            }\n");
+            } else {
+                body.append("            ")
+                        .append(destinationMember.getWriteStatement("destination",
+                                mappedValue.equals(value)
+                                        ? value
+                                        : String.format("(%s == null) ? null : %s",
+                                                value, mappedValue)))
+                        .append("\n");
+            }
+        }
+
+        private boolean appendElementsMap(final StringBuilder body, final String value,
+                final TypeMirror valueType, final Member destinationMember) {
+            TypeMirror sourceElementType = getTypeArgument(valueType, Collection.class, 0);
+            TypeMirror destinationElementType = getTypeArgument(
+                    destinationMember.getType(), Collection.class, 0);
+
+            if (sourceElementType == null || destinationElementType == null
+                    || types().isAssignable(
+                            types().erasure(sourceElementType),
+                            types().erasure(destinationElementType))) {
+                return false;
+            }
+
+            String elements = String.format("mapper.mapAll(%s, %s.class)",
+                    value, erasure(destinationElementType));
+
+            body.append("            ")
+                    .append(destinationMember.getWriteStatement("destination",
+                            String.format("(%s == null) ? null : (%s) (Object) %s",
+                                    value, getTypeName(destinationMember.getType()),
+                                    convertContainerIfNeeded(elements, ArrayList.class,
+                                            destinationMember.getType()))))
+                    .append("\n");
+
+            return true;
+        }
+
+        private boolean appendEntriesMap(final StringBuilder body, final String value,
+                final TypeMirror valueType, final Member destinationMember) {
+            TypeMirror destinationType = destinationMember.getType();
+            TypeMirror sourceKeyType = getTypeArgument(valueType, Map.class, 0);
+            TypeMirror sourceValueType = getTypeArgument(valueType, Map.class, 1);
+            TypeMirror destinationKeyType = getTypeArgument(destinationType, Map.class, 0);
+            TypeMirror destinationValueType = getTypeArgument(destinationType, Map.class, 1);
+
+            if (sourceKeyType == null || sourceValueType == null
+                    || destinationKeyType == null || destinationValueType == null) {
+                return false;
+            }
+
+            boolean keysAssignable = types().isAssignable(
+                    types().erasure(sourceKeyType), types().erasure(destinationKeyType));
+            boolean valuesAssignable = types().isAssignable(
+                    types().erasure(sourceValueType), types().erasure(destinationValueType));
+
+            if (keysAssignable && valuesAssignable) {
+                return false;
+            }
+
+            String entries = "value" + (_variableCounter++);
+            String entry = "value" + (_variableCounter++);
+
+            body.append(String.format("            if (%s == null) {\n", value))
+                    .append("                ")
+                    .append(destinationMember.getWriteStatement("destination", "null"))
+                    .append("\n")
+                    .append("            } else {\n")
+                    .append(String.format("                java.util.Map<Object, Object> %s = "
+                            + "new java.util.LinkedHashMap<>(\n"
+                            + "                        Math.max((int) (%s.size() / .75f) + 1, "
+                            + "16));\n\n", entries, value))
+                    .append(String.format("                for (java.util.Map.Entry<?, ?> %s : "
+                            + "%s.entrySet()) {\n", entry, value))
+                    .append(String.format("                    %s.put(%s, %s);\n", entries,
+                            getEntryPartExpression(entry + ".getKey()", keysAssignable,
+                                    destinationKeyType),
+                            getEntryPartExpression(entry + ".getValue()", valuesAssignable,
+                                    destinationValueType)))
+                    .append("                }\n\n")
+                    .append("                ")
+                    .append(destinationMember.getWriteStatement("destination",
+                            String.format("(%s) (Object) %s", getTypeName(destinationType),
+                                    convertContainerIfNeeded(entries,
+                                            LinkedHashMap.class, destinationType))))
+                    .append("\n")
+                    .append("            }\n");
+
+            return true;
+        }
+
+        private String getEntryPartExpression(final String part, final boolean assignable,
+                final TypeMirror destinationPartType) {
+            return assignable
+                    ? part
+                    : String.format("(%s == null) ? null : mapper.map(%s, %s.class)",
+                            part, part, erasure(destinationPartType));
+        }
+
+        /**
+         * Returns expression which converts container (list or map) to destination member class
+         * by mapper if container class is not assignable to destination member class.
+         */
+        private String convertContainerIfNeeded(final String container,
+                final Class containerClass, final TypeMirror destinationType) {
+            TypeMirror containerType = types().erasure(processingEnv.getElementUtils()
+                    .getTypeElement(containerClass.getCanonicalName()).asType());
+
+            return types().isAssignable(containerType, types().erasure(destinationType))
+                    ? container
+                    : String.format("mapper.map(%s, %s.class)",
+                            container, erasure(destinationType));
+        }
+
+        /**
+         * Returns type argument of {@code ofClass} (ex. element type of collection) or null if type
+         * is not subtype of {@code ofClass} or type argument is not known.
+         */
+        private TypeMirror getTypeArgument(
+                final TypeMirror type, final Class ofClass, final int typeArgumentIndex) {
+            if (type.getKind() != TypeKind.DECLARED) {
+                return null;
+            }
+
+            DeclaredType declaredType = (DeclaredType) type;
+            TypeElement typeElement = (TypeElement) declaredType.asElement();
+
+            if (typeElement.getQualifiedName().contentEquals(ofClass.getName())) {
+                TypeMirror result = declaredType.getTypeArguments().isEmpty()
+                        ? null
+                        : declaredType.getTypeArguments().get(typeArgumentIndex);
+
+                return (result != null && result.getKind() == TypeKind.DECLARED) ? result : null;
+            }
+
+            for (TypeMirror i : types().directSupertypes(type)) {
+                TypeMirror result = getTypeArgument(i, ofClass, typeArgumentIndex);
+
+                if (result != null) {
+                    return result;
+                }
+            }
+
+            return null;
+        }
+
+        private boolean hasPublicDefaultConstructor(final DeclaredType type) {
+            TypeElement typeElement = (TypeElement) type.asElement();
+
+            if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+                return false;
+            }
+
+            return ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                    .anyMatch(i -> i.getParameters().isEmpty()
+                            && i.getModifiers().contains(Modifier.PUBLIC));
+        }
+
+        private List<Member> getWritableMembers(final DeclaredType type) {
+            Map<String, Member> properties = new TreeMap<>();
+            List<Member> fields = new LinkedList<>();
+
+            for (Element i : getPublicInstanceMembers(type)) {
+                if (i.getKind() == ElementKind.METHOD) {
+                    ExecutableElement method = (ExecutableElement) i;
+                    String name = method.getSimpleName().toString();
+
+                    if (name.startsWith("set") && name.length() > 3
+                            && method.getParameters().size() == 1
+                            && method.getReturnType().getKind() == TypeKind.VOID) {
+                        ExecutableType methodType = (ExecutableType) types().asMemberOf(type, i);
+
+                        properties.putIfAbsent(Introspector.decapitalize(name.substring(3)),
+                                new Member(Introspector.decapitalize(name.substring(3)),
+                                        methodType.getParameterTypes().get(0), i));
+                    }
+                } else if (i.getKind() == ElementKind.FIELD
+                        && i.getModifiers().contains(Modifier.FINAL) == false) {
+                    fields.add(new Member(
+                            i.getSimpleName().toString(), types().asMemberOf(type, i), i));
+                }
+            }
+
+            List<Member> result = new ArrayList<>(properties.values());
+            result.addAll(fields);
+
+            return result;
+        }
+
+        private List<Member> getReadableMembers(final DeclaredType type) {
+            List<Member> result = new ArrayList<>(getReadableProperties(type));
+            result.addAll(getReadableFields(type));
+
+            return result;
+        }
+
+        private Collection<Member> getReadableProperties(final DeclaredType type) {
+            Map<String, Member> result = new TreeMap<>();
+
+            for (Element i : getPublicInstanceMembers(type)) {
+                if (i.getKind() != ElementKind.METHOD
+                        || ((TypeElement) i.getEnclosingElement()).getQualifiedName()
+                        .contentEquals(Object.class.getName())) {
+                    continue;
+                }
+
+                ExecutableElement method = (ExecutableElement) i;
+                String name = method.getSimpleName().toString();
+                TypeMirror returnType = method.getReturnType();
+                String propertyName;
+
+                if (method.getParameters().isEmpty() == false
+                        || returnType.getKind() == TypeKind.VOID) {
+                    continue;
+                } else if (name.startsWith("get") && name.length() > 3) {
+                    propertyName = Introspector.decapitalize(name.substring(3));
+                } else if (name.startsWith("is") && name.length() > 2
+                        && returnType.getKind() == TypeKind.BOOLEAN) {
+                    propertyName = Introspector.decapitalize(name.substring(2));
+                } else {
+                    continue;
+                }
+
+                ExecutableType methodType = (ExecutableType) types().asMemberOf(type, i);
+
+                result.putIfAbsent(propertyName,
+                        new Member(propertyName, methodType.getReturnType(), i));
+            }
+
+            return result.values();
+        }
+
+        private List<Member> getReadableFields(final DeclaredType type) {
+            List<Member> result = new LinkedList<>();
+
+            for (Element i : getPublicInstanceMembers(type)) {
+                if (i.getKind() == ElementKind.FIELD) {
+                    result.add(new Member(
+                            i.getSimpleName().toString(), types().asMemberOf(type, i), i));
+                }
+            }
+
+            return result;
+        }
+
+        private List<Element> getPublicInstanceMembers(final DeclaredType type) {
+            List<Element> result = new LinkedList<>();
+
+            for (Element i : processingEnv.getElementUtils()
+                    .getAllMembers((TypeElement) type.asElement())) {
+                if (i.getModifiers().contains(Modifier.PUBLIC)
+                        && i.getModifiers().contains(Modifier.STATIC) == false) {
+                    result.add(i);
+                }
+            }
+
+            return result;
+        }
+
+        private String getTypeName(final TypeMirror type) {
+            return (type.getKind() == TypeKind.TYPEVAR) ? erasure(type) : type.toString();
+        }
+
+        private TypeMirror box(final TypeMirror type) {
+            return type.getKind().isPrimitive()
+                    ? types().boxedClass(types().getPrimitiveType(type.getKind())).asType()
+                    : type;
+        }
+
+        private Types types() {
+            return processingEnv.getTypeUtils();
+        }
+    }
+}
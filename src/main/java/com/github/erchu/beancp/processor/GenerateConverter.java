@@ -0,0 +1,101 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests {@link ConverterProcessor} to generate at compile time converter from source class to
+ * destination class. Converter copies members matched by name using the same rules as
+ * {@link com.github.erchu.beancp.commons.NameBasedMapConvention}, but uses neither reflection nor
+ * generated proxy classes at runtime.
+ *
+ * <p>
+ * All converters requested by annotations placed on type {@code X} are returned by
+ * {@code XConverters.get()} method of generated class {@code XConverters} (placed in the same
+ * package as {@code X}), which may be passed to
+ * {@link com.github.erchu.beancp.MapperBuilder#addConverter(com.github.erchu.beancp.Converter...)}
+ * method. Destination class must have public default constructor. Only public members are mapped.
+ * </p>
+ *
+ * <p>
+ * Members which values are not assignable are mapped by mapper executing converter, so required
+ * converters or maps must be available in that mapper.
+ * </p>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(GenerateConverters.class)
+public @interface GenerateConverter {
+
+    /**
+     * Source class.
+     *
+     * @return source class.
+     */
+    Class<?> source();
+
+    /**
+     * Destination class.
+     *
+     * @return destination class.
+     */
+    Class<?> destination();
+
+    /**
+     * Destination members which will be included, see
+     * {@link com.github.erchu.beancp.commons.NameBasedMapConvention#includeDestinationMembers(java.lang.String...)}.
+     *
+     * @return regular expressions matching names of destination members to include.
+     */
+    String[] includeDestinationMembers() default {};
+
+    /**
+     * Destination members which will be excluded, see
+     * {@link com.github.erchu.beancp.commons.NameBasedMapConvention#excludeDestinationMembers(java.lang.String...)}.
+     *
+     * @return regular expressions matching names of destination members to exclude.
+     */
+    String[] excludeDestinationMembers() default {};
+
+    /**
+     * Enables flattening feature, see
+     * {@link com.github.erchu.beancp.commons.NameBasedMapConvention#enableFlattening()}.
+     *
+     * @return true if flattening feature is enabled.
+     */
+    boolean flattening() default false;
+
+    /**
+     * Compilation will fail if not all destination members are mapped.
+     *
+     * @return true if compilation should fail if not all destination members are mapped.
+     */
+    boolean failIfNotAllDestinationMembersMapped() default false;
+
+    /**
+     * Compilation will fail if not all source members are mapped.
+     *
+     * @return true if compilation should fail if not all source members are mapped.
+     */
+    boolean failIfNotAllSourceMembersMapped() default false;
+}
@@ -0,0 +1,199 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AvailabilitySessionTest {
+
+    @Test
+    public void isMapAvailable_should_execute_resolver_once_for_class_pair() {
+        // GIVEN
+        AvailabilitySession session = new AvailabilitySession();
+        AtomicInteger resolverCalls = new AtomicInteger();
+
+        BiPredicate<Class, Class> resolver = (source, destination) -> {
+            resolverCalls.incrementAndGet();
+
+            return false;
+        };
+
+        // WHEN
+        boolean first = session.isMapAvailable(String.class, Integer.class, resolver);
+        boolean second = session.isMapAvailable(String.class, Integer.class, resolver);
+
+        // THEN
+        assertFalse("Invalid first result.", first);
+        assertFalse("Invalid second result.", second);
+        assertEquals("Invalid number of resolver calls.", 1, resolverCalls.get());
+    }
+
+    @Test
+    public void isMapAvailable_should_return_true_for_class_pair_being_resolved() {
+        // GIVEN
+        AvailabilitySession session = new AvailabilitySession();
+        AtomicInteger resolverCalls = new AtomicInteger();
+
+        // WHEN
+        boolean result = session.isMapAvailable(String.class, Integer.class,
+                (source, destination) -> {
+                    resolverCalls.incrementAndGet();
+
+                    return session.isMapAvailable(String.class, Integer.class,
+                            (innerSource, innerDestination) -> {
+                                throw new AssertionError("Cycle not detected.");
+                            });
+                });
+
+        // THEN
+        assertTrue("Invalid result.", result);
+        assertEquals("Invalid number of resolver calls.", 1, resolverCalls.get());
+    }
+
+    @Test
+    public void isMapAvailable_should_not_memoize_failed_resolution() {
+        // GIVEN
+        AvailabilitySession session = new AvailabilitySession();
+
+        try {
+            session.isMapAvailable(String.class, Integer.class, (source, destination) -> {
+                throw new MappingException("Failure");
+            });
+
+            fail("Exception expected.");
+        } catch (MappingException ex) {
+            // expected
+        }
+
+        // WHEN
+        boolean result = session.isMapAvailable(
+                String.class, Integer.class, (source, destination) -> false);
+
+        // THEN
+        assertFalse("Invalid result.", result);
+    }
+
+    @Test
+    public void converter_and_map_availability_should_be_memoized_separately() {
+        // GIVEN
+        AvailabilitySession session = new AvailabilitySession();
+
+        // WHEN
+        boolean converterResult = session.isConverterAvailable(
+                String.class, Integer.class, (source, destination) -> true);
+        boolean mapResult = session.isMapAvailable(
+                String.class, Integer.class, (source, destination) -> false);
+
+        // THEN
+        assertTrue("Invalid converter result.", converterResult);
+        assertFalse("Invalid map result.", mapResult);
+    }
+
+    @Test
+    public void answers_derived_from_provisional_answer_should_be_dropped_when_it_is_wrong() {
+        // GIVEN
+        AvailabilitySession session = new AvailabilitySession();
+        AtomicInteger innerResolverCalls = new AtomicInteger();
+
+        BiPredicate<Class, Class> innerResolver = (source, destination) -> {
+            innerResolverCalls.incrementAndGet();
+
+            // depends on outer class pair, which is being resolved
+            return session.isMapAvailable(String.class, Integer.class,
+                    (outerSource, outerDestination) -> {
+                        throw new AssertionError("Cycle not detected.");
+                    });
+        };
+
+        boolean outerResult = session.isMapAvailable(String.class, Integer.class,
+                (source, destination) -> {
+                    session.isMapAvailable(Long.class, Short.class, innerResolver);
+
+                    return false;
+                });
+
+        // WHEN
+        boolean innerResult = session.isMapAvailable(Long.class, Short.class, innerResolver);
+
+        // THEN
+        assertFalse("Invalid outer result.", outerResult);
+        assertFalse("Invalid inner result.", innerResult);
+        assertEquals("Invalid number of inner resolver calls.", 2, innerResolverCalls.get());
+    }
+
+    @Test
+    public void answers_derived_from_provisional_answer_should_be_kept_when_it_is_right() {
+        // GIVEN
+        AvailabilitySession session = new AvailabilitySession();
+        AtomicInteger innerResolverCalls = new AtomicInteger();
+
+        BiPredicate<Class, Class> innerResolver = (source, destination) -> {
+            innerResolverCalls.incrementAndGet();
+
+            return session.isMapAvailable(String.class, Integer.class,
+                    (outerSource, outerDestination) -> {
+                        throw new AssertionError("Cycle not detected.");
+                    });
+        };
+
+        session.isMapAvailable(String.class, Integer.class,
+                (source, destination) -> session.isMapAvailable(
+                        Long.class, Short.class, innerResolver));
+
+        // WHEN
+        boolean innerResult = session.isMapAvailable(Long.class, Short.class, innerResolver);
+
+        // THEN
+        assertTrue("Invalid inner result.", innerResult);
+        assertEquals("Invalid number of inner resolver calls.", 1, innerResolverCalls.get());
+    }
+
+    @Test
+    public void only_final_map_answers_should_be_reported() {
+        // GIVEN
+        AvailabilitySession session = new AvailabilitySession();
+        Object outerMap = new Object();
+        Object innerMap = new Object();
+
+        session.resolveMap(String.class, Integer.class, (source, destination) -> {
+            // depends on outer class pair, which finally is not available
+            session.resolveMap(Long.class, Short.class, (innerSource, innerDestination)
+                    -> (session.resolveMap(String.class, Integer.class, (x, y) -> outerMap) != null)
+                            ? innerMap
+                            : null);
+
+            return null;
+        });
+
+        // WHEN
+        Map<ClassPair, Object> answers = new HashMap<>();
+        session.forEachMapAnswer(answers::put);
+
+        // THEN
+        assertEquals("Invalid number of answers.", 1, answers.size());
+        assertTrue("Outer answer not reported.",
+                answers.containsKey(new ClassPair(String.class, Integer.class)));
+        assertNull("Invalid outer answer.",
+                answers.get(new ClassPair(String.class, Integer.class)));
+    }
+}
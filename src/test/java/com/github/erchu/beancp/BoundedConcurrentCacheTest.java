@@ -0,0 +1,83 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BoundedConcurrentCacheTest {
+
+    @Test
+    public void the_oldest_values_should_be_evicted_when_limit_is_exceeded() {
+        // GIVEN
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, String> loader = key -> {
+            loads.incrementAndGet();
+
+            return key.toUpperCase();
+        };
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(2);
+
+        cache.get("a", loader);
+        cache.get("b", loader);
+
+        // WHEN
+        cache.get("c", loader);
+
+        // THEN
+        assertEquals("Invalid cache size.", 2, cache.size());
+        assertEquals("Invalid number of loads.", 3, loads.get());
+
+        cache.get("b", loader);
+        cache.get("c", loader);
+        assertEquals("Values b and c should be cached.", 3, loads.get());
+
+        cache.get("a", loader);
+        assertEquals("Value a should be evicted.", 4, loads.get());
+    }
+
+    @Test
+    public void value_put_again_after_remove_should_be_treated_as_the_newest_one() {
+        // GIVEN
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, String> loader = key -> {
+            loads.incrementAndGet();
+
+            return key.toUpperCase();
+        };
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(2);
+
+        cache.get("a", loader);
+        cache.get("b", loader);
+        cache.remove("a");
+        cache.get("a", loader);
+
+        // WHEN
+        cache.get("c", loader);
+
+        // THEN
+        assertEquals("Invalid cache size.", 2, cache.size());
+        assertEquals("Invalid number of loads.", 4, loads.get());
+
+        String result = cache.get("a", loader);
+        assertEquals("Invalid result.", "A", result);
+        assertEquals("Value a should not be evicted.", 4, loads.get());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FakeObjectBuilderTest {
+
+    public static class WithPublicConstructor {
+    }
+
+    public static class WithProtectedConstructor {
+
+        protected WithProtectedConstructor() {
+        }
+    }
+
+    public static class WithPrivateConstructor {
+
+        private WithPrivateConstructor() {
+        }
+    }
+
+    @Test
+    public void createFakeObject_should_create_object_of_class_with_public_constructor() {
+        // WHEN
+        Object result = FakeObjectBuilder.createFakeObject(WithPublicConstructor.class);
+
+        // THEN
+        assertEquals("Invalid result class.", WithPublicConstructor.class, result.getClass());
+    }
+
+    @Test
+    public void createFakeObject_should_reuse_proxy_class_for_class_with_protected_constructor() {
+        // WHEN
+        Object first = FakeObjectBuilder.createFakeObject(WithProtectedConstructor.class);
+        Object second = FakeObjectBuilder.createFakeObject(WithProtectedConstructor.class);
+
+        // THEN
+        assertTrue("Invalid result class.", first instanceof WithProtectedConstructor);
+        assertNotEquals("Proxy class expected.",
+                WithProtectedConstructor.class, first.getClass());
+        assertSame("Proxy class should be reused.", first.getClass(), second.getClass());
+        assertNotSame("New object expected.", first, second);
+    }
+
+    @Test(expected = MapperConfigurationException.class)
+    public void createFakeObject_should_fail_for_class_with_private_constructor() {
+        // WHEN
+        FakeObjectBuilder.createFakeObject(WithPrivateConstructor.class);
+    }
+
+    @Test
+    public void maps_for_class_with_protected_constructor_should_be_configured_in_many_mappers() {
+        // GIVEN
+        DeclarativeMapSetup<WithProtectedConstructor, WithPublicConstructor> setup
+                = (config, source, destination) -> {
+                };
+
+        // WHEN
+        new MapperBuilder()
+                .addMap(WithProtectedConstructor.class, WithPublicConstructor.class, setup)
+                .buildMapper();
+        new MapperBuilder()
+                .addMap(WithProtectedConstructor.class, WithPublicConstructor.class, setup)
+                .buildMapper();
+
+        // THEN no exception is expected
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GenericTypesTest {
+
+    public static class StringList extends ArrayList<String> {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    public static class ValuesByName<V> extends HashMap<String, V> {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    public static class Holder {
+
+        public List<List<Integer>> nestedList;
+
+        public ValuesByName<Long> valuesByName;
+
+        public List<? extends Number> wildcardList;
+
+        @SuppressWarnings("rawtypes")
+        public List rawList;
+    }
+
+    @Test
+    public void element_class_should_be_resolved_from_parameterized_type() throws Exception {
+        // GIVEN
+        Type type = Holder.class.getField("nestedList").getGenericType();
+
+        // WHEN
+        Class result = GenericTypes.getTypeArgumentClass(type, Collection.class, 0);
+
+        // THEN
+        assertEquals("Invalid element class.", List.class, result);
+    }
+
+    @Test
+    public void element_class_should_be_resolved_from_superclass() {
+        // WHEN
+        Class result = GenericTypes.getTypeArgumentClass(StringList.class, Collection.class, 0);
+
+        // THEN
+        assertEquals("Invalid element class.", String.class, result);
+    }
+
+    @Test
+    public void type_arguments_should_be_resolved_through_type_variables() throws Exception {
+        // GIVEN
+        Type type = Holder.class.getField("valuesByName").getGenericType();
+
+        // WHEN
+        Class keyClass = GenericTypes.getTypeArgumentClass(type, Map.class, 0);
+        Class valueClass = GenericTypes.getTypeArgumentClass(type, Map.class, 1);
+
+        // THEN
+        assertEquals("Invalid key class.", String.class, keyClass);
+        assertEquals("Invalid value class.", Long.class, valueClass);
+    }
+
+    @Test
+    public void unknown_type_arguments_should_be_resolved_to_null() throws Exception {
+        // GIVEN
+        Type wildcardType = Holder.class.getField("wildcardList").getGenericType();
+        Type rawType = Holder.class.getField("rawList").getGenericType();
+
+        // WHEN, THEN
+        assertNull("Wildcard should not be resolved.",
+                GenericTypes.getTypeArgumentClass(wildcardType, Collection.class, 0));
+        assertNull("Raw type should not be resolved.",
+                GenericTypes.getTypeArgumentClass(rawType, Collection.class, 0));
+        assertNull("Type variable should not be resolved.",
+                GenericTypes.getTypeArgumentClass(ValuesByName.class, Map.class, 1));
+        assertNull("Not a subtype should not be resolved.",
+                GenericTypes.getTypeArgumentClass(String.class, Collection.class, 0));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MapAllParallelTest {
+
+    public static class Source {
+
+        private int x;
+
+        public Source() {
+        }
+
+        public Source(final int x) {
+            this.x = x;
+        }
+
+        public int getX() {
+            return x;
+        }
+    }
+
+    public static class Destination {
+
+        private int y;
+
+        public int getY() {
+            return y;
+        }
+
+        public void setY(int y) {
+            this.y = y;
+        }
+    }
+
+    private static Mapper buildMapper() {
+        return new MapperBuilder()
+                .addMap(Source.class, Destination.class, (config, source, destination)
+                        -> config.bind(() -> {
+                            if (source.getX() < 0) {
+                                throw new IllegalArgumentException("Negative value.");
+                            }
+
+                            return source.getX();
+                        }, destination::setY))
+                .buildMapper();
+    }
+
+    @Test
+    public void mapAllParallel_should_map_each_element_and_keep_order() {
+        // GIVEN
+        Mapper mapper = buildMapper();
+
+        List<Source> source = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            source.add(new Source(i));
+        }
+
+        // WHEN
+        List<Destination> result = mapper.mapAllParallel(
+                source, Destination.class, new ForkJoinPool(4));
+
+        // THEN
+        assertEquals("Invalid result size.", source.size(), result.size());
+
+        for (int i = 0; i < source.size(); i++) {
+            assertEquals("Invalid 'y' property value.", i, result.get(i).getY());
+        }
+    }
+
+    @Test
+    public void mapAllParallel_should_report_failures_by_element_index() {
+        // GIVEN
+        Mapper mapper = buildMapper();
+
+        List<Source> source = Arrays.asList(
+                new Source(1), new Source(-1), new Source(2), new Source(-2));
+
+        try {
+            // WHEN
+            mapper.mapAllParallel(source, Destination.class);
+
+            fail("Exception expected.");
+        } catch (BatchMappingException ex) {
+            // THEN
+            assertEquals("Invalid failed indexes.",
+                    Arrays.asList(1, 3), new ArrayList<>(ex.getFailures().keySet()));
+            assertEquals("Invalid 'y' property value.",
+                    1, ((Destination) ex.getResult().get(0)).getY());
+            assertNull("Failed element should be null.", ex.getResult().get(1));
+            assertEquals("Invalid 'y' property value.",
+                    2, ((Destination) ex.getResult().get(2)).getY());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MapAllTest {
+
+    public static class Source {
+
+        private String x;
+
+        public Source() {
+        }
+
+        public Source(final String x) {
+            this.x = x;
+        }
+
+        public String getX() {
+            return x;
+        }
+
+        public void setX(String x) {
+            this.x = x;
+        }
+    }
+
+    public static class SourceSubclass extends Source {
+
+        public SourceSubclass(final String x) {
+            super(x);
+        }
+    }
+
+    public static class Destination {
+
+        private String y;
+
+        public String getY() {
+            return y;
+        }
+
+        public void setY(String y) {
+            this.y = y;
+        }
+    }
+
+    @Test
+    public void mapAll_should_map_each_element_and_keep_order() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addMap(Source.class, Destination.class, (config, source, destination)
+                        -> config.bind(source::getX, destination::setY))
+                .buildMapper();
+
+        List<Source> source = Arrays.asList(
+                new Source("a"), new SourceSubclass("b"), null, new Source("c"));
+
+        // WHEN
+        List<Destination> result = mapper.mapAll(source, Destination.class);
+
+        // THEN
+        assertEquals("Invalid result size.", 4, result.size());
+        assertEquals("Invalid 'y' property value.", "a", result.get(0).getY());
+        assertEquals("Invalid 'y' property value.", "b", result.get(1).getY());
+        assertNull("Null element should be mapped to null.", result.get(2));
+        assertEquals("Invalid 'y' property value.", "c", result.get(3).getY());
+    }
+
+    @Test
+    public void mapAll_should_use_converters() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(Source.class, String.class, source -> source.getX())
+                .buildMapper();
+
+        // WHEN
+        List<String> result = mapper.mapAll(
+                Arrays.asList(new Source("a"), new Source("b")), String.class);
+
+        // THEN
+        assertEquals("Invalid result.", Arrays.asList("a", "b"), result);
+    }
+
+    @Test
+    public void mapAll_should_return_empty_list_for_empty_source() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder().buildMapper();
+
+        // WHEN
+        List<Destination> result = mapper.mapAll(
+                Collections.<Source>emptyList(), Destination.class);
+
+        // THEN
+        assertTrue("Result should be empty.", result.isEmpty());
+    }
+
+    @Test(expected = MappingException.class)
+    public void mapAll_should_throw_exception_if_no_mapping_is_available() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder().buildMapper();
+
+        // WHEN
+        mapper.mapAll(Arrays.asList(new Source("a")), Destination.class);
+    }
+}
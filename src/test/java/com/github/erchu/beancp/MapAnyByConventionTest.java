@@ -18,6 +18,8 @@
 package com.github.erchu.beancp;
 
 import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import org.junit.Test;
@@ -224,4 +226,37 @@ public class MapAnyByConventionTest {
         // mapped by StrictMatch convention
         assertEquals("Invalid 'z' field value.", 0, result.z);
     }
+
+    @Test
+    public void bindings_should_be_generated_once_for_class_pair() {
+        // GIVEN
+        AtomicInteger getBindingsCallsCount = new AtomicInteger();
+        NameBasedMapConvention convention = NameBasedMapConvention.get();
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(
+                        (MappingInfo mappingsInfo, Class sourceClass, Class destinationClass) -> {
+                            if (sourceClass.equals(SimpleSourceWithFields.class)) {
+                                getBindingsCallsCount.incrementAndGet();
+                            }
+
+                            return convention.getBindings(
+                                    mappingsInfo, sourceClass, destinationClass);
+                        })
+                .buildMapper();
+
+        SimpleSourceWithFields sourceInstance = new SimpleSourceWithFields();
+        sourceInstance.x = 8;
+
+        // WHEN
+        for (int i = 0 ; i < 3 ; i++) {
+            SimpleDestinationWithFields result
+                    = mapper.map(sourceInstance, SimpleDestinationWithFields.class);
+
+            assertEquals("Invalid 'x' field value.", sourceInstance.x, result.x);
+        }
+
+        // THEN
+        assertEquals("Bindings should be cached.", 1, getBindingsCallsCount.get());
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MapStreamTest {
+
+    public static class Source {
+
+        private int x;
+
+        public Source() {
+        }
+
+        public Source(final int x) {
+            this.x = x;
+        }
+
+        public int getX() {
+            return x;
+        }
+    }
+
+    public static class Destination {
+
+        private int y;
+
+        public int getY() {
+            return y;
+        }
+
+        public void setY(int y) {
+            this.y = y;
+        }
+    }
+
+    private final AtomicInteger _numberOfMappings = new AtomicInteger();
+
+    private Mapper buildMapper() {
+        return new MapperBuilder()
+                .addMap(Source.class, Destination.class, (config, source, destination)
+                        -> config.bind(() -> {
+                            _numberOfMappings.incrementAndGet();
+
+                            return source.getX();
+                        }, destination::setY))
+                .buildMapper();
+    }
+
+    @Test
+    public void mapStream_should_map_elements_only_when_consumed() {
+        // GIVEN
+        Mapper mapper = buildMapper();
+
+        Stream<Source> source = IntStream.range(0, 100).mapToObj(Source::new);
+
+        // WHEN
+        List<Destination> result = mapper.mapStream(source, Destination.class)
+                .limit(3)
+                .collect(Collectors.toList());
+
+        // THEN
+        assertEquals("Invalid result size.", 3, result.size());
+        assertEquals("Invalid 'y' property value.", 2, result.get(2).getY());
+        assertEquals("Invalid number of mappings.", 3, _numberOfMappings.get());
+    }
+
+    @Test
+    public void mapStream_should_keep_size_and_order_characteristics() {
+        // GIVEN
+        Mapper mapper = buildMapper();
+
+        Stream<Source> source = IntStream.range(0, 100).mapToObj(Source::new);
+
+        // WHEN
+        Spliterator<Destination> result
+                = mapper.mapStream(source, Destination.class).spliterator();
+
+        // THEN
+        assertTrue("Result should be SIZED.", result.hasCharacteristics(Spliterator.SIZED));
+        assertTrue("Result should be ORDERED.", result.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals("Invalid size.", 100, result.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void parallel_mapStream_should_keep_order() {
+        // GIVEN
+        Mapper mapper = buildMapper();
+
+        Stream<Source> source = IntStream.range(0, 10_000).mapToObj(Source::new).parallel();
+
+        // WHEN
+        List<Integer> result = mapper.mapStream(source, Destination.class)
+                .map(Destination::getY)
+                .collect(Collectors.toList());
+
+        // THEN
+        assertEquals("Invalid result.",
+                IntStream.range(0, 10_000).boxed().collect(Collectors.toList()), result);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MapperDefaultMethodsTest {
+
+    public static class Source {
+
+        private String x;
+
+        public Source() {
+        }
+
+        public Source(final String x) {
+            this.x = x;
+        }
+
+        public String getX() {
+            return x;
+        }
+    }
+
+    public static class Destination {
+
+        private String y;
+
+        public String getY() {
+            return y;
+        }
+
+        public void setY(String y) {
+            this.y = y;
+        }
+    }
+
+    /**
+     * Mapper decorator implementing only methods available in version 1.0.2 of {@link Mapper}.
+     */
+    private static class DelegatingMapper implements Mapper {
+
+        private final Mapper _mapper;
+
+        DelegatingMapper(final Mapper mapper) {
+            this._mapper = mapper;
+        }
+
+        @Override
+        public <S, D> void map(S source, D destination) throws MappingException {
+            _mapper.map(source, destination);
+        }
+
+        @Override
+        public <S, D> boolean mapIfMapperAvailable(S source, D destination)
+                throws MappingException {
+            return _mapper.mapIfMapperAvailable(source, destination);
+        }
+
+        @Override
+        public <S, D> D map(S source, Class<D> destinationClass) throws MappingException {
+            return _mapper.map(source, destinationClass);
+        }
+
+        @Override
+        public <S, D> Optional<D> mapIfMapperAvailable(S source, Class<D> destinationClass)
+                throws MappingException {
+            return _mapper.mapIfMapperAvailable(source, destinationClass);
+        }
+
+        @Override
+        public boolean isConverterAvailable(Class sourceClass, Class destinationClass) {
+            return _mapper.isConverterAvailable(sourceClass, destinationClass);
+        }
+
+        @Override
+        public boolean isMapAvailable(Class sourceClass, Class destinationClass) {
+            return _mapper.isMapAvailable(sourceClass, destinationClass);
+        }
+    }
+
+    private static Mapper getDelegatingMapper() {
+        return new DelegatingMapper(new MapperBuilder()
+                .addMap(Source.class, Destination.class, (config, source, destination)
+                        -> config.bind(source::getX, destination::setY)
+                        .afterMap(() -> {
+                            if ("fail".equals(source.getX())) {
+                                throw new IllegalArgumentException("fail");
+                            }
+                        }))
+                .buildMapper());
+    }
+
+    @Test
+    public void default_mapAll_should_map_each_element() {
+        // GIVEN
+        Mapper mapper = getDelegatingMapper();
+
+        // WHEN
+        List<Destination> result = mapper.mapAll(
+                Arrays.asList(new Source("a"), null, new Source("b")), Destination.class);
+
+        // THEN
+        assertEquals("Invalid result size.", 3, result.size());
+        assertEquals("Invalid result.get(0).getY() value.", "a", result.get(0).getY());
+        assertNull("Invalid result.get(1) value.", result.get(1));
+        assertEquals("Invalid result.get(2).getY() value.", "b", result.get(2).getY());
+    }
+
+    @Test
+    public void default_mapAllParallel_should_collect_failures() {
+        // GIVEN
+        Mapper mapper = getDelegatingMapper();
+
+        // WHEN
+        try {
+            mapper.mapAllParallel(Arrays.asList(new Source("a"), new Source("fail")),
+                    Destination.class, ForkJoinPool.commonPool());
+
+            fail("BatchMappingException expected.");
+        } catch (BatchMappingException ex) {
+            // THEN
+            assertEquals("Invalid failures.", Arrays.asList(1),
+                    Arrays.asList(ex.getFailures().keySet().toArray()));
+            assertEquals("Invalid result.get(0).getY() value.",
+                    "a", ((Destination) ex.getResult().get(0)).getY());
+        }
+    }
+
+    @Test
+    public void default_mapStream_should_map_each_element() {
+        // GIVEN
+        Mapper mapper = getDelegatingMapper();
+
+        // WHEN
+        List<String> result = mapper.mapStream(
+                Stream.of(new Source("a"), new Source("b")), Destination.class)
+                .map(Destination::getY)
+                .collect(Collectors.toList());
+
+        // THEN
+        assertEquals("Invalid result.", Arrays.asList("a", "b"), result);
+    }
+
+    @Test
+    public void default_options_should_return_the_same_mapper() {
+        // GIVEN
+        Mapper mapper = getDelegatingMapper();
+
+        // WHEN, THEN
+        assertFalse("Metrics should not be available.", mapper.getMetrics().isPresent());
+        assertSame("Invalid preservingIdentity() result.", mapper, mapper.preservingIdentity());
+        assertSame("Invalid usingWorkStack() result.", mapper, mapper.usingWorkStack());
+    }
+}
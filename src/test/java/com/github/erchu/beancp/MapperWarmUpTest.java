@@ -0,0 +1,286 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MapperWarmUpTest {
+
+    public static class Leaf {
+
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(final String value) {
+            this.value = value;
+        }
+    }
+
+    public static class LeafDto {
+
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(final String value) {
+            this.value = value;
+        }
+    }
+
+    public static class Inner {
+
+        private Leaf leaf;
+
+        public Leaf getLeaf() {
+            return leaf;
+        }
+
+        public void setLeaf(final Leaf leaf) {
+            this.leaf = leaf;
+        }
+    }
+
+    public static class InnerDto {
+
+        private LeafDto leaf;
+
+        public LeafDto getLeaf() {
+            return leaf;
+        }
+
+        public void setLeaf(final LeafDto leaf) {
+            this.leaf = leaf;
+        }
+    }
+
+    public static class Source {
+
+        private Inner inner;
+
+        public Inner getInner() {
+            return inner;
+        }
+
+        public void setInner(final Inner inner) {
+            this.inner = inner;
+        }
+    }
+
+    public static class Destination {
+
+        private InnerDto inner;
+
+        public InnerDto getInner() {
+            return inner;
+        }
+
+        public void setInner(final InnerDto inner) {
+            this.inner = inner;
+        }
+    }
+
+    public static class Basket {
+
+        private List<Leaf> leaves;
+
+        public List<Leaf> getLeaves() {
+            return leaves;
+        }
+
+        public void setLeaves(final List<Leaf> leaves) {
+            this.leaves = leaves;
+        }
+    }
+
+    public static class BasketDto {
+
+        private List<LeafDto> leaves;
+
+        public List<LeafDto> getLeaves() {
+            return leaves;
+        }
+
+        public void setLeaves(final List<LeafDto> leaves) {
+            this.leaves = leaves;
+        }
+    }
+
+    public static class Label {
+
+        private String text;
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(final String text) {
+            this.text = text;
+        }
+    }
+
+    @Test
+    public void warm_up_should_resolve_class_pairs_reachable_through_convention_bindings() {
+        // GIVEN
+        AtomicInteger conventionCalls = new AtomicInteger();
+        AtomicReference<Duration> warmUpDuration = new AtomicReference<>();
+        Mapper mapper = createMapperBuilder(conventionCalls)
+                .enableWarmUp(warmUpDuration::set)
+                .buildMapper();
+        int conventionCallsAfterWarmUp = conventionCalls.get();
+
+        // WHEN
+        Destination result = mapper.map(createSource(), Destination.class);
+
+        // THEN
+        assertNotNull("Warm-up duration not reported.", warmUpDuration.get());
+        assertFalse("Invalid warm-up duration.", warmUpDuration.get().isNegative());
+        assertEquals("Convention should not be executed after warm-up.",
+                conventionCallsAfterWarmUp, conventionCalls.get());
+        assertEquals("Invalid 'inner.leaf.value' property value.",
+                "x", result.getInner().getLeaf().getValue());
+    }
+
+    @Test
+    public void convention_should_be_executed_on_first_mapping_when_warm_up_is_not_enabled() {
+        // GIVEN
+        AtomicInteger conventionCalls = new AtomicInteger();
+        Mapper mapper = createMapperBuilder(conventionCalls).buildMapper();
+        int conventionCallsAfterBuild = conventionCalls.get();
+
+        // WHEN
+        mapper.map(createSource(), Destination.class);
+
+        // THEN
+        assertTrue("Convention should be executed on first mapping.",
+                conventionCalls.get() > conventionCallsAfterBuild);
+    }
+
+    @Test
+    public void warm_up_should_be_executed_by_passed_executor() {
+        // GIVEN
+        List<Runnable> tasks = new LinkedList<>();
+        AtomicReference<Duration> warmUpDuration = new AtomicReference<>();
+        AtomicInteger conventionCalls = new AtomicInteger();
+        Mapper mapper = createMapperBuilder(conventionCalls)
+                .enableWarmUp(tasks::add, warmUpDuration::set)
+                .buildMapper();
+
+        assertNull("Warm-up should not be executed by buildMapper.", warmUpDuration.get());
+        assertEquals("Invalid number of warm-up tasks.", 1, tasks.size());
+
+        // WHEN
+        tasks.get(0).run();
+
+        // THEN
+        int conventionCallsAfterWarmUp = conventionCalls.get();
+
+        mapper.map(createSource(), Destination.class);
+
+        assertNotNull("Warm-up duration not reported.", warmUpDuration.get());
+        assertEquals("Convention should not be executed after warm-up.",
+                conventionCallsAfterWarmUp, conventionCalls.get());
+    }
+
+    @Test
+    public void warm_up_should_resolve_collection_element_class_pairs() {
+        // GIVEN
+        AtomicInteger conventionCalls = new AtomicInteger();
+        Mapper mapper = createMapperBuilder(conventionCalls)
+                .addMap(Basket.class, BasketDto.class, (config, source, destination)
+                        -> config.useConvention(NameBasedMapConvention.get()))
+                .enableWarmUp(duration -> {
+                })
+                .buildMapper();
+        int conventionCallsAfterWarmUp = conventionCalls.get();
+
+        Basket basket = new Basket();
+        basket.setLeaves(Arrays.asList(createSource().getInner().getLeaf()));
+
+        // WHEN
+        BasketDto result = mapper.map(basket, BasketDto.class);
+
+        // THEN
+        assertEquals("Convention should not be executed after warm-up.",
+                conventionCallsAfterWarmUp, conventionCalls.get());
+        assertEquals("Invalid 'leaves' property value.",
+                "x", result.getLeaves().get(0).getValue());
+    }
+
+    @Test
+    public void warm_up_should_not_check_map_any_conventions_for_class_pairs_served_by_converters() {
+        // GIVEN
+        MapperBuilder mapperBuilder = new MapperBuilder()
+                .addMapAnyByConvention(
+                        NameBasedMapConvention.get().failIfNotAllDestinationMembersMapped())
+                .addConverter(Leaf.class, Label.class, source -> {
+                    Label result = new Label();
+                    result.setText(source.getValue());
+
+                    return result;
+                })
+                .enableWarmUp(duration -> {
+                });
+
+        // WHEN
+        Mapper mapper = mapperBuilder.buildMapper();
+
+        // THEN
+        Label result = mapper.map(createSource().getInner().getLeaf(), Label.class);
+
+        assertEquals("Invalid 'text' property value.", "x", result.getText());
+    }
+
+    private static MapperBuilder createMapperBuilder(final AtomicInteger conventionCalls) {
+        MapConvention convention = NameBasedMapConvention.get();
+
+        return new MapperBuilder()
+                .addMapAnyByConvention((mappingsInfo, sourceClass, destinationClass) -> {
+                    conventionCalls.incrementAndGet();
+
+                    return convention.getBindings(mappingsInfo, sourceClass, destinationClass);
+                })
+                .addMap(Source.class, Destination.class, (config, source, destination)
+                        -> config.useConvention(NameBasedMapConvention.get()));
+    }
+
+    private static Source createSource() {
+        Leaf leaf = new Leaf();
+        leaf.setValue("x");
+
+        Inner inner = new Inner();
+        inner.setLeaf(leaf);
+
+        Source source = new Source();
+        source.setInner(inner);
+
+        return source;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import com.github.erchu.beancp.MapperExecutorSelector.MapperExecutorMatchMode;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MappingExecutorIndexTest {
+
+    private static final List<Class> CLASSES = Arrays.asList(
+            Object.class, Number.class, Integer.class, int.class, Long.class, long.class,
+            Comparable.class, Serializable.class, Cloneable.class, CharSequence.class,
+            String.class, Collection.class, List.class, AbstractList.class, ArrayList.class,
+            RandomAccess.class, Object[].class, Number[].class, Integer[].class,
+            Comparable[].class, int[].class, long[].class, String[][].class, Object[][].class);
+
+    @Test
+    public void index_should_choose_the_same_converter_as_linear_search() {
+        // GIVEN
+        List<Converter<?, ?>> converters = new ArrayList<>();
+
+        for (Class i : CLASSES) {
+            for (Class j : CLASSES) {
+                // skip some pairs, so not every combination has exact match
+                if ((i.hashCode() ^ j.hashCode()) % 3 != 0) {
+                    converters.add(new Converter<>(i, j, source -> null));
+                }
+            }
+        }
+
+        // WHEN
+        MappingExecutorIndex<Converter<?, ?>> index = new MappingExecutorIndex<>(
+                converters, MapperExecutorMatchMode.STRICT_DESTINATION);
+
+        // THEN
+        for (Class i : CLASSES) {
+            for (Class j : CLASSES) {
+                assertSame(String.format("Invalid converter for %s and %s.", i, j),
+                        MapperExecutorSelector.getBestMatchingConverter(i, j, converters),
+                        index.getBestMatching(i, j));
+            }
+        }
+    }
+
+    @Test
+    public void index_should_choose_the_same_converter_as_linear_search_for_subset_of_classes() {
+        // GIVEN
+        List<Converter<?, ?>> converters = Arrays.asList(
+                new Converter<>(Serializable.class, Object.class, source -> null),
+                new Converter<>(Number.class, Object.class, source -> null),
+                new Converter<>(Object[].class, List.class, source -> null),
+                new Converter<>(Integer.class, long.class, source -> null),
+                new Converter<>(int.class, Long.class, source -> null),
+                new Converter<>(Comparable.class, Comparable.class, source -> null));
+
+        // WHEN
+        MappingExecutorIndex<Converter<?, ?>> index = new MappingExecutorIndex<>(
+                converters, MapperExecutorMatchMode.ANY);
+
+        // THEN
+        for (Class i : CLASSES) {
+            for (Class j : CLASSES) {
+                List<Converter<?, ?>> valid = new ArrayList<>();
+
+                converters.stream()
+                        .filter(k -> MapperExecutorSelector.canBeMapped(i, k.getSourceClass())
+                                && MapperExecutorSelector.canBeMapped(j, k.getDestinationClass()))
+                        .forEach(valid::add);
+
+                assertSame(String.format("Invalid converter for %s and %s.", i, j),
+                        MapperExecutorSelector.selectBestMatchingMappingExecutor(
+                                i, j, valid, MapperExecutorMatchMode.ANY),
+                        index.getBestMatching(i, j));
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MappingMetricsTest {
+
+    public static class Source {
+
+        private int _x;
+
+        public int getX() {
+            return _x;
+        }
+
+        public void setX(final int x) {
+            this._x = x;
+        }
+    }
+
+    public static class Destination {
+
+        private int _x;
+
+        public int getX() {
+            return _x;
+        }
+
+        public void setX(final int x) {
+            this._x = x;
+        }
+    }
+
+    public static class ConventionDestination {
+
+        private int _x;
+
+        public int getX() {
+            return _x;
+        }
+
+        public void setX(final int x) {
+            this._x = x;
+        }
+    }
+
+    public static class UnmappedDestination {
+
+        private String _y;
+
+        public String getY() {
+            return _y;
+        }
+
+        public void setY(final String y) {
+            this._y = y;
+        }
+    }
+
+    @Test
+    public void metrics_should_not_be_available_when_not_enabled() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder().buildMapper();
+
+        // WHEN
+        Optional<MappingMetrics> result = mapper.getMetrics();
+
+        // THEN
+        assertFalse("Invalid result.", result.isPresent());
+    }
+
+    @Test
+    public void metrics_should_count_mappings_by_class_pair_and_executor_type() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .enableMetrics(false)
+                .addConverter(Source.class, String.class, source -> Integer.toString(source.getX()))
+                .addMap(Source.class, Destination.class, (config, source, destination)
+                        -> config.bind(source::getX, destination::setX))
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        mapper.map(new Source(), String.class);
+        mapper.map(new Source(), String.class);
+        mapper.map(new Source(), Destination.class);
+        mapper.map(new Source(), new Destination());
+        mapper.map(new Source(), ConventionDestination.class);
+        mapper.mapIfMapperAvailable(new Source(), UnmappedDestination.class);
+
+        // THEN
+        MappingMetrics metrics = mapper.getMetrics().get();
+        MappingStatistics converterStatistics
+                = getStatistics(metrics, Source.class, String.class);
+        MappingStatistics mapStatistics
+                = getStatistics(metrics, Source.class, Destination.class);
+        MappingStatistics conventionStatistics
+                = getStatistics(metrics, Source.class, ConventionDestination.class);
+        MappingStatistics missStatistics
+                = getStatistics(metrics, Source.class, UnmappedDestination.class);
+
+        assertEquals("Invalid 'converterCount' property value.",
+                2, converterStatistics.getConverterCount());
+        assertEquals("Invalid 'mapCount' property value.", 0, converterStatistics.getMapCount());
+        assertEquals("Invalid 'mapCount' property value.", 2, mapStatistics.getMapCount());
+        assertEquals("Invalid 'mapAnyConventionCount' property value.",
+                1, conventionStatistics.getMapAnyConventionCount());
+        assertEquals("Invalid 'missCount' property value.", 1, missStatistics.getMissCount());
+        assertEquals("Invalid 'mappingCount' property value.",
+                0, missStatistics.getMappingCount());
+        assertEquals("Invalid 'totalTimeNanos' property value.",
+                0, mapStatistics.getTotalTimeNanos());
+        assertEquals("Invalid 'latencyHistogram' property value.",
+                0, mapStatistics.getLatencyHistogram().length);
+    }
+
+    @Test
+    public void metrics_should_count_failures() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .enableMetrics(false)
+                .addConverter(Source.class, String.class, source -> {
+                    throw new IllegalStateException();
+                })
+                .buildMapper();
+
+        // WHEN
+        try {
+            mapper.map(new Source(), String.class);
+
+            fail("Exception expected.");
+        } catch (MappingException ex) {
+            // expected
+        }
+
+        // THEN
+        MappingStatistics statistics
+                = getStatistics(mapper.getMetrics().get(), Source.class, String.class);
+
+        assertEquals("Invalid 'converterCount' property value.",
+                1, statistics.getConverterCount());
+        assertEquals("Invalid 'failureCount' property value.", 1, statistics.getFailureCount());
+    }
+
+    @Test
+    public void metrics_should_measure_latency_when_requested() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .enableMetrics(true)
+                .addConverter(Source.class, String.class, source -> Integer.toString(source.getX()))
+                .buildMapper();
+
+        // WHEN
+        mapper.map(new Source(), String.class);
+        mapper.map(new Source(), String.class);
+
+        // THEN
+        MappingMetrics metrics = mapper.getMetrics().get();
+        MappingStatistics statistics = getStatistics(metrics, Source.class, String.class);
+        long histogramCount = 0;
+
+        for (long i : statistics.getLatencyHistogram()) {
+            histogramCount += i;
+        }
+
+        assertTrue("Invalid 'latencyMeasured' property value.", metrics.isLatencyMeasured());
+        assertEquals("Invalid 'latencyHistogram' property value.", 2, histogramCount);
+        assertTrue("Invalid 'maxTimeNanos' property value.",
+                statistics.getMaxTimeNanos() <= statistics.getTotalTimeNanos());
+    }
+
+    @Test
+    public void reset_should_set_counters_to_zero() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .enableMetrics(true)
+                .addConverter(Source.class, String.class, source -> Integer.toString(source.getX()))
+                .buildMapper();
+
+        mapper.map(new Source(), String.class);
+
+        // WHEN
+        mapper.getMetrics().get().reset();
+
+        // THEN
+        MappingStatistics statistics
+                = getStatistics(mapper.getMetrics().get(), Source.class, String.class);
+
+        assertEquals("Invalid 'converterCount' property value.",
+                0, statistics.getConverterCount());
+        assertEquals("Invalid 'totalTimeNanos' property value.",
+                0, statistics.getTotalTimeNanos());
+    }
+
+    @Test
+    public void metrics_should_be_readable_by_jmx() throws Exception {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .enableMetrics(false)
+                .addConverter(Source.class, String.class, source -> Integer.toString(source.getX()))
+                .buildMapper();
+        MappingMetrics metrics = mapper.getMetrics().get();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        mapper.map(new Source(), String.class);
+        mapper.mapIfMapperAvailable(new Source(), Destination.class);
+
+        // WHEN
+        ObjectName name = metrics.registerMBean("metrics_should_be_readable_by_jmx");
+
+        try {
+            // THEN
+            assertEquals("Invalid 'MappingCount' attribute value.",
+                    1L, server.getAttribute(name, "MappingCount"));
+            assertEquals("Invalid 'MissCount' attribute value.",
+                    1L, server.getAttribute(name, "MissCount"));
+            assertEquals("Invalid 'ClassPairStatistics' attribute value.",
+                    2, ((String[]) server.getAttribute(name, "ClassPairStatistics")).length);
+        } finally {
+            metrics.unregisterMBean();
+        }
+
+        assertFalse("MBean should be unregistered.", server.isRegistered(name));
+    }
+
+    private static MappingStatistics getStatistics(
+            final MappingMetrics metrics, final Class sourceClass, final Class destinationClass) {
+        return metrics.getStatistics().stream()
+                .filter(i -> i.getSourceClass().equals(sourceClass)
+                        && i.getDestinationClass().equals(destinationClass))
+                .findFirst()
+                .get();
+    }
+}
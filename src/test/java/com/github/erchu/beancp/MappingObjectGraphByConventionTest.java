@@ -18,6 +18,13 @@
 package com.github.erchu.beancp;
 
 import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -141,6 +148,59 @@ public class MappingObjectGraphByConventionTest {
         }
     }
 
+    public static class SourceOrder {
+
+        public String number;
+
+        public SourceCustomer customer;
+    }
+
+    public static class SourceCustomer {
+
+        public String name;
+
+        public SourceOrder lastOrder;
+    }
+
+    public static class DestinationOrder {
+
+        public String number;
+
+        public DestinationCustomer customer;
+    }
+
+    public static class DestinationCustomer {
+
+        public String name;
+
+        public DestinationOrder lastOrder;
+    }
+
+    public static class SourceBasket {
+
+        public List<SourceItem> items;
+    }
+
+    public static class SourceItem {
+
+        public String name;
+
+        public SourceBasket basket;
+    }
+
+    public static class DestinationBasket {
+
+        // elements are mapped to ArrayList, so items cannot be mapped
+        public LinkedList<DestinationItem> items;
+    }
+
+    public static class DestinationItem {
+
+        public String name;
+
+        public DestinationBasket basket;
+    }
+
     @Test
     public void conventions_can_be_used_to_map_object_graphs() {
         // GIVEN
@@ -207,4 +267,148 @@ public class MappingObjectGraphByConventionTest {
                 sourceOuter.getInnerProperty().getInner().getX(),
                 result.getInnerProperty().getInner().getX());
     }
+
+    @Test(timeout = 10000)
+    public void map_any_convention_should_map_graph_of_classes_referencing_each_other() {
+        // GIVEN
+        SourceOrder sourceOrder = new SourceOrder();
+        sourceOrder.number = "A/1";
+        sourceOrder.customer = new SourceCustomer();
+        sourceOrder.customer.name = "Smith";
+        sourceOrder.customer.lastOrder = new SourceOrder();
+        sourceOrder.customer.lastOrder.number = "A/2";
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        DestinationOrder result = mapper.map(sourceOrder, DestinationOrder.class);
+
+        // THEN
+        assertEquals("Invalid result.number value.", "A/1", result.number);
+        assertEquals("Invalid result.customer.name value.", "Smith", result.customer.name);
+        assertEquals("Invalid result.customer.lastOrder.number value.",
+                "A/2", result.customer.lastOrder.number);
+        assertNull("Invalid result.customer.lastOrder.customer value.",
+                result.customer.lastOrder.customer);
+    }
+
+    @Test(timeout = 10000)
+    public void map_using_convention_should_be_configured_for_classes_referencing_each_other() {
+        // GIVEN
+        SourceOrder sourceOrder = new SourceOrder();
+        sourceOrder.number = "A/1";
+        sourceOrder.customer = new SourceCustomer();
+        sourceOrder.customer.name = "Smith";
+
+        // WHEN
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .addMap(SourceOrder.class, DestinationOrder.class,
+                        (config, source, destination)
+                        -> config.useConvention(NameBasedMapConvention.get()))
+                .buildMapper();
+
+        DestinationOrder result = mapper.map(sourceOrder, DestinationOrder.class);
+
+        // THEN
+        assertEquals("Invalid result.number value.", "A/1", result.number);
+        assertEquals("Invalid result.customer.name value.", "Smith", result.customer.name);
+    }
+
+    @Test(timeout = 10000)
+    public void class_pairs_resolved_with_provisional_answer_should_be_resolved_again_when_it_is_wrong() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // SourceItem -> DestinationItem is resolved while SourceBasket -> DestinationBasket is
+        // provisionally reported as mappable
+        assertFalse("Basket should not be mappable.",
+                mapper.isMapAvailable(SourceBasket.class, DestinationBasket.class));
+
+        SourceItem sourceItem = new SourceItem();
+        sourceItem.name = "apple";
+        sourceItem.basket = new SourceBasket();
+
+        // WHEN
+        DestinationItem result = mapper.map(sourceItem, DestinationItem.class);
+
+        // THEN
+        assertEquals("Invalid result.name value.", "apple", result.name);
+        assertNull("Invalid result.basket value.", result.basket);
+    }
+
+    @Test(timeout = 10000)
+    public void provisional_answers_should_not_be_visible_to_other_threads()
+            throws Exception {
+        // GIVEN
+        CountDownLatch basketBindingsCreated = new CountDownLatch(1);
+        CountDownLatch itemMappedByOtherThread = new CountDownLatch(1);
+        AtomicBoolean firstBasketResolution = new AtomicBoolean(true);
+        MapConvention convention = NameBasedMapConvention.get();
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention((mappingsInfo, sourceClass, destinationClass) -> {
+                    List<Binding> result = convention.getBindings(
+                            mappingsInfo, sourceClass, destinationClass);
+
+                    if (sourceClass == SourceBasket.class
+                            && firstBasketResolution.compareAndSet(true, false)) {
+                        // SourceItem -> DestinationItem is already resolved, while
+                        // SourceBasket -> DestinationBasket is provisionally reported as mappable
+                        basketBindingsCreated.countDown();
+                        awaitUninterruptibly(itemMappedByOtherThread);
+                    }
+
+                    return result;
+                })
+                .buildMapper();
+
+        SourceItem sourceItem = new SourceItem();
+        sourceItem.name = "apple";
+        sourceItem.basket = new SourceBasket();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        DestinationItem result;
+        boolean basketMappable;
+
+        try {
+            Future<Boolean> basketResolution = executor.submit(
+                    () -> mapper.isMapAvailable(SourceBasket.class, DestinationBasket.class));
+
+            basketBindingsCreated.await();
+
+            // WHEN
+            try {
+                result = mapper.map(sourceItem, DestinationItem.class);
+            } finally {
+                itemMappedByOtherThread.countDown();
+            }
+
+            basketMappable = basketResolution.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // THEN
+        assertFalse("Basket should not be mappable.", basketMappable);
+        assertEquals("Invalid result.name value.", "apple", result.name);
+        assertNull("Invalid result.basket value.", result.basket);
+
+        DestinationItem secondResult = mapper.map(sourceItem, DestinationItem.class);
+
+        assertNull("Invalid secondResult.basket value.", secondResult.basket);
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException(ex);
+        }
+    }
 }
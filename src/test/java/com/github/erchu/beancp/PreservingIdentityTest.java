@@ -0,0 +1,286 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PreservingIdentityTest {
+
+    public static class Product {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class LineItem {
+
+        private Product product;
+
+        public Product getProduct() {
+            return product;
+        }
+
+        public void setProduct(Product product) {
+            this.product = product;
+        }
+    }
+
+    public static class Order {
+
+        private List<LineItem> items;
+
+        public List<LineItem> getItems() {
+            return items;
+        }
+
+        public void setItems(List<LineItem> items) {
+            this.items = items;
+        }
+    }
+
+    public static class ProductDto {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class LineItemDto {
+
+        private ProductDto product;
+
+        public ProductDto getProduct() {
+            return product;
+        }
+
+        public void setProduct(ProductDto product) {
+            this.product = product;
+        }
+    }
+
+    public static class OrderDto {
+
+        private List<LineItemDto> items;
+
+        public List<LineItemDto> getItems() {
+            return items;
+        }
+
+        public void setItems(List<LineItemDto> items) {
+            this.items = items;
+        }
+    }
+
+    public static class Node {
+
+        private String name;
+
+        private Node next;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+    }
+
+    public static class NodeDto {
+
+        private String name;
+
+        private NodeDto next;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public NodeDto getNext() {
+            return next;
+        }
+
+        public void setNext(NodeDto next) {
+            this.next = next;
+        }
+    }
+
+    @Test
+    public void shared_source_objects_should_be_mapped_once() {
+        // GIVEN
+        Order order = getSampleOrderWithSharedProduct();
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        OrderDto result = mapper.preservingIdentity().map(order, OrderDto.class);
+
+        // THEN
+        assertEquals("Invalid result.getItems() size.", 2, result.getItems().size());
+        assertEquals("Invalid product name.",
+                "book", result.getItems().get(0).getProduct().getName());
+        assertSame("Product should be mapped once.",
+                result.getItems().get(0).getProduct(), result.getItems().get(1).getProduct());
+    }
+
+    @Test
+    public void without_preserving_identity_shared_source_objects_should_be_mapped_many_times() {
+        // GIVEN
+        Order order = getSampleOrderWithSharedProduct();
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        OrderDto result = mapper.map(order, OrderDto.class);
+
+        // THEN
+        assertNotSame("Product should be mapped for each reference.",
+                result.getItems().get(0).getProduct(), result.getItems().get(1).getProduct());
+    }
+
+    @Test(timeout = 10000)
+    public void cyclic_object_graph_should_be_mapped() {
+        // GIVEN
+        Node first = new Node();
+        first.setName("first");
+        first.setNext(new Node());
+        first.getNext().setName("second");
+        first.getNext().setNext(first);
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Node.class, NodeDto.class, (config, source, destination) -> config
+                        .bind(source::getName, destination::setName)
+                        .mapInner(source::getNext, destination::setNext, NodeDto.class))
+                .buildMapper();
+
+        // WHEN
+        NodeDto result = mapper.preservingIdentity().map(first, NodeDto.class);
+
+        // THEN
+        assertEquals("Invalid result.getName() value.", "first", result.getName());
+        assertEquals("Invalid result.getNext().getName() value.",
+                "second", result.getNext().getName());
+        assertSame("Cycle should be preserved.", result, result.getNext().getNext());
+    }
+
+    @Test
+    public void each_top_level_call_should_have_own_context() {
+        // GIVEN
+        Product product = new Product();
+        product.setName("book");
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper()
+                .preservingIdentity();
+
+        // WHEN
+        ProductDto first = mapper.map(product, ProductDto.class);
+        ProductDto second = mapper.map(product, ProductDto.class);
+
+        // THEN
+        assertNotSame("New destination object expected.", first, second);
+    }
+
+    @Test
+    public void mapAll_should_share_context_between_elements() {
+        // GIVEN
+        Product product = new Product();
+        product.setName("book");
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        List<ProductDto> result = mapper.preservingIdentity()
+                .mapAll(Arrays.asList(product, null, product), ProductDto.class);
+
+        // THEN
+        assertEquals("Invalid result size.", 3, result.size());
+        assertNull("Invalid result.get(1) value.", result.get(1));
+        assertSame("Product should be mapped once.", result.get(0), result.get(2));
+    }
+
+    @Test
+    public void mapAllParallel_should_share_context_between_elements() {
+        // GIVEN
+        Product product = new Product();
+        product.setName("book");
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        List<ProductDto> result = mapper.preservingIdentity()
+                .mapAllParallel(Arrays.asList(product, product), ProductDto.class);
+
+        // THEN
+        assertSame("Product should be mapped once.", result.get(0), result.get(1));
+    }
+
+    private static Order getSampleOrderWithSharedProduct() {
+        Product product = new Product();
+        product.setName("book");
+
+        LineItem firstItem = new LineItem();
+        firstItem.setProduct(product);
+
+        LineItem secondItem = new LineItem();
+        secondItem.setProduct(product);
+
+        Order order = new Order();
+        order.setItems(Arrays.asList(firstItem, secondItem));
+
+        return order;
+    }
+}
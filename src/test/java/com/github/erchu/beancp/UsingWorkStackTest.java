@@ -0,0 +1,402 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class UsingWorkStackTest {
+
+    private static final int DEEP_CHAIN_LENGTH = 100000;
+
+    public static class Node {
+
+        private String name;
+
+        private Node next;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+    }
+
+    public static class NodeDto {
+
+        private String name;
+
+        private NodeDto next;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public NodeDto getNext() {
+            return next;
+        }
+
+        public void setNext(NodeDto next) {
+            this.next = next;
+        }
+    }
+
+    public static class NodeSummary {
+
+        private final String name;
+
+        private final String nextName;
+
+        public NodeSummary(String name, String nextName) {
+            this.name = name;
+            this.nextName = nextName;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getNextName() {
+            return nextName;
+        }
+    }
+
+    public static class ListNode {
+
+        private String name;
+
+        private List<ListNode> next;
+
+        private Map<String, ListNode> nextByName;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<ListNode> getNext() {
+            return next;
+        }
+
+        public void setNext(List<ListNode> next) {
+            this.next = next;
+        }
+
+        public Map<String, ListNode> getNextByName() {
+            return nextByName;
+        }
+
+        public void setNextByName(Map<String, ListNode> nextByName) {
+            this.nextByName = nextByName;
+        }
+    }
+
+    public static class ListNodeDto {
+
+        private String name;
+
+        private List<ListNodeDto> next;
+
+        private Map<String, ListNodeDto> nextByName;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<ListNodeDto> getNext() {
+            return next;
+        }
+
+        public void setNext(List<ListNodeDto> next) {
+            this.next = next;
+        }
+
+        public Map<String, ListNodeDto> getNextByName() {
+            return nextByName;
+        }
+
+        public void setNextByName(Map<String, ListNodeDto> nextByName) {
+            this.nextByName = nextByName;
+        }
+    }
+
+    @Test
+    public void declarative_map_should_map_deep_chain() {
+        // GIVEN
+        Node first = getSampleChain(DEEP_CHAIN_LENGTH);
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Node.class, NodeDto.class, (config, source, destination) -> config
+                        .bind(source::getName, destination::setName)
+                        .mapInner(source::getNext, destination::setNext, NodeDto.class))
+                .buildMapper();
+
+        // WHEN
+        NodeDto result = mapper.usingWorkStack().map(first, NodeDto.class);
+
+        // THEN
+        assertChainEquals(first, result);
+    }
+
+    @Test
+    public void map_any_name_based_convention_should_map_deep_chain() {
+        // GIVEN
+        Node first = getSampleChain(DEEP_CHAIN_LENGTH);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        NodeDto result = mapper.usingWorkStack().map(first, NodeDto.class);
+
+        // THEN
+        assertChainEquals(first, result);
+    }
+
+    @Test
+    public void map_any_name_based_convention_should_map_deep_chain_linked_by_list_elements() {
+        // GIVEN
+        ListNode first = getSampleListChain(DEEP_CHAIN_LENGTH, false);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        ListNodeDto result = mapper.usingWorkStack().map(first, ListNodeDto.class);
+
+        // THEN
+        ListNode sourceNode = first;
+        ListNodeDto destinationNode = result;
+
+        while (sourceNode.getNext().isEmpty() == false) {
+            assertEquals("Invalid name property value.",
+                    sourceNode.getName(), destinationNode.getName());
+            assertEquals("Invalid next property size.", 1, destinationNode.getNext().size());
+
+            sourceNode = sourceNode.getNext().get(0);
+            destinationNode = destinationNode.getNext().get(0);
+        }
+
+        assertEquals("Invalid name property value.",
+                sourceNode.getName(), destinationNode.getName());
+        assertTrue("Invalid next property value.", destinationNode.getNext().isEmpty());
+    }
+
+    @Test
+    public void map_any_name_based_convention_should_map_deep_chain_linked_by_map_values() {
+        // GIVEN
+        ListNode first = getSampleListChain(DEEP_CHAIN_LENGTH, true);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        ListNodeDto result = mapper.usingWorkStack().map(first, ListNodeDto.class);
+
+        // THEN
+        ListNode sourceNode = first;
+        ListNodeDto destinationNode = result;
+
+        while (sourceNode.getNextByName().isEmpty() == false) {
+            assertEquals("Invalid name property value.",
+                    sourceNode.getName(), destinationNode.getName());
+            assertEquals("Invalid nextByName property value.",
+                    sourceNode.getNextByName().keySet(), destinationNode.getNextByName().keySet());
+
+            sourceNode = sourceNode.getNextByName().values().iterator().next();
+            destinationNode = destinationNode.getNextByName().values().iterator().next();
+        }
+
+        assertEquals("Invalid name property value.",
+                sourceNode.getName(), destinationNode.getName());
+        assertTrue("Invalid nextByName property value.",
+                destinationNode.getNextByName().isEmpty());
+    }
+
+    @Test
+    public void converter_should_get_fully_mapped_nested_object() {
+        // GIVEN
+        Node first = getSampleChain(3);
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Node.class, NodeDto.class, (config, source, destination) -> config
+                        .bind(source::getName, destination::setName)
+                        .mapInner(source::getNext, destination::setNext, NodeDto.class))
+                .addConverter(Node.class, NodeSummary.class, (mapperRef, source) -> {
+                    NodeDto mapped = mapperRef.map(source, NodeDto.class);
+
+                    return new NodeSummary(mapped.getName(), mapped.getNext().getName());
+                })
+                .buildMapper();
+
+        // WHEN
+        NodeSummary result = mapper.usingWorkStack().map(first, NodeSummary.class);
+
+        // THEN
+        assertEquals("Invalid result.getName() value.", "node0", result.getName());
+        assertEquals("Invalid result.getNextName() value.", "node1", result.getNextName());
+    }
+
+    @Test(timeout = 10000)
+    public void work_stack_should_be_combined_with_preserving_identity() {
+        // GIVEN
+        Node first = getSampleChain(DEEP_CHAIN_LENGTH);
+        Node last = first;
+
+        while (last.getNext() != null) {
+            last = last.getNext();
+        }
+
+        last.setNext(first);
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Node.class, NodeDto.class, (config, source, destination) -> config
+                        .bind(source::getName, destination::setName)
+                        .mapInner(source::getNext, destination::setNext, NodeDto.class))
+                .buildMapper();
+
+        // WHEN
+        NodeDto result = mapper.preservingIdentity().usingWorkStack().map(first, NodeDto.class);
+
+        // THEN
+        NodeDto lastResult = result;
+
+        for (int i = 1; i < DEEP_CHAIN_LENGTH; i++) {
+            lastResult = lastResult.getNext();
+        }
+
+        assertEquals("Invalid last node name property value.",
+                "node" + (DEEP_CHAIN_LENGTH - 1), lastResult.getName());
+        assertSame("Cycle should be preserved.", result, lastResult.getNext());
+    }
+
+    @Test
+    public void failure_in_nested_mapping_should_be_rethrown() {
+        // GIVEN
+        Node first = getSampleChain(3);
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Node.class, NodeDto.class, (config, source, destination) -> config
+                        .bind(source::getName, destination::setName)
+                        .mapInner(source::getNext, destination::setNext, NodeDto.class)
+                        .afterMap(() -> {
+                            if ("node2".equals(source.getName())) {
+                                throw new IllegalStateException("node2");
+                            }
+                        }))
+                .buildMapper();
+
+        Mapper workStackMapper = mapper.usingWorkStack();
+
+        // WHEN
+        try {
+            workStackMapper.map(first, NodeDto.class);
+
+            fail("Exception expected.");
+        } catch (MappingException | IllegalStateException ex) {
+            // THEN: expected
+        }
+
+        // THEN
+        NodeDto result = workStackMapper.map(getSampleChain(2), NodeDto.class);
+
+        assertEquals("Invalid result.getNext().getName() value.",
+                "node1", result.getNext().getName());
+    }
+
+    private static Node getSampleChain(final int length) {
+        Node first = null;
+
+        for (int i = length - 1; i >= 0; i--) {
+            Node node = new Node();
+            node.setName("node" + i);
+            node.setNext(first);
+
+            first = node;
+        }
+
+        return first;
+    }
+
+    private static ListNode getSampleListChain(final int length, final boolean linkByMap) {
+        ListNode first = null;
+
+        for (int i = length - 1; i >= 0; i--) {
+            ListNode node = new ListNode();
+            node.setName("node" + i);
+
+            if (linkByMap) {
+                node.setNextByName((first == null)
+                        ? Collections.emptyMap()
+                        : Collections.singletonMap(first.getName(), first));
+            } else {
+                node.setNext((first == null)
+                        ? Collections.emptyList()
+                        : Collections.singletonList(first));
+            }
+
+            first = node;
+        }
+
+        return first;
+    }
+
+    private static void assertChainEquals(final Node source, final NodeDto destination) {
+        Node sourceNode = source;
+        NodeDto destinationNode = destination;
+
+        while (sourceNode != null) {
+            assertNotNull("Missing destination node.", destinationNode);
+            assertEquals("Invalid node name property value.",
+                    sourceNode.getName(), destinationNode.getName());
+
+            sourceNode = sourceNode.getNext();
+            destinationNode = destinationNode.getNext();
+        }
+
+        assertNull("Unexpected destination node.", destinationNode);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.List;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import org.apache.commons.lang3.ClassUtils;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ArrayConvertersTest {
+
+    private final Mapper _mapper = new MapperBuilder()
+            .addConverter(ArrayConverters.get())
+            .buildMapper();
+
+    @Test
+    public void should_map_array_of_primitive_type_to_array_of_wrappers() {
+        // GIVEN
+        int[] sourceInstance = new int[] { 1, 2, 3 };
+
+        // WHEN
+        Integer[] result = _mapper.map(sourceInstance, Integer[].class);
+
+        // THEN
+        assertArrayEquals("Invalid result.", new Integer[] { 1, 2, 3 }, result);
+    }
+
+    @Test
+    public void should_map_array_of_wrappers_to_array_of_primitive_type() {
+        // GIVEN
+        Double[] sourceInstance = new Double[] { 1.5, 2.5 };
+
+        // WHEN
+        double[] result = _mapper.map(sourceInstance, double[].class);
+
+        // THEN
+        assertArrayEquals("Invalid result.", new double[] { 1.5, 2.5 }, result, 0);
+    }
+
+    @Test
+    public void should_copy_array_of_primitive_type() {
+        // GIVEN
+        long[] sourceInstance = new long[] { 1, 2, 3 };
+
+        // WHEN
+        long[] result = _mapper.map(sourceInstance, long[].class);
+
+        // THEN
+        assertNotSame("Array should be copied.", sourceInstance, result);
+        assertArrayEquals("Invalid result.", sourceInstance, result);
+    }
+
+    @Test
+    public void should_map_arrays_of_all_primitive_types() {
+        // GIVEN
+        Object[] sourceInstances = new Object[] {
+            new boolean[] { true }, new byte[] { 1 }, new char[] { 'a' }, new short[] { 1 },
+            new int[] { 1 }, new long[] { 1 }, new float[] { 1 }, new double[] { 1 }
+        };
+
+        for (Object i : sourceInstances) {
+            Class wrappersArrayClass = Array.newInstance(
+                    ClassUtils.primitiveToWrapper(i.getClass().getComponentType()), 0).getClass();
+
+            // WHEN
+            Object[] boxed = (Object[]) _mapper.map(i, wrappersArrayClass);
+            Object result = _mapper.map(boxed, i.getClass());
+
+            // THEN
+            assertEquals("Invalid result size for " + i.getClass(), 1, boxed.length);
+            assertEquals("Invalid element for " + i.getClass(),
+                    Array.get(i, 0), Array.get(result, 0));
+        }
+    }
+
+    @Test
+    public void should_map_array_of_char_to_collection_without_wrappers_array() {
+        // GIVEN
+        char[] sourceInstance = new char[] { 'a', 'b' };
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(CollectionConverters.getArrayToCollection(char.class))
+                .buildMapper();
+
+        // WHEN
+        List result = mapper.map(sourceInstance, List.class);
+
+        // THEN
+        assertEquals("Invalid result.", Arrays.asList('a', 'b'), result);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ClassMetadataTest {
+
+    public static class Bean {
+
+        public static String staticField;
+
+        public String publicField;
+
+        private int _number;
+
+        public int getNumber() {
+            return _number;
+        }
+
+        public void setNumber(final int number) {
+            _number = number;
+        }
+    }
+
+    @Test
+    public void of_should_return_the_same_metadata_for_the_same_class() {
+        // WHEN
+        ClassMetadata first = ClassMetadata.of(Bean.class);
+        ClassMetadata second = ClassMetadata.of(Bean.class);
+
+        // THEN
+        assertSame("Metadata should be cached.", first, second);
+    }
+
+    @Test
+    public void getProperty_should_find_property_ignoring_case() {
+        // GIVEN
+        ClassMetadata metadata = ClassMetadata.of(Bean.class);
+
+        // WHEN
+        PropertyDescriptor result = metadata.getProperty("NUMBER");
+
+        // THEN
+        assertNotNull("Property expected.", result);
+        assertEquals("Invalid property name.", "number", result.getName());
+        assertNull("Unexpected property.", metadata.getProperty("numbers"));
+    }
+
+    @Test
+    public void getInstanceField_should_find_only_non_static_fields_ignoring_case() {
+        // GIVEN
+        ClassMetadata metadata = ClassMetadata.of(Bean.class);
+
+        // WHEN
+        Field result = metadata.getInstanceField("PublicField");
+
+        // THEN
+        assertNotNull("Field expected.", result);
+        assertEquals("Invalid field name.", "publicField", result.getName());
+        assertNull("Static field should be ignored.", metadata.getInstanceField("staticField"));
+        assertEquals("Invalid 'instanceFields' property value.",
+                1, metadata.getInstanceFields().size());
+    }
+}
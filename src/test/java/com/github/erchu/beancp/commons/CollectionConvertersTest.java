@@ -231,6 +231,24 @@ public class CollectionConvertersTest {
         }
     }
 
+    @Test
+    public void should_map_array_of_primitive_type_to_copy_on_write_collection() {
+        // GIVEN
+        int[] sourceInstance = new int[] { 3, 1, 2, 1 };
+
+        // WHEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(CollectionConverters.getArrayToCollection(int.class))
+                .buildMapper();
+
+        CopyOnWriteArrayList listResult = mapper.map(sourceInstance, CopyOnWriteArrayList.class);
+        CopyOnWriteArraySet setResult = mapper.map(sourceInstance, CopyOnWriteArraySet.class);
+
+        // THEN
+        assertEquals("Invalid list result", Arrays.asList(3, 1, 2, 1), listResult);
+        assertEquals("Invalid set result", Arrays.asList(3, 1, 2), new ArrayList<>(setResult));
+    }
+
     @Test
     public void should_map_any_collection_to_array_of_primitive_type() {
         // GIVEN
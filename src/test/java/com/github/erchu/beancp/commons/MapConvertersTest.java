@@ -0,0 +1,95 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.MappingException;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MapConvertersTest {
+
+    public static enum Color {
+
+        RED,
+        GREEN
+    }
+
+    private final Mapper _mapper = new MapperBuilder()
+            .addConverter(MapConverters.get())
+            .buildMapper();
+
+    @Test
+    public void should_map_any_map_to_any_map() {
+        // GIVEN
+        Map<Color, String> sourceInstance = new LinkedHashMap<>();
+        sourceInstance.put(Color.RED, "r");
+        sourceInstance.put(Color.GREEN, "g");
+
+        Class[] destinationClasses = new Class[] {
+            Map.class, SortedMap.class, NavigableMap.class, ConcurrentMap.class,
+            ConcurrentNavigableMap.class, AbstractMap.class, HashMap.class, LinkedHashMap.class,
+            TreeMap.class, ConcurrentHashMap.class, ConcurrentSkipListMap.class, EnumMap.class
+        };
+
+        for (Class i : destinationClasses) {
+            // WHEN
+            Map result = (Map) _mapper.map(sourceInstance, i);
+
+            // THEN
+            assertTrue("Invalid result class for " + i, i.isInstance(result));
+            assertNotSame("Map should be copied for " + i, sourceInstance, result);
+            assertEquals("Invalid result for " + i, sourceInstance, result);
+        }
+    }
+
+    @Test
+    public void sorted_map_converted_to_tree_map_should_keep_comparator() {
+        // GIVEN
+        TreeMap<String, String> sourceInstance = new TreeMap<>(Comparator.reverseOrder());
+        sourceInstance.put("a", "1");
+        sourceInstance.put("b", "2");
+
+        // WHEN
+        TreeMap<String, String> result = _mapper.map(sourceInstance, TreeMap.class);
+
+        // THEN
+        assertEquals("Invalid first key.", "b", result.firstKey());
+    }
+
+    @Test(expected = MappingException.class)
+    public void empty_map_should_not_be_converted_to_enum_map() {
+        // WHEN
+        _mapper.map(Collections.emptyMap(), EnumMap.class);
+    }
+}
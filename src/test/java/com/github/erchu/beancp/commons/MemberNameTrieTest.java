@@ -0,0 +1,71 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MemberNameTrieTest {
+
+    @Test
+    public void findLongestPrefix_should_return_member_with_the_longest_matching_name() {
+        // GIVEN
+        MemberNameTrie<String> trie = new MemberNameTrie<>();
+        trie.put("customer", "customer");
+        trie.put("customerAddress", "customerAddress");
+        trie.put("city", "city");
+
+        // WHEN
+        MemberNameTrie.Match<String> result = trie.findLongestPrefix("CustomerAddressCityName", 0);
+
+        // THEN
+        assertEquals("Invalid 'member' property value.", "customerAddress", result.getMember());
+        assertEquals("Invalid 'endIndex' property value.", 15, result.getEndIndex());
+    }
+
+    @Test
+    public void findLongestPrefix_should_start_at_passed_index() {
+        // GIVEN
+        MemberNameTrie<String> trie = new MemberNameTrie<>();
+        trie.put("city", "city");
+
+        // WHEN
+        MemberNameTrie.Match<String> result = trie.findLongestPrefix("customerAddressCityName", 15);
+
+        // THEN
+        assertEquals("Invalid 'member' property value.", "city", result.getMember());
+        assertEquals("Invalid 'endIndex' property value.", 19, result.getEndIndex());
+        assertNull("Unexpected match.", trie.findLongestPrefix("customerAddressCityName", 0));
+    }
+
+    @Test
+    public void get_should_return_only_member_with_equal_name_and_keep_first_added_member() {
+        // GIVEN
+        MemberNameTrie<String> trie = new MemberNameTrie<>();
+        trie.put("url", "first");
+        trie.put("URL", "second");
+
+        // WHEN
+        String result = trie.get("Url");
+
+        // THEN
+        assertEquals("Invalid result.", "first", result);
+        assertNull("Unexpected member.", trie.get("urls"));
+        assertNull("Unexpected member.", trie.get("ur"));
+    }
+}
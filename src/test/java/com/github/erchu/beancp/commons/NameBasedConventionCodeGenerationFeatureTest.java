@@ -0,0 +1,206 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Binding;
+import com.github.erchu.beancp.CompiledBinding;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NameBasedConventionCodeGenerationFeatureTest {
+
+    public static class Customer {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Order {
+
+        private int number;
+
+        private int quantity;
+
+        private Customer customer;
+
+        public String comment;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(Customer customer) {
+            this.customer = customer;
+        }
+    }
+
+    public static class OrderDto {
+
+        private int number;
+
+        private long quantity;
+
+        private String customerName;
+
+        public Object comment;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(long quantity) {
+            this.quantity = quantity;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+
+        public void setCustomerName(String customerName) {
+            this.customerName = customerName;
+        }
+    }
+
+    @Test
+    public void when_code_generation_is_enabled_then_simple_bindings_should_be_compiled() {
+        // GIVEN
+        NameBasedMapConvention convention
+                = NameBasedMapConvention.get().enableFlattening().enableCodeGeneration();
+
+        // WHEN
+        List<Binding> result = convention.getBindings(
+                new MapperBuilder(), Order.class, OrderDto.class);
+
+        // THEN
+        assertEquals("Invalid number of bindings.", 1, result.size());
+        assertTrue("Compiled binding expected.", result.get(0) instanceof CompiledBinding);
+        assertEquals("Invalid number of compiled bindings.",
+                3, ((CompiledBinding) result.get(0)).getCompiledBindings().size());
+    }
+
+    @Test
+    public void when_code_generation_is_enabled_then_all_members_should_be_mapped() {
+        // GIVEN
+        Order sourceInstance = new Order();
+        sourceInstance.setNumber(7);
+        sourceInstance.setQuantity(8);
+        sourceInstance.setCustomer(new Customer());
+        sourceInstance.getCustomer().setName("abc");
+        sourceInstance.comment = "def";
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(NumberConverters.get())
+                .addMap(Order.class, OrderDto.class,
+                        (config, source, destination)
+                        -> config.useConvention(NameBasedMapConvention.get()
+                                .enableFlattening()
+                                .enableCodeGeneration()))
+                .buildMapper();
+
+        // WHEN
+        OrderDto result = mapper.map(sourceInstance, OrderDto.class);
+
+        // THEN
+        assertEquals("Invalid 'number' property value.", 7, result.getNumber());
+        assertEquals("Invalid 'quantity' property value.", 8L, result.getQuantity());
+        assertEquals("Invalid 'customerName' property value.", "abc", result.getCustomerName());
+        assertEquals("Invalid 'comment' field value.", "def", result.comment);
+    }
+
+    @Test
+    public void when_code_generation_is_enabled_then_null_at_intermediate_level_should_be_mapped_as_null() {
+        // GIVEN
+        Order sourceInstance = new Order();
+
+        OrderDto destinationInstance = new OrderDto();
+        destinationInstance.setCustomerName("abc");
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get()
+                        .enableFlattening()
+                        .enableCodeGeneration())
+                .buildMapper();
+
+        // WHEN
+        mapper.map(sourceInstance, destinationInstance);
+
+        // THEN
+        assertNull("Invalid 'customerName' property value.", destinationInstance.getCustomerName());
+    }
+
+    @Test
+    public void when_code_generation_is_enabled_then_number_conversions_between_primitives_should_be_compiled() {
+        // GIVEN
+        NameBasedMapConvention convention
+                = NameBasedMapConvention.get().enableFlattening().enableCodeGeneration();
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(NumberConverters.get())
+                .addMapAnyByConvention(convention)
+                .buildMapper();
+
+        Order sourceInstance = new Order();
+        sourceInstance.setQuantity(Integer.MAX_VALUE);
+
+        // WHEN
+        List<Binding> bindings = convention.getBindings(mapper, Order.class, OrderDto.class);
+        OrderDto result = mapper.map(sourceInstance, OrderDto.class);
+
+        // THEN
+        assertEquals("Invalid number of bindings.", 1, bindings.size());
+        assertTrue("Compiled binding expected.", bindings.get(0) instanceof CompiledBinding);
+        assertEquals("Invalid number of compiled bindings.",
+                4, ((CompiledBinding) bindings.get(0)).getCompiledBindings().size());
+        assertEquals("Invalid 'quantity' property value.",
+                (long) Integer.MAX_VALUE, result.getQuantity());
+    }
+}
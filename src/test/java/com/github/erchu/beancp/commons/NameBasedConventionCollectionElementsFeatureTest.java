@@ -0,0 +1,157 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Binding;
+import com.github.erchu.beancp.BindingWithElementsMap;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NameBasedConventionCollectionElementsFeatureTest {
+
+    public static class OrderLine {
+
+        private String product;
+
+        public String getProduct() {
+            return product;
+        }
+
+        public void setProduct(String product) {
+            this.product = product;
+        }
+    }
+
+    public static class OrderLineDto {
+
+        private String product;
+
+        public String getProduct() {
+            return product;
+        }
+
+        public void setProduct(String product) {
+            this.product = product;
+        }
+    }
+
+    public static class Order {
+
+        private List<OrderLine> lines;
+
+        public LinkedList<OrderLine> otherLines;
+
+        public List<OrderLine> getLines() {
+            return lines;
+        }
+
+        public void setLines(List<OrderLine> lines) {
+            this.lines = lines;
+        }
+    }
+
+    public static class OrderDto {
+
+        private List<OrderLineDto> lines;
+
+        public Set<OrderLineDto> otherLines;
+
+        public List<OrderLineDto> getLines() {
+            return lines;
+        }
+
+        public void setLines(List<OrderLineDto> lines) {
+            this.lines = lines;
+        }
+    }
+
+    private static OrderLine createLine(final String product) {
+        OrderLine result = new OrderLine();
+        result.setProduct(product);
+
+        return result;
+    }
+
+    @Test
+    public void collection_elements_should_be_mapped_to_destination_element_type() {
+        // GIVEN
+        Order sourceInstance = new Order();
+        sourceInstance.setLines(Arrays.asList(createLine("a"), null, createLine("b")));
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        OrderDto result = mapper.map(sourceInstance, OrderDto.class);
+
+        // THEN
+        assertEquals("Invalid 'lines' property size.", 3, result.getLines().size());
+        assertEquals("Invalid 'lines' property element.",
+                "a", result.getLines().get(0).getProduct());
+        assertNull("Invalid 'lines' property element.", result.getLines().get(1));
+        assertEquals("Invalid 'lines' property element.",
+                "b", result.getLines().get(2).getProduct());
+        assertNull("Invalid 'otherLines' field value.", result.otherLines);
+    }
+
+    @Test
+    public void mapped_elements_should_be_converted_to_destination_collection_type() {
+        // GIVEN
+        Order sourceInstance = new Order();
+        sourceInstance.otherLines = new LinkedList<>(Arrays.asList(createLine("a")));
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(CollectionConverters.get())
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        OrderDto result = mapper.map(sourceInstance, OrderDto.class);
+
+        // THEN
+        assertEquals("Invalid 'otherLines' field size.", 1, result.otherLines.size());
+        assertEquals("Invalid 'otherLines' field element.",
+                "a", result.otherLines.iterator().next().getProduct());
+    }
+
+    @Test
+    public void binding_with_elements_map_should_be_used_for_collections_of_different_element_types() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        List<Binding> result = NameBasedMapConvention.get().getBindings(
+                mapper, Order.class, OrderDto.class);
+
+        // THEN
+        assertEquals("Invalid number of bindings.", 1, result.size());
+        assertTrue("BindingWithElementsMap expected.",
+                result.get(0) instanceof BindingWithElementsMap);
+        assertEquals("Invalid destination element class.", OrderLineDto.class,
+                ((BindingWithElementsMap) result.get(0)).getDestinationElementClass());
+    }
+}
@@ -108,6 +108,42 @@ public class NameBasedConventionFailIfNotMappedFeaturesTest {
         }
     }
 
+    public static class TwoPropertiesOfTheSameTypeSource {
+
+        private String first;
+
+        private String second;
+
+        public String getFirst() {
+            return first;
+        }
+
+        public void setFirst(String first) {
+            this.first = first;
+        }
+
+        public String getSecond() {
+            return second;
+        }
+
+        public void setSecond(String second) {
+            this.second = second;
+        }
+    }
+
+    public static class FirstPropertyDestination {
+
+        private String first;
+
+        public String getFirst() {
+            return first;
+        }
+
+        public void setFirst(String first) {
+            this.first = first;
+        }
+    }
+
     @Test
     public void when_all_properties_are_mapped_then_should_be_no_error() {
         // GIVEN
@@ -188,6 +224,20 @@ public class NameBasedConventionFailIfNotMappedFeaturesTest {
         // THEN: expect exception
     }
 
+    @Test(expected = MapperConfigurationException.class)
+    public void failIfNotAllSourceMembersMapped_should_detect_not_mapped_member_of_the_same_type_as_mapped_member() {
+        // WHEN
+        new MapperBuilder()
+                .addMap(TwoPropertiesOfTheSameTypeSource.class, FirstPropertyDestination.class,
+                        (config, source, destination)
+                        -> config.useConvention(
+                                NameBasedMapConvention.get()
+                                .failIfNotAllSourceMembersMapped()
+                        )).buildMapper();
+
+        // THEN: expect exception
+    }
+
     @Test
     public void when_failIfNotAllSourceMembersMapped_options_is_NOT_used_and_no_all_destination_members_are_mapped_then_should_be_no_error() {
         // GIVEN
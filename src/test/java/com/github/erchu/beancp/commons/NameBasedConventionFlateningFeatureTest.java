@@ -102,6 +102,32 @@ public class NameBasedConventionFlateningFeatureTest {
         }
     }
 
+    public static class SelfReferencingNode {
+
+        private SelfReferencingNode next;
+
+        public SelfReferencingNode nextNode;
+
+        public String value;
+
+        public SelfReferencingNode getNext() {
+            return next;
+        }
+
+        public void setNext(SelfReferencingNode next) {
+            this.next = next;
+        }
+    }
+
+    public static class DestinationForSelfReferencingNode {
+
+        public String nextNextValue;
+
+        public String nextNodeNextValue;
+
+        public String nextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextMissing;
+    }
+
     public static class DestinationForSourceLevel3 {
 
         private String firstName;
@@ -324,4 +350,32 @@ public class NameBasedConventionFlateningFeatureTest {
                 sourceInstance.getDetailSecond().getName(),
                 result.getDetailSecondName());
     }
+
+    @Test(timeout = 10000)
+    public void when_flattening_on_self_referencing_model_then_nested_members_should_be_resolved_once() {
+        // GIVEN
+        SelfReferencingNode sourceInstance = new SelfReferencingNode();
+        sourceInstance.setNext(new SelfReferencingNode());
+        sourceInstance.getNext().setNext(new SelfReferencingNode());
+        sourceInstance.getNext().getNext().value = "first";
+        sourceInstance.nextNode = new SelfReferencingNode();
+        sourceInstance.nextNode.setNext(new SelfReferencingNode());
+        sourceInstance.nextNode.getNext().value = "second";
+
+        // WHEN
+        Mapper mapper = new MapperBuilder()
+                .addMap(SelfReferencingNode.class, DestinationForSelfReferencingNode.class,
+                        (config, source, destination)
+                        -> config.useConvention(NameBasedMapConvention.get().enableFlattening()))
+                .buildMapper();
+
+        DestinationForSelfReferencingNode result
+                = mapper.map(sourceInstance, DestinationForSelfReferencingNode.class);
+
+        // THEN
+        assertEquals("Invalid result.nextNextValue value.", "first", result.nextNextValue);
+        assertEquals("Invalid result.nextNodeNextValue value.", "second", result.nextNodeNextValue);
+        assertNull("Invalid result.nextNext...Missing value.",
+                result.nextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextNextMissing);
+    }
 }
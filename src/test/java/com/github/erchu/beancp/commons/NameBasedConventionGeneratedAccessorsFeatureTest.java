@@ -0,0 +1,164 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.MappingException;
+import java.lang.reflect.InvocationTargetException;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NameBasedConventionGeneratedAccessorsFeatureTest {
+
+    public static class Source {
+
+        private int x;
+
+        private String name;
+
+        public long y;
+
+        public String description;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Destination {
+
+        private int x;
+
+        private String name;
+
+        public long y;
+
+        public String description;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class FailingSource {
+
+        public String getName() {
+            throw new IllegalStateException("Expected failure.");
+        }
+    }
+
+    @Test
+    public void when_generated_accessors_are_enabled_then_properties_and_fields_should_be_mapped() {
+        // GIVEN
+        Source sourceInstance = new Source();
+        sourceInstance.setX(7);
+        sourceInstance.setName("abc");
+        sourceInstance.y = 8;
+        sourceInstance.description = "def";
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Source.class, Destination.class,
+                        (config, source, destination)
+                        -> config.useConvention(
+                                NameBasedMapConvention.get().enableGeneratedAccessors()))
+                .buildMapper();
+
+        // WHEN
+        Destination result = mapper.map(sourceInstance, Destination.class);
+
+        // THEN
+        assertEquals("Invalid 'x' property value.", sourceInstance.getX(), result.getX());
+        assertEquals("Invalid 'name' property value.", sourceInstance.getName(), result.getName());
+        assertEquals("Invalid 'y' field value.", sourceInstance.y, result.y);
+        assertEquals("Invalid 'description' field value.",
+                sourceInstance.description, result.description);
+    }
+
+    @Test
+    public void when_generated_accessors_are_enabled_then_null_values_should_be_mapped() {
+        // GIVEN
+        Source sourceInstance = new Source();
+
+        Destination destinationInstance = new Destination();
+        destinationInstance.setName("abc");
+        destinationInstance.description = "def";
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get().enableGeneratedAccessors())
+                .buildMapper();
+
+        // WHEN
+        mapper.map(sourceInstance, destinationInstance);
+
+        // THEN
+        assertNull("Invalid 'name' property value.", destinationInstance.getName());
+        assertNull("Invalid 'description' field value.", destinationInstance.description);
+    }
+
+    @Test
+    public void generated_accessors_should_call_getter_without_reflection() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get().enableGeneratedAccessors())
+                .buildMapper();
+
+        // WHEN
+        Throwable rootCause = null;
+
+        try {
+            mapper.map(new FailingSource(), Destination.class);
+        } catch (MappingException ex) {
+            rootCause = ex;
+
+            while (rootCause.getCause() != null) {
+                assertFalse("Getter called using reflection.",
+                        rootCause instanceof InvocationTargetException);
+
+                rootCause = rootCause.getCause();
+            }
+        }
+
+        // THEN
+        assertTrue("Getter exception expected.", rootCause instanceof IllegalStateException);
+    }
+}
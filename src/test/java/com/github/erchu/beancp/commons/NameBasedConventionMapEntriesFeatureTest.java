@@ -0,0 +1,163 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NameBasedConventionMapEntriesFeatureTest {
+
+    public static class Item {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class ItemDto {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Catalog {
+
+        public Map<String, Item> items;
+
+        public Map<Item, Integer> counts;
+    }
+
+    public static class CatalogDto {
+
+        public Map<String, ItemDto> items;
+
+        public ConcurrentHashMap<ItemDto, Integer> counts;
+    }
+
+    /**
+     * Map which iterates values in other order than keys, which is permitted by {@link Map}
+     * contract.
+     */
+    public static class ReversedValuesMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Collection<V> values() {
+            List<V> result = new ArrayList<>(super.values());
+            Collections.reverse(result);
+
+            return result;
+        }
+    }
+
+    private static Item createItem(final String name) {
+        Item result = new Item();
+        result.setName(name);
+
+        return result;
+    }
+
+    @Test
+    public void map_values_should_be_mapped_to_destination_value_type() {
+        // GIVEN
+        Catalog sourceInstance = new Catalog();
+        sourceInstance.items = new HashMap<>();
+        sourceInstance.items.put("a", createItem("item a"));
+        sourceInstance.items.put("b", null);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        CatalogDto result = mapper.map(sourceInstance, CatalogDto.class);
+
+        // THEN
+        assertEquals("Invalid 'items' field size.", 2, result.items.size());
+        assertEquals("Invalid 'items' field value.", "item a", result.items.get("a").getName());
+        assertNull("Invalid 'items' field value.", result.items.get("b"));
+        assertTrue("Invalid 'items' field value.", result.items.containsKey("b"));
+    }
+
+    @Test
+    public void map_keys_should_be_mapped_and_converted_to_destination_map_type() {
+        // GIVEN
+        Catalog sourceInstance = new Catalog();
+        sourceInstance.counts = new HashMap<>();
+        sourceInstance.counts.put(createItem("x"), 5);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(MapConverters.get())
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        CatalogDto result = mapper.map(sourceInstance, CatalogDto.class);
+
+        // THEN
+        assertEquals("Invalid 'counts' field size.", 1, result.counts.size());
+        assertEquals("Invalid 'counts' field key.",
+                "x", result.counts.keySet().iterator().next().getName());
+        assertEquals("Invalid 'counts' field value.",
+                Integer.valueOf(5), result.counts.values().iterator().next());
+    }
+
+    @Test
+    public void map_values_should_be_paired_with_keys_of_the_same_entries() {
+        // GIVEN
+        Catalog sourceInstance = new Catalog();
+        sourceInstance.items = new ReversedValuesMap<>();
+        sourceInstance.items.put("a", createItem("item a"));
+        sourceInstance.items.put("b", createItem("item b"));
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        CatalogDto result = mapper.map(sourceInstance, CatalogDto.class);
+
+        // THEN
+        assertEquals("Invalid 'items' field value.", "item a", result.items.get("a").getName());
+        assertEquals("Invalid 'items' field value.", "item b", result.items.get("b").getName());
+    }
+}
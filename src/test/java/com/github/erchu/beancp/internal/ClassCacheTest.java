@@ -0,0 +1,97 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.internal;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ClassCacheTest {
+
+    public static class Sample {
+    }
+
+    @Test
+    public void value_should_be_cached_for_class_loaded_by_library_class_loader() {
+        // GIVEN
+        AtomicInteger computations = new AtomicInteger();
+        ClassCache<Object> cache = new ClassCache<>(type -> computations.incrementAndGet());
+
+        // WHEN
+        Object first = cache.get(Sample.class);
+        Object second = cache.get(Sample.class);
+
+        // THEN
+        assertSame("Value should be cached.", first, second);
+        assertEquals("Invalid number of computations.", 1, computations.get());
+    }
+
+    @Test
+    public void value_should_be_cached_for_class_loaded_by_bootstrap_class_loader() {
+        // GIVEN
+        AtomicInteger computations = new AtomicInteger();
+        ClassCache<Object> cache = new ClassCache<>(type -> computations.incrementAndGet());
+
+        // WHEN
+        Object first = cache.get(String.class);
+        Object second = cache.get(String.class);
+
+        // THEN
+        assertSame("Value should be cached.", first, second);
+        assertEquals("Invalid number of computations.", 1, computations.get());
+    }
+
+    @Test
+    public void value_should_be_cached_for_class_loaded_by_unrelated_class_loader()
+            throws Exception {
+        // GIVEN
+        AtomicInteger computations = new AtomicInteger();
+        ClassCache<Object> cache = new ClassCache<>(type -> computations.incrementAndGet());
+        URL testClassesLocation
+                = ClassCacheTest.class.getProtectionDomain().getCodeSource().getLocation();
+
+        try (URLClassLoader unrelatedClassLoader
+                = new URLClassLoader(new URL[] { testClassesLocation }, null)) {
+            Class<?> unrelatedClass
+                    = Class.forName(Sample.class.getName(), false, unrelatedClassLoader);
+
+            // WHEN
+            Object first = cache.get(unrelatedClass);
+            Object second = cache.get(unrelatedClass);
+
+            // THEN
+            assertSame("Value should be cached.", first, second);
+            assertEquals("Invalid number of computations.", 1, computations.get());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void exception_thrown_by_computation_should_be_rethrown() {
+        // GIVEN
+        ClassCache<Object> cache = new ClassCache<>(type -> {
+            throw new IllegalStateException();
+        });
+
+        // WHEN
+        cache.get(String.class);
+
+        // THEN: expect exception
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.processor;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class ConverterProcessorTest {
+
+    public static class Item {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+    }
+
+    public static class ItemDto {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Customer {
+
+        private String name;
+
+        private Item favoriteItem;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public Item getFavoriteItem() {
+            return favoriteItem;
+        }
+
+        public void setFavoriteItem(final Item favoriteItem) {
+            this.favoriteItem = favoriteItem;
+        }
+    }
+
+    public static class Order {
+
+        public long number;
+
+        private int quantity;
+
+        private Customer customer;
+
+        private List<Item> items;
+
+        private Map<String, Item> itemsByCode;
+
+        private String comment;
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(final int quantity) {
+            this.quantity = quantity;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(final Customer customer) {
+            this.customer = customer;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public void setItems(final List<Item> items) {
+            this.items = items;
+        }
+
+        public Map<String, Item> getItemsByCode() {
+            return itemsByCode;
+        }
+
+        public void setItemsByCode(final Map<String, Item> itemsByCode) {
+            this.itemsByCode = itemsByCode;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public void setComment(final String comment) {
+            this.comment = comment;
+        }
+    }
+
+    public static class OrderDto {
+
+        public long number;
+
+        private long quantity;
+
+        private String customerName;
+
+        private ItemDto customerFavoriteItem;
+
+        private List<ItemDto> items;
+
+        private Map<String, ItemDto> itemsByCode;
+
+        private String comment;
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(final long quantity) {
+            this.quantity = quantity;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+
+        public void setCustomerName(final String customerName) {
+            this.customerName = customerName;
+        }
+
+        public ItemDto getCustomerFavoriteItem() {
+            return customerFavoriteItem;
+        }
+
+        public void setCustomerFavoriteItem(final ItemDto customerFavoriteItem) {
+            this.customerFavoriteItem = customerFavoriteItem;
+        }
+
+        public List<ItemDto> getItems() {
+            return items;
+        }
+
+        public void setItems(final List<ItemDto> items) {
+            this.items = items;
+        }
+
+        public Map<String, ItemDto> getItemsByCode() {
+            return itemsByCode;
+        }
+
+        public void setItemsByCode(final Map<String, ItemDto> itemsByCode) {
+            this.itemsByCode = itemsByCode;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public void setComment(final String comment) {
+            this.comment = comment;
+        }
+    }
+
+    private static final String COMPILED_SOURCE = "package test;\n"
+            + "import com.github.erchu.beancp.processor.GenerateConverter;\n"
+            + "public class Mappings {\n"
+            + "    public static class Source {\n"
+            + "        public String a;\n"
+            + "        public String b;\n"
+            + "    }\n"
+            + "    public static class Destination {\n"
+            + "        public String a;\n"
+            + "        public String c;\n"
+            + "    }\n"
+            + "    @GenerateConverter(source = Source.class, destination = Destination.class%s)\n"
+            + "    public static class Definition {\n"
+            + "    }\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @GenerateConverter(source = Item.class, destination = ItemDto.class,
+            failIfNotAllDestinationMembersMapped = true)
+    @GenerateConverter(source = Order.class, destination = OrderDto.class,
+            flattening = true, excludeDestinationMembers = "comment",
+            failIfNotAllDestinationMembersMapped = true)
+    public static class Mappings {
+    }
+
+    @Test
+    public void generated_converter_should_map_members_by_name() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(ConverterProcessorTest_MappingsConverters.get())
+                .buildMapper();
+
+        Item item = new Item();
+        item.setName("pen");
+
+        Customer customer = new Customer();
+        customer.setName("John");
+        customer.setFavoriteItem(item);
+
+        Map<String, Item> itemsByCode = new HashMap<>();
+        itemsByCode.put("P1", item);
+
+        Order order = new Order();
+        order.number = 7;
+        order.setQuantity(3);
+        order.setCustomer(customer);
+        order.setItems(Arrays.asList(item, null));
+        order.setItemsByCode(itemsByCode);
+        order.setComment("comment");
+
+        // WHEN
+        OrderDto result = mapper.map(order, OrderDto.class);
+
+        // THEN
+        assertEquals("Invalid 'number' field value.", 7, result.number);
+        assertEquals("Invalid 'quantity' property value.", 3, result.getQuantity());
+        assertEquals("Invalid 'customerName' property value.", "John", result.getCustomerName());
+        assertEquals("Invalid 'customerFavoriteItem.name' property value.",
+                "pen", result.getCustomerFavoriteItem().getName());
+        assertEquals("Invalid 'items' property size.", 2, result.getItems().size());
+        assertEquals("Invalid 'items[0].name' property value.",
+                "pen", result.getItems().get(0).getName());
+        assertNull("Invalid 'items[1]' property value.", result.getItems().get(1));
+        assertEquals("Invalid 'itemsByCode[P1].name' property value.",
+                "pen", result.getItemsByCode().get("P1").getName());
+        assertNull("Invalid 'comment' property value.", result.getComment());
+    }
+
+    @Test
+    public void generated_converter_should_set_null_when_flattened_member_owner_is_null() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(ConverterProcessorTest_MappingsConverters.get())
+                .buildMapper();
+
+        // WHEN
+        OrderDto result = mapper.map(new Order(), OrderDto.class);
+
+        // THEN
+        assertNull("Invalid 'customerName' property value.", result.getCustomerName());
+        assertNull("Invalid 'customerFavoriteItem' property value.",
+                result.getCustomerFavoriteItem());
+        assertNull("Invalid 'items' property value.", result.getItems());
+        assertNull("Invalid 'itemsByCode' property value.", result.getItemsByCode());
+    }
+
+    @Test
+    public void compilation_should_fail_if_not_all_destination_members_are_mapped()
+            throws IOException {
+        // GIVEN
+        String source = String.format(
+                COMPILED_SOURCE, ", failIfNotAllDestinationMembersMapped = true");
+
+        // WHEN
+        List<String> errors = compile(source);
+
+        // THEN
+        assertEquals("Invalid number of errors.", 1, errors.size());
+        assertTrue("Invalid error message: " + errors.get(0),
+                errors.get(0).contains("Not all destination members are mapped")
+                && errors.get(0).contains(": c."));
+    }
+
+    @Test
+    public void compilation_should_fail_if_not_all_source_members_are_mapped()
+            throws IOException {
+        // GIVEN
+        String source = String.format(COMPILED_SOURCE, ", failIfNotAllSourceMembersMapped = true");
+
+        // WHEN
+        List<String> errors = compile(source);
+
+        // THEN
+        assertEquals("Invalid number of errors.", 1, errors.size());
+        assertTrue("Invalid error message: " + errors.get(0),
+                errors.get(0).contains("Not all source members are mapped")
+                && errors.get(0).contains(": b."));
+    }
+
+    @Test
+    public void compilation_should_succeed_if_not_mapped_members_are_allowed() throws IOException {
+        // GIVEN
+        String source = String.format(COMPILED_SOURCE, "");
+
+        // WHEN
+        List<String> errors = compile(source);
+
+        // THEN
+        assertEquals("Invalid errors.", Collections.emptyList(), errors);
+    }
+
+    private List<String> compile(final String source) throws IOException {
+        File sourceFile = new File(temporaryFolder.newFolder("test"), "Mappings.java");
+        Files.write(sourceFile.toPath(), source.getBytes(StandardCharsets.UTF_8));
+
+        File outputFolder = temporaryFolder.newFolder("output");
+        String classPath = new File(GenerateConverter.class.getProtectionDomain()
+                .getCodeSource().getLocation().getPath()).getPath();
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager fileManager
+                = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-proc:only", "-classpath", classPath,
+                            "-s", outputFolder.getPath(), "-d", outputFolder.getPath()),
+                    null, fileManager.getJavaFileObjects(sourceFile));
+            task.setProcessors(Collections.singletonList(new ConverterProcessor()));
+            task.call();
+        }
+
+        return diagnostics.getDiagnostics().stream()
+                .filter(i -> i.getKind() == Diagnostic.Kind.ERROR)
+                .map(i -> i.getMessage(null))
+                .collect(Collectors.toList());
+    }
+}